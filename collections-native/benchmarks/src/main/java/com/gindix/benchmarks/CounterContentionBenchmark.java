@@ -0,0 +1,117 @@
+package com.gindix.benchmarks;
+
+import com.gindix.collections.counter.Counter;
+import com.gindix.collections.counter.SnapshotCounter;
+import com.gindix.collections.counter.StripedCounter;
+import com.gindix.collections.counter.ThreadLocalCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One shared counter incremented by every benchmark thread: the counters of ConcurrencyTest
+ * (synchronized, ReentrantLock, atomic) against the com.gindix.collections.counter family. The thread
+ * count comes from the command line ({@code -t}); {@link CounterContentionMatrix} runs it from 1 to N
+ * threads. {@code sum} measures the read side after every core has written once.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class CounterContentionBenchmark {
+
+    @Param({"synchronized", "ReentrantLock", "AtomicLong", "LongAdder",
+            "StripedCounter", "ThreadLocalCounter", "SnapshotCounter"})
+    public String impl;
+
+    private Counter counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        counter = create(impl);
+        // Give striped and per-thread counters realistic state for sum()
+        Thread[] writers = new Thread[Runtime.getRuntime().availableProcessors()];
+        for (int i = 0; i < writers.length; i++) {
+            writers[i] = new Thread(counter::increment);
+            writers[i].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+    }
+
+    @Benchmark
+    public void increment() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public long sum() {
+        return counter.sum();
+    }
+
+    static Counter create(String impl) {
+        return switch (impl) {
+            case "synchronized" -> new Counter() {
+                private long count;
+
+                public synchronized void add(long delta) { count += delta; }
+                public synchronized long sum() { return count; }
+            };
+            case "ReentrantLock" -> new Counter() {
+                private final ReentrantLock lock = new ReentrantLock();
+                private long count;
+
+                public void add(long delta) {
+                    lock.lock();
+                    try {
+                        count += delta;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+
+                public long sum() {
+                    lock.lock();
+                    try {
+                        return count;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            };
+            case "AtomicLong" -> new Counter() {
+                private final AtomicLong count = new AtomicLong();
+
+                public void add(long delta) { count.addAndGet(delta); }
+                public long sum() { return count.get(); }
+            };
+            case "LongAdder" -> new Counter() {
+                private final LongAdder count = new LongAdder();
+
+                public void add(long delta) { count.add(delta); }
+                public long sum() { return count.sum(); }
+            };
+            case "StripedCounter" -> new StripedCounter();
+            case "ThreadLocalCounter" -> new ThreadLocalCounter();
+            case "SnapshotCounter" -> new SnapshotCounter();
+            default -> throw new IllegalArgumentException("Unknown counter: " + impl);
+        };
+    }
+}
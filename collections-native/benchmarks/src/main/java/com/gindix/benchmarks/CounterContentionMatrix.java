@@ -0,0 +1,46 @@
+package com.gindix.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs {@code CounterContentionBenchmark.increment} at 1, 2, 4, ... up to N threads and writes all
+ * runs into one JSON file, which {@code Program benchmarks} shows with a threads column.
+ *
+ * Usage: java -cp target/benchmarks.jar com.gindix.benchmarks.CounterContentionMatrix [maxThreads] [resultFile]
+ * (defaults: available processors, jmh-result.json)
+ */
+public class CounterContentionMatrix {
+
+    public static void main(String[] args) throws RunnerException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        String resultFile = args.length > 1 ? args[1] : BenchmarkRunner.DEFAULT_RESULT_FILE;
+
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(maxThreads);
+
+        List<RunResult> results = new ArrayList<>();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .include(CounterContentionBenchmark.class.getSimpleName() + "\\.increment$")
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build();
+            results.addAll(new Runner(options).run());
+        }
+        ResultFormatFactory.getInstance(ResultFormatType.JSON, resultFile).writeOut(results);
+        System.out.println("Wrote " + results.size() + " results for " + threadCounts + " threads to " + resultFile);
+    }
+}
@@ -0,0 +1,51 @@
+package com.gindix.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Seeded benchmark inputs, so every implementation and run sees the same data.
+ */
+final class Data {
+    static final long SEED = 42;
+    static final int LOOKUPS = 1024;
+
+    private Data() {
+    }
+
+    /** Distinct boxed values in shuffled order, created outside the measured code. */
+    static Integer[] values(int size) {
+        int[] ints = ints(size);
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = ints[i];
+        }
+        return values;
+    }
+
+    /** The same values as {@link #values(int)}, unboxed. */
+    static int[] ints(int size) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            // Spread out so hash codes and tree comparisons are not sequential
+            values[i] = i * 31 + 7;
+        }
+        Random random = new Random(SEED);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return values;
+    }
+
+    /** Random positions in {@code [0, bound)}. */
+    static int[] indices(int count, int bound) {
+        Random random = new Random(SEED + 1);
+        int[] indices = new int[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = random.nextInt(bound);
+        }
+        return indices;
+    }
+}
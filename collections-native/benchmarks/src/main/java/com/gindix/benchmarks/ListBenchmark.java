@@ -0,0 +1,97 @@
+package com.gindix.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArrayList vs LinkedList: building, random access, iteration and head insertion.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ListBenchmark {
+
+    @Param({"ArrayList", "LinkedList"})
+    public String impl;
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private Integer[] values;
+    private int[] indices;
+    private List<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = Data.values(size);
+        indices = Data.indices(Data.LOOKUPS, size);
+        list = newList();
+        for (Integer value : values) {
+            list.add(value);
+        }
+    }
+
+    private List<Integer> newList() {
+        return switch (impl) {
+            case "ArrayList" -> new ArrayList<>();
+            case "LinkedList" -> new LinkedList<>();
+            default -> throw new IllegalArgumentException("Unknown list: " + impl);
+        };
+    }
+
+    /** Builds a list of {@code size} elements by appending, growth included. */
+    @Benchmark
+    public List<Integer> append() {
+        List<Integer> fresh = newList();
+        for (Integer value : values) {
+            fresh.add(value);
+        }
+        return fresh;
+    }
+
+    /** {@code get(i)} at random positions; per lookup. */
+    @Benchmark
+    @OperationsPerInvocation(Data.LOOKUPS)
+    public void getRandom(Blackhole blackhole) {
+        for (int index : indices) {
+            blackhole.consume(list.get(index));
+        }
+    }
+
+    /** Full for-each traversal. */
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer value : list) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /** {@code add(0, x)} followed by {@code remove(0)}. */
+    @Benchmark
+    public Integer insertRemoveHead() {
+        list.add(0, values[0]);
+        return list.remove(0);
+    }
+}
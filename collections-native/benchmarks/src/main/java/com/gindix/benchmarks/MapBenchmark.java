@@ -0,0 +1,107 @@
+package com.gindix.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HashMap vs TreeMap: building, hit and miss lookups, iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class MapBenchmark {
+
+    @Param({"HashMap", "TreeMap"})
+    public String impl;
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private Integer[] values;
+    private Integer[] hits;
+    private Integer[] misses;
+    private Map<Integer, Integer> map;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = Data.values(size);
+        int[] indices = Data.indices(Data.LOOKUPS, size);
+        hits = new Integer[Data.LOOKUPS];
+        misses = new Integer[Data.LOOKUPS];
+        for (int i = 0; i < Data.LOOKUPS; i++) {
+            hits[i] = values[indices[i]];
+            // Values are all 7 mod 31, so these are never present
+            misses[i] = values[indices[i]] + 1;
+        }
+        map = newMap();
+        for (Integer value : values) {
+            map.put(value, value);
+        }
+    }
+
+    private Map<Integer, Integer> newMap() {
+        return switch (impl) {
+            case "HashMap" -> new HashMap<>();
+            case "TreeMap" -> new TreeMap<>();
+            default -> throw new IllegalArgumentException("Unknown map: " + impl);
+        };
+    }
+
+    /** Puts {@code size} entries into an empty map, resizing included. */
+    @Benchmark
+    public Map<Integer, Integer> put() {
+        Map<Integer, Integer> fresh = newMap();
+        for (Integer value : values) {
+            fresh.put(value, value);
+        }
+        return fresh;
+    }
+
+    /** {@code get} of present keys; per lookup. */
+    @Benchmark
+    @OperationsPerInvocation(Data.LOOKUPS)
+    public void getHit(Blackhole blackhole) {
+        for (Integer key : hits) {
+            blackhole.consume(map.get(key));
+        }
+    }
+
+    /** {@code get} of absent keys; per lookup. */
+    @Benchmark
+    @OperationsPerInvocation(Data.LOOKUPS)
+    public void getMiss(Blackhole blackhole) {
+        for (Integer key : misses) {
+            blackhole.consume(map.get(key));
+        }
+    }
+
+    /** Full traversal of the entry set. */
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            sum += entry.getKey() + entry.getValue();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,136 @@
+package com.gindix.benchmarks;
+
+import com.gindix.collections.aggregate.ParallelAggregator;
+import com.gindix.collections.primitive.IntIntHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * ParallelAggregator against a sequential loop and a parallel stream, for the same aggregations over
+ * one {@code int[]} (and a {@code double[]} for {@code sumDoubles}). Scores are the time for the whole
+ * array. The default sizes stop at 100M; 1B needs {@code -p size=1000000000} and a heap of about
+ * 16 GB ({@code -jvmArgsAppend -Xmx16g}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ParallelAggregationBenchmark {
+    private static final int BOUND = 1 << 20;
+    private static final int BUCKETS = 64;
+    private static final int GROUPS = 1024;
+
+    @Param({"sequential", "parallelStream", "ParallelAggregator"})
+    public String impl;
+
+    @Param({"1000", "1000000", "100000000"})
+    public int size;
+
+    private int[] values;
+    private double[] doubles;
+    private final ParallelAggregator aggregator = ParallelAggregator.common();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // SplittableRandom streams split deterministically, so parallel generation is still repeatable
+        values = new SplittableRandom(Data.SEED).ints(size, 0, BOUND).parallel().toArray();
+        doubles = new SplittableRandom(Data.SEED).doubles(size).parallel().toArray();
+    }
+
+    @Benchmark
+    public long sum() {
+        return switch (impl) {
+            case "sequential" -> {
+                long sum = 0;
+                for (int value : values) {
+                    sum += value;
+                }
+                yield sum;
+            }
+            case "parallelStream" -> Arrays.stream(values).parallel().asLongStream().sum();
+            default -> aggregator.sum(values);
+        };
+    }
+
+    @Benchmark
+    public double sumDoubles() {
+        return switch (impl) {
+            case "sequential" -> {
+                double sum = 0;
+                for (double value : doubles) {
+                    sum += value;
+                }
+                yield sum;
+            }
+            case "parallelStream" -> Arrays.stream(doubles).parallel().sum();
+            default -> aggregator.sum(doubles);
+        };
+    }
+
+    @Benchmark
+    public int max() {
+        return switch (impl) {
+            case "sequential" -> {
+                int max = Integer.MIN_VALUE;
+                for (int value : values) {
+                    max = Math.max(max, value);
+                }
+                yield max;
+            }
+            case "parallelStream" -> Arrays.stream(values).parallel().max().getAsInt();
+            default -> aggregator.max(values).getAsInt();
+        };
+    }
+
+    @Benchmark
+    public long[] histogram() {
+        return switch (impl) {
+            case "sequential" -> {
+                long[] counts = new long[BUCKETS];
+                for (int value : values) {
+                    counts[(int) ((long) value * BUCKETS / BOUND)]++;
+                }
+                yield counts;
+            }
+            case "parallelStream" -> Arrays.stream(values).parallel().collect(
+                    () -> new long[BUCKETS],
+                    (counts, value) -> counts[(int) ((long) value * BUCKETS / BOUND)]++,
+                    (left, right) -> Arrays.setAll(left, i -> left[i] + right[i]));
+            default -> aggregator.histogram(values, 0, BOUND, BUCKETS);
+        };
+    }
+
+    /** The stream has no primitive group-by, so it boxes every value, as calling code would. */
+    @Benchmark
+    public Object countBy() {
+        return switch (impl) {
+            case "sequential" -> {
+                IntIntHashMap counts = new IntIntHashMap(GROUPS);
+                for (int value : values) {
+                    counts.addTo(value & (GROUPS - 1), 1);
+                }
+                yield counts;
+            }
+            case "parallelStream" -> Arrays.stream(values).parallel().boxed()
+                    .collect(Collectors.groupingByConcurrent(value -> value & (GROUPS - 1), Collectors.counting()));
+            default -> aggregator.countBy(values, value -> value & (GROUPS - 1));
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.gindix.benchmarks;
+
+import com.gindix.collections.parallel.ParallelStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Parallel streams in a dedicated pool of {@code parallelism} workers; the speedup is the score at
+ * parallelism 1 divided by the score at N. CPU-bound work with the default and the chunked range
+ * spliterator, blocking work with and without a ManagedBlocker, and counting the characters of a 64 MB
+ * file with ParallelStreams.lines against Files.lines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ParallelStreamSpeedupBenchmark {
+    private static final int VALUES = 1 << 22;
+    private static final int CHUNK = 1 << 14;
+    private static final int BLOCKING_CALLS = 64;
+    private static final int FILE_LINES = 1 << 20;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pool = ParallelStreams.newPool("speedup", parallelism);
+        file = Files.createTempFile("parallel-streams", ".txt");
+        Random random = new Random(Data.SEED);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < FILE_LINES; i++) {
+                writer.write("line " + i + " " + "x".repeat(random.nextInt(100)));
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public double cpuDefaultSpliterator() {
+        return ParallelStreams.run(pool, () -> IntStream.range(0, VALUES).parallel().mapToDouble(Math::sqrt).sum());
+    }
+
+    @Benchmark
+    public double cpuChunkedRange() {
+        return ParallelStreams.run(pool, () -> ParallelStreams.range(0, VALUES, CHUNK).mapToDouble(Math::sqrt).sum());
+    }
+
+    /**
+     * Every call holds a worker for 1 ms: at most {@code parallelism} calls run at once. Summed rather
+     * than counted, count() of a sized stream skips the map.
+     */
+    @Benchmark
+    public long blockingPlain() {
+        return ParallelStreams.run(pool, () -> ParallelStreams.range(0, BLOCKING_CALLS, 1)
+                .map(i -> {
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return i;
+                })
+                .sum());
+    }
+
+    /** The same calls declared as blocking, so the pool adds spare workers while they wait. */
+    @Benchmark
+    public long blockingManaged() {
+        return ParallelStreams.run(pool, () -> ParallelStreams.range(0, BLOCKING_CALLS, 1)
+                .boxed()
+                .map(ParallelStreams.blocking((Integer i) -> {
+                    Thread.sleep(1);
+                    return i;
+                }))
+                .mapToLong(Integer::longValue)
+                .sum());
+    }
+
+    @Benchmark
+    public long fileLinesJdk() throws IOException {
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return ParallelStreams.run(pool, () -> lines.parallel().mapToLong(String::length).sum());
+        }
+    }
+
+    @Benchmark
+    public long fileLinesChunked() {
+        try (Stream<String> lines = ParallelStreams.lines(file, StandardCharsets.UTF_8, 1 << 20)) {
+            return ParallelStreams.run(pool, () -> lines.mapToLong(String::length).sum());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.gindix.benchmarks;
+
+import com.gindix.collections.primitive.IntArrayList;
+import com.gindix.collections.primitive.IntCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IntArrayList vs ArrayList&lt;Integer&gt;: building from ints (boxing included) and summing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class PrimitiveListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private int[] ints;
+    private List<Integer> boxed;
+    private IntArrayList primitive;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ints = Data.ints(size);
+        boxed = new ArrayList<>();
+        primitive = new IntArrayList();
+        for (int value : ints) {
+            boxed.add(value);
+            primitive.add(value);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> boxedAdd() {
+        List<Integer> list = new ArrayList<>();
+        for (int value : ints) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public IntArrayList primitiveAdd() {
+        IntArrayList list = new IntArrayList();
+        for (int value : ints) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long boxedSum() {
+        long sum = 0;
+        for (Integer value : boxed) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long primitiveSumCursor() {
+        long sum = 0;
+        for (IntCursor c = primitive.cursor(); c.advance(); ) {
+            sum += c.value();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long primitiveSumIndexed() {
+        long sum = 0;
+        for (int i = 0, n = primitive.size(); i < n; i++) {
+            sum += primitive.get(i);
+        }
+        return sum;
+    }
+}
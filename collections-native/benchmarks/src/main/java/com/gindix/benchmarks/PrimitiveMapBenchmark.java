@@ -0,0 +1,144 @@
+package com.gindix.benchmarks;
+
+import com.gindix.collections.primitive.IntIntHashMap;
+import com.gindix.collections.primitive.LongLongHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IntIntHashMap / LongLongHashMap vs HashMap with boxed keys: building, lookups and counting.
+ * Keys are passed as primitives on both sides, so the boxed map pays for autoboxing the way
+ * calling code does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class PrimitiveMapBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private int[] keys;
+    private int[] lookups;
+    private int[] occurrences;
+    private Map<Integer, Integer> boxed;
+    private IntIntHashMap primitive;
+    private Map<Long, Long> boxedLong;
+    private LongLongHashMap primitiveLong;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = Data.ints(size);
+        int[] indices = Data.indices(Data.LOOKUPS, size);
+        lookups = new int[Data.LOOKUPS];
+        for (int i = 0; i < Data.LOOKUPS; i++) {
+            lookups[i] = keys[indices[i]];
+        }
+        // Each key about four times, for the counting benchmarks
+        int[] repeat = Data.indices(size, Math.max(1, size / 4));
+        occurrences = new int[size];
+        for (int i = 0; i < size; i++) {
+            occurrences[i] = keys[repeat[i]];
+        }
+
+        boxed = new HashMap<>();
+        primitive = new IntIntHashMap();
+        boxedLong = new HashMap<>();
+        primitiveLong = new LongLongHashMap();
+        for (int key : keys) {
+            boxed.put(key, key);
+            primitive.put(key, key);
+            boxedLong.put((long) key, (long) key);
+            primitiveLong.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> boxedPut() {
+        Map<Integer, Integer> map = new HashMap<>();
+        for (int key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public IntIntHashMap primitivePut() {
+        IntIntHashMap map = new IntIntHashMap();
+        for (int key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Data.LOOKUPS)
+    public void boxedGet(Blackhole blackhole) {
+        for (int key : lookups) {
+            blackhole.consume(boxed.get(key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Data.LOOKUPS)
+    public void primitiveGet(Blackhole blackhole) {
+        for (int key : lookups) {
+            blackhole.consume(primitive.get(key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Data.LOOKUPS)
+    public void boxedLongGet(Blackhole blackhole) {
+        for (int key : lookups) {
+            blackhole.consume(boxedLong.get((long) key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Data.LOOKUPS)
+    public void primitiveLongGet(Blackhole blackhole) {
+        for (int key : lookups) {
+            blackhole.consume(primitiveLong.get(key));
+        }
+    }
+
+    /** Histogram of {@code size} keys with {@code merge}. */
+    @Benchmark
+    public Map<Integer, Integer> boxedCount() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int key : occurrences) {
+            counts.merge(key, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /** Histogram of {@code size} keys with {@code addTo}. */
+    @Benchmark
+    public IntIntHashMap primitiveCount() {
+        IntIntHashMap counts = new IntIntHashMap();
+        for (int key : occurrences) {
+            counts.addTo(key, 1);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,129 @@
+package com.gindix.benchmarks;
+
+import com.gindix.collections.primitive.IntArrayDeque;
+import com.gindix.collections.primitive.IntHashSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IntHashSet vs HashSet&lt;Integer&gt; and IntArrayDeque vs ArrayDeque&lt;Integer&gt;.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class PrimitiveSetDequeBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private int[] values;
+    private int[] probes;
+    private Set<Integer> boxed;
+    private IntHashSet primitive;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = Data.ints(size);
+        int[] indices = Data.indices(Data.LOOKUPS, size);
+        probes = new int[Data.LOOKUPS];
+        for (int i = 0; i < Data.LOOKUPS; i++) {
+            // Half present, half absent
+            probes[i] = values[indices[i]] + (i & 1);
+        }
+        boxed = new HashSet<>();
+        primitive = new IntHashSet();
+        for (int value : values) {
+            boxed.add(value);
+            primitive.add(value);
+        }
+    }
+
+    @Benchmark
+    public Set<Integer> boxedAdd() {
+        Set<Integer> set = new HashSet<>();
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public IntHashSet primitiveAdd() {
+        IntHashSet set = new IntHashSet();
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Data.LOOKUPS)
+    public int boxedContains() {
+        int found = 0;
+        for (int probe : probes) {
+            if (boxed.contains(probe)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Data.LOOKUPS)
+    public int primitiveContains() {
+        int found = 0;
+        for (int probe : probes) {
+            if (primitive.contains(probe)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /** Offers {@code size} ints to an ArrayDeque, then drains it. */
+    @Benchmark
+    public long boxedDequeFillDrain() {
+        ArrayDeque<Integer> deque = new ArrayDeque<>();
+        for (int value : values) {
+            deque.addLast(value);
+        }
+        long sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+        }
+        return sum;
+    }
+
+    /** Offers {@code size} ints to an IntArrayDeque, then drains it. */
+    @Benchmark
+    public long primitiveDequeFillDrain() {
+        IntArrayDeque deque = new IntArrayDeque();
+        for (int value : values) {
+            deque.addLast(value);
+        }
+        long sum = 0;
+        while (!deque.isEmpty()) {
+            sum += deque.removeFirst();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,60 @@
+package com.gindix.benchmarks;
+
+import com.gindix.collections.queue.BusySpinWaitStrategy;
+import com.gindix.collections.queue.MpmcRingBuffer;
+import com.gindix.collections.queue.MpscRingBuffer;
+import com.gindix.collections.queue.SpscRingBuffer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * The non-blocking offer/poll pair of a JDK blocking queue or a ring buffer. Each JMH fork uses one
+ * implementation, so the calls stay monomorphic.
+ */
+interface QueueAdapter {
+    boolean offer(Integer e);
+
+    Integer poll();
+
+    static QueueAdapter create(String impl, int capacity) {
+        return switch (impl) {
+            case "ArrayBlockingQueue" -> {
+                ArrayBlockingQueue<Integer> q = new ArrayBlockingQueue<>(capacity);
+                yield new QueueAdapter() {
+                    public boolean offer(Integer e) { return q.offer(e); }
+                    public Integer poll() { return q.poll(); }
+                };
+            }
+            case "LinkedBlockingQueue" -> {
+                LinkedBlockingQueue<Integer> q = new LinkedBlockingQueue<>(capacity);
+                yield new QueueAdapter() {
+                    public boolean offer(Integer e) { return q.offer(e); }
+                    public Integer poll() { return q.poll(); }
+                };
+            }
+            case "SpscRingBuffer" -> {
+                SpscRingBuffer<Integer> q = new SpscRingBuffer<>(capacity, new BusySpinWaitStrategy());
+                yield new QueueAdapter() {
+                    public boolean offer(Integer e) { return q.offer(e); }
+                    public Integer poll() { return q.poll(); }
+                };
+            }
+            case "MpscRingBuffer" -> {
+                MpscRingBuffer<Integer> q = new MpscRingBuffer<>(capacity, new BusySpinWaitStrategy());
+                yield new QueueAdapter() {
+                    public boolean offer(Integer e) { return q.offer(e); }
+                    public Integer poll() { return q.poll(); }
+                };
+            }
+            case "MpmcRingBuffer" -> {
+                MpmcRingBuffer<Integer> q = new MpmcRingBuffer<>(capacity, new BusySpinWaitStrategy());
+                yield new QueueAdapter() {
+                    public boolean offer(Integer e) { return q.offer(e); }
+                    public Integer poll() { return q.poll(); }
+                };
+            }
+            default -> throw new IllegalArgumentException("Unknown queue: " + impl);
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.gindix.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArrayDeque vs LinkedList used as a FIFO queue and as a stack.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class QueueBenchmark {
+
+    @Param({"ArrayDeque", "LinkedList"})
+    public String impl;
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private Integer[] values;
+    private Deque<Integer> queue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = Data.values(size);
+        queue = newDeque();
+        for (Integer value : values) {
+            queue.offer(value);
+        }
+    }
+
+    private Deque<Integer> newDeque() {
+        return switch (impl) {
+            case "ArrayDeque" -> new ArrayDeque<>();
+            case "LinkedList" -> new LinkedList<>();
+            default -> throw new IllegalArgumentException("Unknown deque: " + impl);
+        };
+    }
+
+    /** One {@code offer} + {@code poll} on a queue holding {@code size} elements (steady state). */
+    @Benchmark
+    public Integer offerPoll() {
+        queue.offer(values[0]);
+        return queue.poll();
+    }
+
+    /** Fills an empty queue with {@code size} elements, then drains it. */
+    @Benchmark
+    public long fillDrain() {
+        Deque<Integer> fresh = newDeque();
+        for (Integer value : values) {
+            fresh.offer(value);
+        }
+        long sum = 0;
+        Integer value;
+        while ((value = fresh.poll()) != null) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /** Pushes {@code size} elements, then pops them all (stack usage). */
+    @Benchmark
+    public long pushPop() {
+        Deque<Integer> stack = newDeque();
+        for (Integer value : values) {
+            stack.push(value);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    /** Full traversal of the queue. */
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer value : queue) {
+            sum += value;
+        }
+        return sum;
+    }
+}
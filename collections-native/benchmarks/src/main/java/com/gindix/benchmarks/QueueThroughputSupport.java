@@ -0,0 +1,34 @@
+package com.gindix.benchmarks;
+
+import org.openjdk.jmh.infra.Control;
+
+/**
+ * Shared state of the queue throughput benchmarks: one queue per JMH thread group, producers
+ * offering and consumers polling until they succeed. Failed attempts are retried inside the measured
+ * call, so every counted operation is one element handed over; the retry loops give up when JMH ends
+ * the iteration, so a thread waiting on a side that has stopped cannot hang the run.
+ */
+abstract class QueueThroughputSupport {
+    static final int CAPACITY = 1024;
+    private static final Integer ELEMENT = 1;
+
+    QueueAdapter queue;
+
+    void init(String impl) {
+        queue = QueueAdapter.create(impl, CAPACITY);
+    }
+
+    void offerUntilDone(Control control) {
+        while (!queue.offer(ELEMENT) && !control.stopMeasurement) {
+            Thread.onSpinWait();
+        }
+    }
+
+    Integer pollUntilDone(Control control) {
+        Integer e;
+        while ((e = queue.poll()) == null && !control.stopMeasurement) {
+            Thread.onSpinWait();
+        }
+        return e;
+    }
+}
@@ -0,0 +1,146 @@
+package com.gindix.benchmarks;
+
+import com.gindix.collections.concurrent.CopyOnWriteMap;
+import com.gindix.collections.concurrent.ReadMostlyMap;
+import com.gindix.collections.concurrent.StampedLockMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A shared lookup table hit by every core at once, {@code writePercent} of the operations being
+ * updates of existing keys (1 = 99:1 and 10 = 90:10 reads to writes). The read-mostly maps of
+ * com.gindix.collections.concurrent against ConcurrentHashMap, a HashMap behind a
+ * ReentrantReadWriteLock and Collections.synchronizedMap. The score is the combined throughput of all
+ * threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ReadMostlyMapBenchmark {
+
+    @Param({"ConcurrentHashMap", "ReentrantReadWriteLock", "synchronizedMap", "StampedLockMap", "CopyOnWriteMap"})
+    public String impl;
+
+    @Param({"1", "10"})
+    public int writePercent;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private SharedMap map;
+    private Integer[] keys;
+    private int[] lookups;
+
+    /** Per-thread position in the lookup sequence, so threads do not share a cursor. */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int operation;
+        int position;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // Start threads at different points, so they do not touch the same keys in lockstep
+            position = ThreadLocalRandom.current().nextInt(Data.LOOKUPS);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = Data.values(size);
+        lookups = Data.indices(Data.LOOKUPS, size);
+        Map<Integer, Integer> initial = new HashMap<>();
+        for (Integer key : keys) {
+            initial.put(key, key);
+        }
+        map = create(impl, initial);
+    }
+
+    @Benchmark
+    public Integer readWrite(Cursor cursor) {
+        Integer key = keys[lookups[cursor.position++ & (Data.LOOKUPS - 1)]];
+        if (++cursor.operation == 100) {
+            cursor.operation = 0;
+        }
+        if (cursor.operation < writePercent) {
+            map.put(key, key);
+            return key;
+        }
+        return map.get(key);
+    }
+
+    /** The two operations measured, over maps that share no interface beyond them. */
+    interface SharedMap {
+        Integer get(Integer key);
+
+        void put(Integer key, Integer value);
+    }
+
+    static SharedMap create(String impl, Map<Integer, Integer> initial) {
+        return switch (impl) {
+            case "ConcurrentHashMap" -> of(new ConcurrentHashMap<>(initial));
+            case "synchronizedMap" -> of(Collections.synchronizedMap(new HashMap<>(initial)));
+            case "ReentrantReadWriteLock" -> new SharedMap() {
+                private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+                private final Map<Integer, Integer> entries = new HashMap<>(initial);
+
+                public Integer get(Integer key) {
+                    lock.readLock().lock();
+                    try {
+                        return entries.get(key);
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                }
+
+                public void put(Integer key, Integer value) {
+                    lock.writeLock().lock();
+                    try {
+                        entries.put(key, value);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            };
+            case "StampedLockMap" -> of(new StampedLockMap<>(initial));
+            case "CopyOnWriteMap" -> of(new CopyOnWriteMap<>(initial));
+            default -> throw new IllegalArgumentException("Unknown map: " + impl);
+        };
+    }
+
+    private static SharedMap of(Map<Integer, Integer> map) {
+        return new SharedMap() {
+            public Integer get(Integer key) { return map.get(key); }
+            public void put(Integer key, Integer value) { map.put(key, value); }
+        };
+    }
+
+    private static SharedMap of(ReadMostlyMap<Integer, Integer> map) {
+        return new SharedMap() {
+            public Integer get(Integer key) { return map.get(key); }
+            public void put(Integer key, Integer value) { map.put(key, value); }
+        };
+    }
+}
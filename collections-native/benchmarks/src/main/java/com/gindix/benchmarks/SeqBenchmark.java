@@ -0,0 +1,153 @@
+package com.gindix.benchmarks;
+
+import com.gindix.collections.seq.Seq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seq/IntSeq against java.util.stream for the operations of Streaming's mapping, distinct, reduction
+ * and statistics demos, over {@code size} words and boxed numbers. Where the stream has a primitive
+ * variant that the demos do not use ({@code mapToInt} instead of {@code map}), it is measured too, so
+ * the gain from fusion can be told apart from the gain from not boxing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SeqBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private List<Integer> numbers;
+    private List<String> words;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        numbers = Arrays.asList(Data.values(size));
+        // Words of 2 to 16 characters, one in five with an upper-case initial
+        words = numbers.stream()
+                .map(n -> (n % 5 == 0 ? "W" : "w") + Integer.toString(n, 36).repeat(1 + n % 3))
+                .toList();
+    }
+
+    // Mapping: sum of squares
+
+    @Benchmark
+    public int squaresStream() {
+        return numbers.stream().map(n -> n * n).reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int squaresIntStream() {
+        return numbers.stream().mapToInt(n -> n * n).sum();
+    }
+
+    @Benchmark
+    public long squaresSeq() {
+        return Seq.from(numbers).mapToInt(n -> n * n).sum();
+    }
+
+    // Mapping: flatMap to characters
+
+    @Benchmark
+    public long upperCaseCharsStream() {
+        return words.stream().flatMapToInt(String::chars).filter(Character::isUpperCase).count();
+    }
+
+    @Benchmark
+    public long upperCaseCharsSeq() {
+        return Seq.from(words)
+                .mapMultiToInt((word, chars) -> {
+                    for (int i = 0; i < word.length(); i++) {
+                        chars.accept(word.charAt(i));
+                    }
+                })
+                .filter(Character::isUpperCase)
+                .count();
+    }
+
+    // Distinct
+
+    @Benchmark
+    public long distinctLengthsStream() {
+        return words.stream().map(String::length).distinct().count();
+    }
+
+    @Benchmark
+    public long distinctLengthsSeq() {
+        return Seq.from(words).mapToInt(String::length).distinct().count();
+    }
+
+    @Benchmark
+    public long distinctWordsStream() {
+        return words.stream().distinct().count();
+    }
+
+    @Benchmark
+    public long distinctWordsSeq() {
+        return Seq.from(words).distinct().count();
+    }
+
+    // Reduction
+
+    @Benchmark
+    public Optional<String> longestStream() {
+        return words.stream().reduce((a, b) -> a.length() >= b.length() ? a : b);
+    }
+
+    @Benchmark
+    public Optional<String> longestSeq() {
+        return Seq.from(words).reduce((a, b) -> a.length() >= b.length() ? a : b);
+    }
+
+    @Benchmark
+    public Optional<String> firstLongStream() {
+        return words.stream().filter(word -> word.length() > 8).findFirst();
+    }
+
+    @Benchmark
+    public Optional<String> firstLongSeq() {
+        return Seq.from(words).filter(word -> word.length() > 8).findFirst();
+    }
+
+    // Statistics
+
+    @Benchmark
+    public IntSummaryStatistics statisticsStream() {
+        return numbers.stream().mapToInt(Integer::intValue).summaryStatistics();
+    }
+
+    @Benchmark
+    public IntSummaryStatistics statisticsSeq() {
+        return Seq.from(numbers).mapToInt(Integer::intValue).summaryStatistics();
+    }
+
+    @Benchmark
+    public long countLongStream() {
+        return words.stream().filter(word -> word.length() > 4).count();
+    }
+
+    @Benchmark
+    public long countLongSeq() {
+        return Seq.from(words).filter(word -> word.length() > 4).count();
+    }
+}
@@ -0,0 +1,98 @@
+package com.gindix.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HashSet vs TreeSet: building, membership tests, iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SetBenchmark {
+
+    @Param({"HashSet", "TreeSet"})
+    public String impl;
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private Integer[] values;
+    private Integer[] probes;
+    private Set<Integer> set;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = Data.values(size);
+        int[] indices = Data.indices(Data.LOOKUPS, size);
+        probes = new Integer[Data.LOOKUPS];
+        for (int i = 0; i < Data.LOOKUPS; i++) {
+            // Half present, half absent
+            probes[i] = values[indices[i]] + (i & 1);
+        }
+        set = newSet();
+        for (Integer value : values) {
+            set.add(value);
+        }
+    }
+
+    private Set<Integer> newSet() {
+        return switch (impl) {
+            case "HashSet" -> new HashSet<>();
+            case "TreeSet" -> new TreeSet<>();
+            default -> throw new IllegalArgumentException("Unknown set: " + impl);
+        };
+    }
+
+    /** Adds {@code size} elements to an empty set. */
+    @Benchmark
+    public Set<Integer> add() {
+        Set<Integer> fresh = newSet();
+        for (Integer value : values) {
+            fresh.add(value);
+        }
+        return fresh;
+    }
+
+    /** {@code contains} with a 50% hit rate; per probe. */
+    @Benchmark
+    @OperationsPerInvocation(Data.LOOKUPS)
+    public int contains() {
+        int found = 0;
+        for (Integer probe : probes) {
+            if (set.contains(probe)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /** Full traversal of the set. */
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer value : set) {
+            sum += value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,302 @@
+package com.gindix;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the JSON results of the JMH benchmarks in {@code benchmarks/} as one table per benchmark
+ * class: every method and parameter combination with its score, error and allocation per operation
+ * (when the GC profiler ran).
+ */
+public class BenchmarkReport {
+    public static final String DEFAULT_RESULTS = "benchmarks/jmh-result.json";
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    public static void print(Path results) throws IOException {
+        Object parsed = new JsonParser(Files.readString(results)).parse();
+        if (!(parsed instanceof List<?> runs) || runs.isEmpty()) {
+            System.out.println("No benchmark results in " + results);
+            return;
+        }
+
+        // Group by benchmark class, keeping the order JMH ran them in
+        Map<String, List<Map<?, ?>>> byClass = new LinkedHashMap<>();
+        for (Object run : runs) {
+            Map<?, ?> result = (Map<?, ?>) run;
+            String benchmark = (String) result.get("benchmark");
+            String className = benchmark.substring(0, benchmark.lastIndexOf('.'));
+            byClass.computeIfAbsent(className.substring(className.lastIndexOf('.') + 1), k -> new ArrayList<>())
+                    .add(result);
+        }
+        byClass.forEach(BenchmarkReport::printTable);
+    }
+
+    private static void printTable(String className, List<Map<?, ?>> results) {
+        Set<String> paramNames = new LinkedHashSet<>();
+        for (Map<?, ?> result : results) {
+            if (result.get("params") instanceof Map<?, ?> params) {
+                params.keySet().forEach(name -> paramNames.add((String) name));
+            }
+        }
+
+        // Thread counts only matter for multi-threaded runs, e.g. CounterContentionMatrix
+        boolean showThreads = results.stream()
+                .anyMatch(result -> result.get("threads") instanceof Number threads && threads.intValue() != 1);
+
+        List<String> header = new ArrayList<>(List.of("Benchmark", "Mode"));
+        if (showThreads) {
+            header.add("Threads");
+        }
+        header.addAll(paramNames);
+        header.addAll(List.of("Score", "Error", "Units", "Alloc B/op"));
+
+        List<List<String>> rows = new ArrayList<>();
+        for (Map<?, ?> result : results) {
+            String benchmark = (String) result.get("benchmark");
+            List<String> row = new ArrayList<>();
+            row.add(benchmark.substring(benchmark.lastIndexOf('.') + 1));
+            row.add(String.valueOf(result.get("mode")));
+            if (showThreads) {
+                row.add(result.get("threads") instanceof Number threads ? String.valueOf(threads.intValue()) : "");
+            }
+            Map<?, ?> params = result.get("params") instanceof Map<?, ?> p ? p : Map.of();
+            for (String name : paramNames) {
+                Object value = params.get(name);
+                row.add(value != null ? value.toString() : "");
+            }
+            Map<?, ?> primary = (Map<?, ?>) result.get("primaryMetric");
+            row.add(format(primary.get("score")));
+            row.add("± " + format(primary.get("scoreError")));
+            row.add(String.valueOf(primary.get("scoreUnit")));
+            String allocation = "";
+            if (result.get("secondaryMetrics") instanceof Map<?, ?> secondary
+                    && secondary.get(ALLOCATION_METRIC) instanceof Map<?, ?> metric) {
+                allocation = format(metric.get("score"));
+            }
+            row.add(allocation);
+            rows.add(row);
+        }
+
+        int[] widths = new int[header.size()];
+        for (int i = 0; i < widths.length; i++) {
+            widths[i] = header.get(i).length();
+            for (List<String> row : rows) {
+                widths[i] = Math.max(widths[i], row.get(i).length());
+            }
+        }
+
+        System.out.println("\n📊 " + className);
+        System.out.println(border(widths, '┌', '┬', '┐'));
+        System.out.println(line(header, widths, header.size() - 4));
+        System.out.println(border(widths, '├', '┼', '┤'));
+        for (List<String> row : rows) {
+            System.out.println(line(row, widths, header.size() - 4));
+        }
+        System.out.println(border(widths, '└', '┴', '┘'));
+    }
+
+    // Text columns are left-aligned, numbers from firstNumeric on right-aligned (the units column excepted)
+    private static String line(List<String> cells, int[] widths, int firstNumeric) {
+        StringBuilder line = new StringBuilder("│");
+        for (int i = 0; i < cells.size(); i++) {
+            boolean right = i >= firstNumeric && i != cells.size() - 2;
+            String format = " %" + (right ? "" : "-") + widths[i] + "s │";
+            line.append(String.format(format, cells.get(i)));
+        }
+        return line.toString();
+    }
+
+    private static String border(int[] widths, char left, char junction, char right) {
+        StringBuilder border = new StringBuilder().append(left);
+        for (int i = 0; i < widths.length; i++) {
+            border.append("─".repeat(widths[i] + 2)).append(i < widths.length - 1 ? junction : right);
+        }
+        return border.toString();
+    }
+
+    private static String format(Object value) {
+        if (!(value instanceof Number number)) {
+            // JMH writes NaN scores as strings
+            return value != null ? value.toString() : "";
+        }
+        double d = number.doubleValue();
+        if (Double.isNaN(d)) {
+            return "NaN";
+        }
+        return Math.abs(d) >= 100 ? String.format("%,.0f", d) : String.format("%.3f", d);
+    }
+
+    /**
+     * Just enough JSON for JMH result files: objects become ordered maps, arrays lists, numbers doubles.
+     */
+    private static final class JsonParser {
+        private final String json;
+        private int pos;
+
+        JsonParser(String json) {
+            this.json = json;
+        }
+
+        Object parse() {
+            Object value = value();
+            skipWhitespace();
+            if (pos != json.length()) {
+                throw error("Unexpected trailing content");
+            }
+            return value;
+        }
+
+        private Object value() {
+            skipWhitespace();
+            if (pos >= json.length()) {
+                throw error("Unexpected end of input");
+            }
+            char c = json.charAt(pos);
+            switch (c) {
+                case '{':
+                    return object();
+                case '[':
+                    return array();
+                case '"':
+                    return string();
+                case 't':
+                    expect("true");
+                    return Boolean.TRUE;
+                case 'f':
+                    expect("false");
+                    return Boolean.FALSE;
+                case 'n':
+                    expect("null");
+                    return null;
+                default:
+                    return number();
+            }
+        }
+
+        private Map<String, Object> object() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek('}')) {
+                pos++;
+                return object;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = string();
+                skipWhitespace();
+                consume(':');
+                object.put(key, value());
+                skipWhitespace();
+                if (peek(',')) {
+                    pos++;
+                } else {
+                    consume('}');
+                    return object;
+                }
+            }
+        }
+
+        private List<Object> array() {
+            List<Object> array = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek(']')) {
+                pos++;
+                return array;
+            }
+            while (true) {
+                array.add(value());
+                skipWhitespace();
+                if (peek(',')) {
+                    pos++;
+                } else {
+                    consume(']');
+                    return array;
+                }
+            }
+        }
+
+        private String string() {
+            consume('"');
+            StringBuilder string = new StringBuilder();
+            while (pos < json.length()) {
+                char c = json.charAt(pos++);
+                if (c == '"') {
+                    return string.toString();
+                }
+                if (c != '\\') {
+                    string.append(c);
+                    continue;
+                }
+                if (pos >= json.length()) {
+                    break;
+                }
+                char escaped = json.charAt(pos++);
+                switch (escaped) {
+                    case 'n' -> string.append('\n');
+                    case 't' -> string.append('\t');
+                    case 'r' -> string.append('\r');
+                    case 'b' -> string.append('\b');
+                    case 'f' -> string.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > json.length()) {
+                            throw error("Truncated unicode escape");
+                        }
+                        string.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> string.append(escaped);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private Double number() {
+            int start = pos;
+            while (pos < json.length() && "+-0123456789.eE".indexOf(json.charAt(pos)) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("Unexpected character '" + json.charAt(pos) + "'");
+            }
+            return Double.valueOf(json.substring(start, pos));
+        }
+
+        private void expect(String literal) {
+            if (!json.startsWith(literal, pos)) {
+                throw error("Expected " + literal);
+            }
+            pos += literal.length();
+        }
+
+        private void consume(char c) {
+            if (!peek(c)) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        private boolean peek(char c) {
+            return pos < json.length() && json.charAt(pos) == c;
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + pos + " of benchmark results");
+        }
+    }
+}
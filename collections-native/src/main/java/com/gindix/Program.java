@@ -1,5 +1,8 @@
 package com.gindix;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.stream.Stream;
 
@@ -19,6 +22,8 @@ import com.gindix.collections.Streaming;
  * - collections: Collections framework tests
  * - concurrency: Concurrency and threading tests
  * - shapes: Shape inheritance and polymorphism demo
+ * - benchmarks: Tables of the JMH results in benchmarks/jmh-result.json
+ *   (another file with -Djmh.results=path)
  * - all: Run all features
  */
 public class Program {
@@ -51,6 +56,9 @@ public class Program {
                 case "shapes":
                     runShapesDemo();
                     break;
+                case "benchmarks":
+                    runBenchmarkReport();
+                    break;
                 case "all":
                     runAllDemos(streaming);
                     break;
@@ -75,6 +83,7 @@ public class Program {
         System.out.println("║  • collections - Collections framework tests                  ║");
         System.out.println("║  • concurrency - Concurrency and threading tests             ║");
         System.out.println("║  • shapes      - Shape inheritance and polymorphism demo     ║");
+        System.out.println("║  • benchmarks  - Tables of the JMH results (see benchmarks/)  ║");
         System.out.println("║  • all         - Run all features                             ║");
         System.out.println("║                                                                ║");
         System.out.println("║ Examples:                                                      ║");
@@ -120,6 +129,23 @@ public class Program {
         ShapeDemo.testFeature();
     }
 
+    private static void runBenchmarkReport() {
+        System.out.println("\n" + "=".repeat(80));
+        System.out.println("⏱️ JMH BENCHMARK RESULTS");
+        System.out.println("=".repeat(80));
+        Path results = Path.of(System.getProperty("jmh.results", BenchmarkReport.DEFAULT_RESULTS));
+        if (!Files.exists(results)) {
+            System.out.println("No results at " + results.toAbsolutePath() + " - build and run the benchmarks first:");
+            System.out.println("  mvn install && cd benchmarks && mvn package && java -jar target/benchmarks.jar");
+            return;
+        }
+        try {
+            BenchmarkReport.print(results);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Could not read benchmark results from " + results + ": " + e.getMessage());
+        }
+    }
+
     private static void runAllDemos(Streaming streaming) {
         System.out.println("╔════════════════════════════════════════════════════════════════╗");
         System.out.println("║                 RUNNING ALL JAVA FEATURES                     ║");
@@ -3,6 +3,13 @@ package com.gindix.collections;
 import java.util.*;
 import java.util.concurrent.*;
 
+import com.gindix.collections.primitive.IntArrayDeque;
+import com.gindix.collections.primitive.IntArrayList;
+import com.gindix.collections.primitive.IntCursor;
+import com.gindix.collections.primitive.IntHashSet;
+import com.gindix.collections.primitive.IntIntCursor;
+import com.gindix.collections.primitive.IntIntHashMap;
+
 public class CollectionsTest {
     public static void testAllCollections() {
         System.out.println("🚀 COMPREHENSIVE JAVA COLLECTIONS TESTING 🚀\n");
@@ -28,6 +35,9 @@ public class CollectionsTest {
         testCollectionOperations();
         System.out.println("\n" + "=".repeat(60) + "\n");
         
+        testPrimitiveCollections();
+        System.out.println("\n" + "=".repeat(60) + "\n");
+        
         testPerformanceCharacteristics();
     }
 
@@ -304,6 +314,7 @@ public class CollectionsTest {
         System.out.println("     • Use ArrayDeque for pure queue/deque operations");
         System.out.println("     • Use LinkedList when you need List operations too");
         System.out.println("     • ArrayDeque is the preferred Deque implementation");
+        System.out.println("\n   📏 Measured: QueueBenchmark in benchmarks/ (run \"benchmarks\" to show the results)");
     }
 
     private static void testDeque() {
@@ -527,9 +538,53 @@ public class CollectionsTest {
         System.out.println("   To Set: " + set);
     }
 
+    private static void testPrimitiveCollections() {
+        System.out.println("🔢 === PRIMITIVE COLLECTIONS: No Boxing ===");
+        System.out.println("Purpose: Store int/long values directly in arrays instead of Integer/Long objects\n");
+
+        System.out.println("🔸 IntArrayList (int[] instead of Integer references):");
+        IntArrayList scores = IntArrayList.of(87, 92, 78);
+        scores.add(95);
+        scores.add(0, 60);
+        System.out.println("   List: " + scores + ", get(2): " + scores.get(2));
+        long total = 0;
+        for (IntCursor c = scores.cursor(); c.advance(); ) {
+            total += c.value();  // No Iterator, no Integer
+        }
+        System.out.println("   Sum via cursor: " + total);
+
+        System.out.println("\n🔸 IntIntHashMap (open addressing, parallel int[] tables):");
+        IntIntHashMap wordLengths = new IntIntHashMap();
+        for (String word : List.of("apple", "kiwi", "banana", "fig", "cherry", "plum")) {
+            wordLengths.addTo(word.length(), 1);  // Counter without merge() or boxing
+        }
+        System.out.print("   Words per length:");
+        for (IntIntCursor c = wordLengths.cursor(); c.advance(); ) {
+            System.out.print(" " + c.key() + "->" + c.value());
+        }
+        System.out.println();
+        System.out.println("   getOrDefault(10, -1): " + wordLengths.getOrDefault(10, -1));
+
+        System.out.println("\n🔸 IntHashSet:");
+        IntHashSet seen = IntHashSet.of(3, 1, 4, 1, 5, 9, 2, 6);
+        System.out.println("   Distinct digits: " + seen.size() + ", contains 7: " + seen.contains(7));
+
+        System.out.println("\n🔸 IntArrayDeque (circular int[] buffer):");
+        IntArrayDeque deque = new IntArrayDeque();
+        deque.addLast(1);
+        deque.addLast(2);
+        deque.addFirst(0);
+        System.out.println("   Deque: " + deque + ", removeFirst: " + deque.removeFirst() + ", removeLast: " + deque.removeLast());
+
+        System.out.println("\n   💡 An ArrayList<Integer> of 1M values holds 1M Integer objects (~16 bytes each)");
+        System.out.println("      plus 1M references; IntArrayList holds one 4 MB int[]");
+        System.out.println("   📏 Measured: Primitive*Benchmark in benchmarks/ (run \"benchmarks\" to show the results)");
+    }
+
     private static void testPerformanceCharacteristics() {
         System.out.println("⚡ === PERFORMANCE CHARACTERISTICS ===");
-        System.out.println("Purpose: Understanding time complexity of different operations\n");
+        System.out.println("Purpose: Understanding time complexity of different operations");
+        System.out.println("Measured: List/Queue/Map/SetBenchmark in benchmarks/ (run \"benchmarks\" to show the results)\n");
 
         System.out.println("🔸 LIST PERFORMANCE:");
         System.out.println("   ArrayList:");
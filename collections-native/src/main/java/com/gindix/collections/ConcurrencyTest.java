@@ -1,11 +1,29 @@
 package com.gindix.collections;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
 import java.util.concurrent.locks.*;
 import java.util.stream.IntStream;
 
+import com.gindix.collections.aggregate.ParallelAggregator;
+import com.gindix.collections.concurrent.CopyOnWriteMap;
+import com.gindix.collections.concurrent.ReadMostlyMap;
+import com.gindix.collections.concurrent.StampedLockMap;
+import com.gindix.collections.counter.SnapshotCounter;
+import com.gindix.collections.counter.StripedCounter;
+import com.gindix.collections.counter.ThreadLocalCounter;
+import com.gindix.collections.queue.BlockingWaitStrategy;
+import com.gindix.collections.queue.BoundedQueue;
+import com.gindix.collections.queue.MpmcRingBuffer;
+import com.gindix.collections.queue.SpscRingBuffer;
+import com.gindix.collections.threads.BlockingIoTask;
+import com.gindix.collections.threads.ExecutorComparison;
+import com.gindix.collections.threads.ExecutorMode;
+import com.gindix.collections.threads.ExecutorRunResult;
+import com.gindix.collections.threads.PinningMonitor;
+
 public class ConcurrencyTest {
     
     public static void testAllConcurrencyMechanisms() {
@@ -29,6 +47,9 @@ public class ConcurrencyTest {
         testExecutorServices();
         System.out.println("\n" + "=".repeat(80) + "\n");
         
+        testVirtualThreads();
+        System.out.println("\n" + "=".repeat(80) + "\n");
+        
         testCompletableFuture();
         System.out.println("\n" + "=".repeat(80) + "\n");
         
@@ -141,6 +162,22 @@ public class ConcurrencyTest {
         AtomicInteger atomicInt = new AtomicInteger(0);
         testCounter(atomicInt::incrementAndGet, atomicInt::get, "AtomicInteger");
         
+        // Contended counters: spread the writes so threads stop fighting over one cache line
+        System.out.println("\n🔸 Striped and Thread-Local Counters (hot counters under contention):");
+        StripedCounter stripedCounter = new StripedCounter();
+        testCounter(stripedCounter::increment, () -> (int) stripedCounter.sum(),
+                "StripedCounter (" + stripedCounter.stripes() + " padded stripes)");
+        ThreadLocalCounter threadLocalCounter = new ThreadLocalCounter();
+        testCounter(threadLocalCounter::increment, () -> (int) threadLocalCounter.sum(), "ThreadLocalCounter");
+        SnapshotCounter snapshotCounter = new SnapshotCounter();
+        testCounter(snapshotCounter::increment, () -> (int) snapshotCounter.sum(), "SnapshotCounter");
+        SnapshotCounter.Snapshot first = snapshotCounter.snapshot();
+        snapshotCounter.add(250);
+        SnapshotCounter.Snapshot second = snapshotCounter.snapshot();
+        System.out.println("   Snapshots: total " + first.total() + " (+" + first.delta() + "), then total "
+                + second.total() + " (+" + second.delta() + ")");
+        System.out.println("   📏 Measured from 1 to N threads: CounterContentionMatrix in benchmarks/");
+        
         // AtomicReference
         System.out.println("\n🔸 AtomicReference:");
         AtomicReference<String> atomicRef = new AtomicReference<>("Initial");
@@ -256,59 +293,66 @@ public class ConcurrencyTest {
             Thread.currentThread().interrupt();
         }
         
-        // Condition Variables
-        System.out.println("\n🔸 Condition Variables (Producer-Consumer):");
+        // Read-mostly maps: readers never block, not even on a read lock
+        System.out.println("\n🔸 Read-mostly maps (StampedLock optimistic reads, copy-on-write):");
+        testReadMostlyMap(new StampedLockMap<>(), "StampedLockMap");
+        testReadMostlyMap(new CopyOnWriteMap<>(), "CopyOnWriteMap");
+        
+        // Producer-Consumer
+        System.out.println("\n🔸 Producer-Consumer (bounded ring buffer):");
         testProducerConsumer();
     }
     
-    private static void testProducerConsumer() {
-        class BoundedBuffer<T> {
-            private final Queue<T> buffer = new LinkedList<>();
-            private final int capacity;
-            private final ReentrantLock lock = new ReentrantLock();
-            private final Condition notFull = lock.newCondition();
-            private final Condition notEmpty = lock.newCondition();
-            
-            public BoundedBuffer(int capacity) {
-                this.capacity = capacity;
-            }
-            
-            public void put(T item) throws InterruptedException {
-                lock.lock();
-                try {
-                    while (buffer.size() == capacity) {
-                        notFull.await();
+    private static void testReadMostlyMap(ReadMostlyMap<String, Integer> config, String name) {
+        config.replaceContents(Map.of("pool.size", 8, "timeout.ms", 500, "retries", 3));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        
+        // Readers look up settings in a loop while a writer changes one of them now and then
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Thread reader = new Thread(() -> {
+                long own = 0;
+                while (running.get()) {
+                    if (config.getOrDefault("timeout.ms", -1) < 0) {
+                        throw new IllegalStateException("Setting disappeared during an update");
                     }
-                    buffer.offer(item);
-                    System.out.println("     Produced: " + item + " (Buffer size: " + buffer.size() + ")");
-                    notEmpty.signal();
-                } finally {
-                    lock.unlock();
+                    own++;
                 }
+                reads.addAndGet(own);
+            }, "Reader-" + i);
+            readers.add(reader);
+            reader.start();
+        }
+        
+        try {
+            for (int timeout = 600; timeout <= 1000; timeout += 100) {
+                config.put("timeout.ms", timeout);
+                Thread.sleep(20);
             }
-            
-            public T take() throws InterruptedException {
-                lock.lock();
-                try {
-                    while (buffer.isEmpty()) {
-                        notEmpty.await();
-                    }
-                    T item = buffer.poll();
-                    System.out.println("     Consumed: " + item + " (Buffer size: " + buffer.size() + ")");
-                    notFull.signal();
-                    return item;
-                } finally {
-                    lock.unlock();
-                }
+            config.replaceContents(Map.of("pool.size", 16, "timeout.ms", 250));
+            Thread.sleep(20);
+            running.set(false);
+            for (Thread reader : readers) {
+                reader.join();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
         
-        BoundedBuffer<Integer> buffer = new BoundedBuffer<>(3);
+        System.out.println("   " + name + ": " + String.format("%,d", reads.get()) + " reads during 6 updates");
+        System.out.println("     Final contents: " + new TreeMap<>(config.snapshot()));
+    }
+    
+    private static void testProducerConsumer() {
+        // Lock-free ring buffer; the blocking wait strategy parks on a Condition only while full/empty
+        BoundedQueue<Integer> buffer = new MpmcRingBuffer<>(4, new BlockingWaitStrategy());
         
         Thread producer = new Thread(() -> {
             try {
                 for (int i = 1; i <= 5; i++) {
                     buffer.put(i);
+                    System.out.println("     Produced: " + i + " (Buffer size: " + buffer.size() + ")");
                     Thread.sleep(100);
                 }
             } catch (InterruptedException e) {
@@ -319,7 +363,8 @@ public class ConcurrencyTest {
         Thread consumer = new Thread(() -> {
             try {
                 for (int i = 1; i <= 5; i++) {
-                    buffer.take();
+                    Integer item = buffer.take();
+                    System.out.println("     Consumed: " + item + " (Buffer size: " + buffer.size() + ")");
                     Thread.sleep(150);
                 }
             } catch (InterruptedException e) {
@@ -335,6 +380,17 @@ public class ConcurrencyTest {
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
+
+        // Batch drain: one head update for the whole batch
+        BoundedQueue<String> events = new SpscRingBuffer<>(8);
+        for (String event : List.of("login", "view", "click", "logout")) {
+            events.offer(event);
+        }
+        List<String> batch = new ArrayList<>();
+        int drained = events.drain(batch::add);
+        System.out.println("     Drained " + drained + " events in one batch: " + batch);
+        System.out.println("     Ring buffers: SpscRingBuffer (1 producer/1 consumer), MpscRingBuffer, MpmcRingBuffer");
+        System.out.println("     📏 Measured against ArrayBlockingQueue/LinkedBlockingQueue: *QueueThroughputBenchmark in benchmarks/");
     }
     
     // 5. Concurrent Collections
@@ -524,9 +580,63 @@ public class ConcurrencyTest {
             Long result = forkJoinPool.invoke(task);
             System.out.println("   ForkJoin sum of 1-9999: " + result);
         }
+        
+        // The same divide and conquer, generalized: adaptive leaf size, primitive arrays, more aggregations
+        System.out.println("\n🔸 ParallelAggregator (fork-join sum/min/max/histogram/group-by):");
+        int[] scores = new SplittableRandom(42).ints(2_000_000, 0, 100).toArray();
+        ParallelAggregator aggregator = ParallelAggregator.common();
+        System.out.println("   " + String.format("%,d", scores.length) + " scores, leaves of "
+                + String.format("%,d", aggregator.leafSize(scores.length)) + " on "
+                + ForkJoinPool.getCommonPoolParallelism() + " workers");
+        System.out.println("   Sum: " + aggregator.sum(scores)
+                + ", min: " + aggregator.min(scores).getAsInt()
+                + ", max: " + aggregator.max(scores).getAsInt());
+        System.out.println("   Histogram (10 buckets): " + Arrays.toString(aggregator.histogram(scores, 0, 100, 10)));
+        System.out.println("   Count by grade (score / 25): " + aggregator.countBy(scores, score -> score / 25));
+    }
+    
+    // 7. Virtual Threads
+    private static void testVirtualThreads() {
+        System.out.println("🧵 === VIRTUAL THREADS ===");
+        System.out.println("Purpose: Many blocking tasks without a thread each, and what pins them\n");
+        
+        // Same blocking workload (2 calls of 10 ms per task) on a 200-thread pool and on virtual threads
+        System.out.println("🔸 Platform pool (200 threads) vs virtual thread per task:");
+        ExecutorComparison comparison = new ExecutorComparison(ExecutorComparison.DEFAULT_PLATFORM_THREADS,
+                ExecutorComparison.DEFAULT_CALLS, ExecutorComparison.DEFAULT_CALL_MILLIS);
+        List<ExecutorRunResult> results = new ArrayList<>();
+        for (ExecutorMode mode : ExecutorMode.values()) {
+            results.add(comparison.run(mode, BlockingIoTask.Guard.NONE, 2_000));
+        }
+        ExecutorComparison.print(results);
+        System.out.println("   Larger runs (up to 1M tasks): mvn exec:java "
+                + "-Dexec.mainClass=com.gindix.collections.threads.ExecutorComparison");
+        
+        // Blocking inside synchronized pins the virtual thread to its carrier (JDK 21); a
+        // SynchronizedCounter-style section that never blocks does not show up at all
+        System.out.println("\n🔸 Pinning (JFR jdk.VirtualThreadPinned):");
+        for (BlockingIoTask.Guard guard : List.of(BlockingIoTask.Guard.SYNCHRONIZED, BlockingIoTask.Guard.REENTRANT_LOCK)) {
+            PinningMonitor pinning = PinningMonitor.start(Duration.ofMillis(5));
+            try (pinning; ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < 20; i++) {
+                    executor.execute(new BlockingIoTask(1, 10, guard));
+                }
+                executor.execute(() -> {
+                    Object counter = new Object();
+                    for (int i = 0; i < 1_000; i++) {
+                        synchronized (counter) {
+                            counter.hashCode();
+                        }
+                    }
+                });
+            }
+            System.out.println("   " + guard + ": " + pinning.events() + " pinned events, "
+                    + pinning.totalPinned().toMillis() + " ms pinned");
+            pinning.frames().forEach((frame, count) -> System.out.println("     " + count + "x at " + frame));
+        }
     }
     
-    // 7. CompletableFuture
+    // 8. CompletableFuture
     private static void testCompletableFuture() {
         System.out.println("🔮 === COMPLETABLE FUTURE ===");
         System.out.println("Purpose: Asynchronous programming and composition of async operations\n");
@@ -612,7 +722,7 @@ public class ConcurrencyTest {
         }
     }
     
-    // 8. ThreadLocal and Volatile
+    // 9. ThreadLocal and Volatile
     private static void testThreadLocalAndVolatile() {
         System.out.println("🧵 === THREAD LOCAL AND VOLATILE ===");
         System.out.println("Purpose: Thread-specific storage and memory visibility\n");
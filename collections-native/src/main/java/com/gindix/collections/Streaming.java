@@ -1,11 +1,23 @@
 package com.gindix.collections;
 
+import java.text.Normalizer;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.function.Function;
 
+import com.gindix.collections.parallel.ParallelStreams;
+import com.gindix.collections.pipeline.Pipeline;
+import com.gindix.collections.pipeline.StageOptions;
+import com.gindix.collections.seq.Seq;
+
 /**
  * Comprehensive demonstration of Java Stream API capabilities
  * This class showcases various stream operations with detailed examples
@@ -294,36 +306,148 @@ public class Streaming {
     }
 
     /**
-     * Demonstrates parallel streams
+     * Demonstrates the mapping, distinct, reduction and statistics operations above on Seq/IntSeq:
+     * lazy, fused into one loop per terminal operation, and unboxed for ints
+     */
+    public void testSequences() {
+        System.out.println("\n=== FUSED SEQUENCES (Seq / IntSeq) ===");
+        
+        // Mapping
+        System.out.println("Uppercase: " + Seq.from(strings).map(String::toUpperCase).toList());
+        System.out.println("Squares: " + Arrays.toString(Seq.from(numbers).mapToInt(n -> n * n).toArray()));
+        // flatMap to chars without a stream per string
+        System.out.println("First 10 characters: " + Seq.from(strings)
+                .mapMultiToInt((s, chars) -> {
+                    for (int i = 0; i < s.length(); i++) {
+                        chars.accept(s.charAt(i));
+                    }
+                })
+                .limit(10)
+                .mapToObj(c -> String.valueOf((char) c))
+                .join(" "));
+        
+        // Distinct
+        System.out.println("\nDistinct: " + Seq.of("Apple", "Banana", "Apple", "Cherry", "Banana", "Date").distinct().toList());
+        System.out.println("Distinct lengths (int keys, no boxing): " + Seq.from(strings).distinctBy(String::length).toList());
+        
+        // Reduction
+        System.out.println("\nSum of numbers: " + Seq.from(numbers).mapToInt(Integer::intValue).sum());
+        System.out.println("Product of first 5 numbers: " + Seq.from(numbers).mapToInt(Integer::intValue).limit(5).reduce(1, (a, b) -> a * b));
+        System.out.println("Concatenated strings: " + Seq.from(strings).join(" "));
+        System.out.println("Longest string: " + Seq.from(strings).max(Comparator.comparingInt(String::length)).orElse("None"));
+        
+        // Statistics
+        System.out.println("\nCount of strings with length > 4: " + Seq.from(strings).filter(s -> s.length() > 4).count());
+        IntSummaryStatistics stats = Seq.from(numbers).mapToInt(Integer::intValue).summaryStatistics();
+        System.out.println("Number statistics: " + stats);
+        System.out.println("Measured against java.util.stream: SeqBenchmark in benchmarks/");
+    }
+
+    /**
+     * Demonstrates parallel streams: blocking work on the common pool, and the same work in a
+     * dedicated pool whose workers report their blocking calls
      */
     public void testParallelStreams() {
         System.out.println("\n=== PARALLEL STREAMS ===");
         
         // Sequential vs Parallel processing
         System.out.println("Sequential processing:");
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         strings.stream()
                 .map(s -> {
                     // Simulate some processing time
-                    try { Thread.sleep(100); } catch (InterruptedException e) {}
+                    sleep(100);
                     return s.toUpperCase();
                 })
                 .forEach(s -> System.out.println("Sequential: " + s));
-        long sequentialTime = System.currentTimeMillis() - startTime;
+        long sequentialTime = (System.nanoTime() - startTime) / 1_000_000;
 
-        System.out.println("\nParallel processing:");
-        startTime = System.currentTimeMillis();
+        // Blocking inside map() occupies common pool workers, which every other parallel stream shares
+        System.out.println("\nParallel processing (common pool):");
+        startTime = System.nanoTime();
         strings.parallelStream()
                 .map(s -> {
-                    // Simulate some processing time
-                    try { Thread.sleep(100); } catch (InterruptedException e) {}
+                    sleep(100);
                     return s.toUpperCase();
                 })
                 .forEach(s -> System.out.println("Parallel: " + s));
-        long parallelTime = System.currentTimeMillis() - startTime;
+        long parallelTime = (System.nanoTime() - startTime) / 1_000_000;
+
+        // Dedicated pool, and the sleep declared as blocking so the pool can add workers meanwhile
+        System.out.println("\nParallel processing (dedicated pool, ManagedBlocker):");
+        long dedicatedTime;
+        try (ForkJoinPool pool = ParallelStreams.newPool("streaming", 2)) {
+            startTime = System.nanoTime();
+            ParallelStreams.run(pool, () -> strings.parallelStream()
+                    .map(ParallelStreams.blocking((String s) -> {
+                        Thread.sleep(100);
+                        return s.toUpperCase();
+                    }))
+                    .forEach(s -> System.out.println("Dedicated: " + s + " (" + Thread.currentThread().getName() + ")")));
+            dedicatedTime = (System.nanoTime() - startTime) / 1_000_000;
+        }
 
         System.out.println("Sequential time: " + sequentialTime + "ms");
         System.out.println("Parallel time: " + parallelTime + "ms");
+        System.out.println("Dedicated pool time: " + dedicatedTime + "ms");
+
+        // Chunked source: no leaf task smaller than 64K values
+        try (ForkJoinPool pool = ParallelStreams.newPool("range", Runtime.getRuntime().availableProcessors())) {
+            long sumOfSquares = ParallelStreams.run(pool,
+                    () -> ParallelStreams.range(0, 10_000_000, 1 << 16).mapToLong(i -> (long) i * i).sum());
+            System.out.println("\nSum of squares below 10M in chunks of 64K: " + sumOfSquares);
+        }
+    }
+
+    /**
+     * Demonstrates the same string transformations as a bounded asynchronous pipeline: a blocking
+     * lookup on virtual threads, a fan-out over characters and a batched stage, each with its own
+     * in-flight limit and timeout
+     */
+    public void testAsyncPipeline() {
+        System.out.println("\n=== ASYNC PIPELINE ===");
+        
+        try (ExecutorService io = Executors.newVirtualThreadPerTaskExecutor()) {
+            Executor cpu = ForkJoinPool.commonPool();
+            Pipeline<String, String> pipeline = Pipeline.<String>builder()
+                    // Simulated remote lookup: at most 3 at once, "Cherry" is too slow and times out
+                    .map("lookup", StageOptions.of(io, 3, Duration.ofMillis(200)), s -> {
+                        sleep(s.equals("Cherry") ? 400 : 50);
+                        return Normalizer.normalize(s, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+                    })
+                    // Fan-out: every letter is a separate unit, like flatMap over chars
+                    .fanOut("letters", StageOptions.of(cpu, 4, Duration.ofMillis(100)),
+                            s -> s.chars().mapToObj(c -> (char) c).toList(),
+                            c -> Character.toUpperCase(c))
+                    .map("join", StageOptions.of(cpu, 2, Duration.ofMillis(100)),
+                            letters -> letters.stream().map(String::valueOf).collect(Collectors.joining("-")))
+                    // Batched: one call annotates up to 3 items, or whatever arrived within 20 ms
+                    .batch("annotate", StageOptions.of(io, 1, Duration.ofMillis(200)), 3, Duration.ofMillis(20),
+                            batch -> batch.stream().map(s -> s + " (" + (s.length() + 1) / 2 + " letters, batch of "
+                                    + batch.size() + ")").toList())
+                    .build(4);
+            
+            Map<String, CompletableFuture<String>> results = new LinkedHashMap<>();
+            for (String s : strings) {
+                results.put(s, pipeline.submit(s));
+            }
+            results.forEach((input, result) -> System.out.println(input + " -> " + result
+                    .exceptionally(e -> "failed: " + (e.getCause() != null ? e.getCause() : e).getClass().getSimpleName())
+                    .join()));
+            
+            System.out.println("\nStage metrics:");
+            pipeline.stats().forEach(stats -> System.out.println("  " + stats));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
@@ -381,8 +505,10 @@ public class Streaming {
         testCollectors();
         testFinding();
         testStatistics();
+        testSequences();
         testStreamCreation();
         testParallelStreams();
+        testAsyncPipeline();
         
         System.out.println("\n╔════════════════════════════════════════╗");
         System.out.println("║     STREAM API DEMO COMPLETED         ║");
@@ -0,0 +1,38 @@
+package com.gindix.collections.aggregate;
+
+import java.io.Serial;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The generalized {@code SumTask} of ConcurrencyTest: halves its range until it is at most
+ * {@code leafSize} long, forks the left half and computes the right half itself, so the current worker
+ * keeps going while idle workers steal the forked halves.
+ */
+final class AggregationTask<R> extends RecursiveTask<R> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient RangeAggregation<R> aggregation;
+    private final int from;
+    private final int to;
+    private final int leafSize;
+
+    AggregationTask(RangeAggregation<R> aggregation, int from, int to, int leafSize) {
+        this.aggregation = aggregation;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+    }
+
+    @Override
+    protected R compute() {
+        if (to - from <= leafSize) {
+            return aggregation.compute(from, to);
+        }
+        int mid = (from + to) >>> 1;
+        AggregationTask<R> left = new AggregationTask<>(aggregation, from, mid, leafSize);
+        left.fork();
+        R right = new AggregationTask<>(aggregation, mid, to, leafSize).compute();
+        return aggregation.combine(left.join(), right);
+    }
+}
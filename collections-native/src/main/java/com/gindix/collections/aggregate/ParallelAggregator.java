@@ -0,0 +1,418 @@
+package com.gindix.collections.aggregate;
+
+import com.gindix.collections.primitive.IntArrayList;
+import com.gindix.collections.primitive.IntIntHashMap;
+import com.gindix.collections.primitive.LongArrayList;
+import com.gindix.collections.primitive.LongLongHashMap;
+
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Fork-join aggregations over primitive arrays and lists: sum, min, max, histogram and group-by count
+ * over {@code int[]}, {@code long[]} and {@code double[]}, plus {@link #aggregate} for anything else
+ * that splits into {@link RangeAggregation}s.
+ *
+ * The split threshold adapts to the input and the pool, where {@code SumTask} uses a fixed 1000: an
+ * input is cut into about {@value #LEAVES_PER_WORKER} leaves per worker, so a worker that finishes
+ * early has something to steal, but no leaf is shorter than {@code minLeafSize} elements, below which
+ * forking costs more than the loop it parallelizes. Inputs that fit in one leaf, and all inputs on a
+ * single-worker pool, run on the calling thread without touching the pool. Leaves are plain indexed
+ * loops over the array, with no boxing per element.
+ *
+ * Sums of {@code double} are combined pairwise, so they can differ from a sequential loop in the last
+ * bits.
+ */
+public class ParallelAggregator {
+    public static final int DEFAULT_MIN_LEAF_SIZE = 1 << 13;
+    static final int LEAVES_PER_WORKER = 4;
+
+    private static final ParallelAggregator COMMON = new ParallelAggregator(ForkJoinPool.commonPool());
+
+    private final ForkJoinPool pool;
+    private final int minLeafSize;
+
+    public ParallelAggregator(ForkJoinPool pool) {
+        this(pool, DEFAULT_MIN_LEAF_SIZE);
+    }
+
+    public ParallelAggregator(ForkJoinPool pool, int minLeafSize) {
+        if (minLeafSize < 1) {
+            throw new IllegalArgumentException("Minimum leaf size must be positive: " + minLeafSize);
+        }
+        this.pool = pool;
+        this.minLeafSize = minLeafSize;
+    }
+
+    /** Runs on the common pool. */
+    public static ParallelAggregator common() {
+        return COMMON;
+    }
+
+    /** Number of elements below which a range is no longer split, for an input of {@code size}. */
+    public int leafSize(int size) {
+        if (pool.getParallelism() == 1) {
+            // Nobody to steal the other half: splitting would only add overhead
+            return Math.max(minLeafSize, size);
+        }
+        long leaves = (long) pool.getParallelism() * LEAVES_PER_WORKER;
+        return (int) Math.max(minLeafSize, (size + leaves - 1) / leaves);
+    }
+
+    public <R> R aggregate(int size, RangeAggregation<R> aggregation) {
+        int leafSize = leafSize(size);
+        if (size <= leafSize) {
+            return aggregation.compute(0, size);
+        }
+        return pool.invoke(new AggregationTask<>(aggregation, 0, size, leafSize));
+    }
+
+    // Sum
+
+    public long sum(int[] values) {
+        return aggregate(values.length, new RangeAggregation<Long>() {
+            public Long compute(int from, int to) {
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += values[i];
+                }
+                return sum;
+            }
+
+            public Long combine(Long left, Long right) {
+                return left + right;
+            }
+        });
+    }
+
+    public long sum(long[] values) {
+        return aggregate(values.length, new RangeAggregation<Long>() {
+            public Long compute(int from, int to) {
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += values[i];
+                }
+                return sum;
+            }
+
+            public Long combine(Long left, Long right) {
+                return left + right;
+            }
+        });
+    }
+
+    public double sum(double[] values) {
+        return aggregate(values.length, new RangeAggregation<Double>() {
+            public Double compute(int from, int to) {
+                double sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += values[i];
+                }
+                return sum;
+            }
+
+            public Double combine(Double left, Double right) {
+                return left + right;
+            }
+        });
+    }
+
+    public long sum(IntArrayList list) {
+        return aggregate(list.size(), new RangeAggregation<Long>() {
+            public Long compute(int from, int to) {
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += list.get(i);
+                }
+                return sum;
+            }
+
+            public Long combine(Long left, Long right) {
+                return left + right;
+            }
+        });
+    }
+
+    public long sum(LongArrayList list) {
+        return aggregate(list.size(), new RangeAggregation<Long>() {
+            public Long compute(int from, int to) {
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += list.get(i);
+                }
+                return sum;
+            }
+
+            public Long combine(Long left, Long right) {
+                return left + right;
+            }
+        });
+    }
+
+    // Min and max: empty for empty input
+
+    public OptionalInt min(int[] values) {
+        return values.length == 0 ? OptionalInt.empty() : OptionalInt.of(extreme(values, false));
+    }
+
+    public OptionalInt max(int[] values) {
+        return values.length == 0 ? OptionalInt.empty() : OptionalInt.of(extreme(values, true));
+    }
+
+    public OptionalLong min(long[] values) {
+        return values.length == 0 ? OptionalLong.empty() : OptionalLong.of(extreme(values, false));
+    }
+
+    public OptionalLong max(long[] values) {
+        return values.length == 0 ? OptionalLong.empty() : OptionalLong.of(extreme(values, true));
+    }
+
+    /** Follows {@link Math#min(double, double)}: NaN if any value is NaN. */
+    public OptionalDouble min(double[] values) {
+        return values.length == 0 ? OptionalDouble.empty() : OptionalDouble.of(extreme(values, false));
+    }
+
+    /** Follows {@link Math#max(double, double)}: NaN if any value is NaN. */
+    public OptionalDouble max(double[] values) {
+        return values.length == 0 ? OptionalDouble.empty() : OptionalDouble.of(extreme(values, true));
+    }
+
+    public OptionalInt min(IntArrayList list) {
+        return list.isEmpty() ? OptionalInt.empty() : OptionalInt.of(extreme(list, false));
+    }
+
+    public OptionalInt max(IntArrayList list) {
+        return list.isEmpty() ? OptionalInt.empty() : OptionalInt.of(extreme(list, true));
+    }
+
+    public OptionalLong min(LongArrayList list) {
+        return list.isEmpty() ? OptionalLong.empty() : OptionalLong.of(extreme(list, false));
+    }
+
+    public OptionalLong max(LongArrayList list) {
+        return list.isEmpty() ? OptionalLong.empty() : OptionalLong.of(extreme(list, true));
+    }
+
+    private int extreme(int[] values, boolean max) {
+        return aggregate(values.length, new RangeAggregation<Integer>() {
+            public Integer compute(int from, int to) {
+                int extreme = values[from];
+                for (int i = from + 1; i < to; i++) {
+                    extreme = max ? Math.max(extreme, values[i]) : Math.min(extreme, values[i]);
+                }
+                return extreme;
+            }
+
+            public Integer combine(Integer left, Integer right) {
+                return max ? Math.max(left, right) : Math.min(left, right);
+            }
+        });
+    }
+
+    private long extreme(long[] values, boolean max) {
+        return aggregate(values.length, new RangeAggregation<Long>() {
+            public Long compute(int from, int to) {
+                long extreme = values[from];
+                for (int i = from + 1; i < to; i++) {
+                    extreme = max ? Math.max(extreme, values[i]) : Math.min(extreme, values[i]);
+                }
+                return extreme;
+            }
+
+            public Long combine(Long left, Long right) {
+                return max ? Math.max(left, right) : Math.min(left, right);
+            }
+        });
+    }
+
+    private double extreme(double[] values, boolean max) {
+        return aggregate(values.length, new RangeAggregation<Double>() {
+            public Double compute(int from, int to) {
+                double extreme = values[from];
+                for (int i = from + 1; i < to; i++) {
+                    extreme = max ? Math.max(extreme, values[i]) : Math.min(extreme, values[i]);
+                }
+                return extreme;
+            }
+
+            public Double combine(Double left, Double right) {
+                return max ? Math.max(left, right) : Math.min(left, right);
+            }
+        });
+    }
+
+    private int extreme(IntArrayList list, boolean max) {
+        return aggregate(list.size(), new RangeAggregation<Integer>() {
+            public Integer compute(int from, int to) {
+                int extreme = list.get(from);
+                for (int i = from + 1; i < to; i++) {
+                    extreme = max ? Math.max(extreme, list.get(i)) : Math.min(extreme, list.get(i));
+                }
+                return extreme;
+            }
+
+            public Integer combine(Integer left, Integer right) {
+                return max ? Math.max(left, right) : Math.min(left, right);
+            }
+        });
+    }
+
+    private long extreme(LongArrayList list, boolean max) {
+        return aggregate(list.size(), new RangeAggregation<Long>() {
+            public Long compute(int from, int to) {
+                long extreme = list.get(from);
+                for (int i = from + 1; i < to; i++) {
+                    extreme = max ? Math.max(extreme, list.get(i)) : Math.min(extreme, list.get(i));
+                }
+                return extreme;
+            }
+
+            public Long combine(Long left, Long right) {
+                return max ? Math.max(left, right) : Math.min(left, right);
+            }
+        });
+    }
+
+    // Histograms: equal-width buckets over [from, to), values outside the range are not counted
+
+    public long[] histogram(int[] values, int from, int to, int buckets) {
+        checkHistogram(from < to, buckets);
+        long width = (long) to - from;
+        return aggregate(values.length, new HistogramAggregation(buckets) {
+            public long[] compute(int start, int end) {
+                long[] counts = new long[buckets];
+                for (int i = start; i < end; i++) {
+                    int value = values[i];
+                    if (value >= from && value < to) {
+                        counts[(int) ((value - (long) from) * buckets / width)]++;
+                    }
+                }
+                return counts;
+            }
+        });
+    }
+
+    public long[] histogram(long[] values, long from, long to, int buckets) {
+        checkHistogram(from < to, buckets);
+        double width = (double) to - from;
+        return aggregate(values.length, new HistogramAggregation(buckets) {
+            public long[] compute(int start, int end) {
+                long[] counts = new long[buckets];
+                for (int i = start; i < end; i++) {
+                    long value = values[i];
+                    if (value >= from && value < to) {
+                        counts[bucket((value - from) / width, buckets)]++;
+                    }
+                }
+                return counts;
+            }
+        });
+    }
+
+    /** NaN is never in range, so it is not counted. */
+    public long[] histogram(double[] values, double from, double to, int buckets) {
+        checkHistogram(from < to, buckets);
+        double width = to - from;
+        return aggregate(values.length, new HistogramAggregation(buckets) {
+            public long[] compute(int start, int end) {
+                long[] counts = new long[buckets];
+                for (int i = start; i < end; i++) {
+                    double value = values[i];
+                    if (value >= from && value < to) {
+                        counts[bucket((value - from) / width, buckets)]++;
+                    }
+                }
+                return counts;
+            }
+        });
+    }
+
+    private static void checkHistogram(boolean validRange, int buckets) {
+        if (!validRange) {
+            throw new IllegalArgumentException("Histogram range is empty");
+        }
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Histogram needs at least one bucket: " + buckets);
+        }
+    }
+
+    // Rounding can push a fraction just below 1 onto the bucket count itself
+    private static int bucket(double fraction, int buckets) {
+        return Math.min(buckets - 1, (int) (fraction * buckets));
+    }
+
+    private abstract static class HistogramAggregation implements RangeAggregation<long[]> {
+        private final int buckets;
+
+        HistogramAggregation(int buckets) {
+            this.buckets = buckets;
+        }
+
+        @Override
+        public long[] combine(long[] left, long[] right) {
+            for (int i = 0; i < buckets; i++) {
+                left[i] += right[i];
+            }
+            return left;
+        }
+    }
+
+    // Group-by: number of values per key
+
+    public IntIntHashMap countBy(int[] values, IntUnaryOperator key) {
+        return aggregate(values.length, new RangeAggregation<IntIntHashMap>() {
+            public IntIntHashMap compute(int from, int to) {
+                IntIntHashMap counts = new IntIntHashMap();
+                for (int i = from; i < to; i++) {
+                    counts.addTo(key.applyAsInt(values[i]), 1);
+                }
+                return counts;
+            }
+
+            public IntIntHashMap combine(IntIntHashMap left, IntIntHashMap right) {
+                // Fold the smaller map into the larger one
+                IntIntHashMap into = left.size() >= right.size() ? left : right;
+                (into == left ? right : left).forEach(into::addTo);
+                return into;
+            }
+        });
+    }
+
+    public LongLongHashMap countBy(long[] values, LongUnaryOperator key) {
+        return aggregate(values.length, new LongCountAggregation() {
+            public LongLongHashMap compute(int from, int to) {
+                LongLongHashMap counts = new LongLongHashMap();
+                for (int i = from; i < to; i++) {
+                    counts.addTo(key.applyAsLong(values[i]), 1);
+                }
+                return counts;
+            }
+        });
+    }
+
+    public LongLongHashMap countBy(double[] values, DoubleToLongFunction key) {
+        return aggregate(values.length, new LongCountAggregation() {
+            public LongLongHashMap compute(int from, int to) {
+                LongLongHashMap counts = new LongLongHashMap();
+                for (int i = from; i < to; i++) {
+                    counts.addTo(key.applyAsLong(values[i]), 1);
+                }
+                return counts;
+            }
+        });
+    }
+
+    private abstract static class LongCountAggregation implements RangeAggregation<LongLongHashMap> {
+        @Override
+        public LongLongHashMap combine(LongLongHashMap left, LongLongHashMap right) {
+            LongLongHashMap into = left.size() >= right.size() ? left : right;
+            (into == left ? right : left).forEach(into::addTo);
+            return into;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.gindix.collections.aggregate;
+
+/**
+ * An aggregation over the index range {@code [0, size)} that can be split: {@link #compute} reduces
+ * one sub-range sequentially, {@link #combine} merges the results of two adjacent sub-ranges (left
+ * before right). {@link ParallelAggregator#aggregate} decides how to split and which worker runs which
+ * range.
+ *
+ * {@code compute} is called once per leaf, not per element, so returning a boxed or freshly allocated
+ * result (a histogram, a map of groups) costs a handful of objects for the whole aggregation.
+ */
+public interface RangeAggregation<R> {
+
+    R compute(int from, int to);
+
+    R combine(R left, R right);
+}
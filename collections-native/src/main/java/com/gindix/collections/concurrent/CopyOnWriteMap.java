@@ -0,0 +1,120 @@
+package com.gindix.collections.concurrent;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * {@link ReadMostlyMap} that keeps its entries in an immutable {@code HashMap} behind a volatile
+ * reference. A read is one volatile load plus a plain {@code HashMap} lookup, the cheapest read there
+ * is; a write copies the map, changes the copy and swaps the reference. Writers take a lock so that
+ * concurrent writes do not copy for nothing and lose each other's changes.
+ *
+ * Every write costs O(n) time and garbage, so this fits tables that change a few times per second at
+ * most, or that are replaced wholesale with {@link #replaceContents}.
+ */
+public class CopyOnWriteMap<K, V> implements ReadMostlyMap<K, V> {
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Never Map.of(): its get(null) and containsKey(null) throw instead of reporting an absent key
+    private volatile Map<K, V> entries = Collections.unmodifiableMap(new HashMap<>());
+
+    public CopyOnWriteMap() {
+    }
+
+    public CopyOnWriteMap(Map<? extends K, ? extends V> initial) {
+        entries = immutableCopy(initial);
+    }
+
+    @Override
+    public V get(Object key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        Object[] previous = new Object[1];
+        update(copy -> previous[0] = copy.put(key, value));
+        @SuppressWarnings("unchecked")
+        V old = (V) previous[0];
+        return old;
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (key == null || !entries.containsKey(key)) {
+            return null;
+        }
+        Object[] previous = new Object[1];
+        update(copy -> previous[0] = copy.remove(key));
+        @SuppressWarnings("unchecked")
+        V old = (V) previous[0];
+        return old;
+    }
+
+    /** One copy for all entries, instead of one per entry. */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> added) {
+        checkEntries(added);
+        update(copy -> copy.putAll(added));
+    }
+
+    @Override
+    public void replaceContents(Map<? extends K, ? extends V> replacement) {
+        Map<K, V> fresh = immutableCopy(replacement);
+        writeLock.lock();
+        try {
+            entries = fresh;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** No copy needed: the current entries already are an immutable snapshot. */
+    @Override
+    public Map<K, V> snapshot() {
+        return entries;
+    }
+
+    private void update(Consumer<Map<K, V>> change) {
+        writeLock.lock();
+        try {
+            Map<K, V> copy = new HashMap<>(entries);
+            change.accept(copy);
+            entries = Collections.unmodifiableMap(copy);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static <K, V> Map<K, V> immutableCopy(Map<? extends K, ? extends V> entries) {
+        checkEntries(entries);
+        return Collections.unmodifiableMap(new HashMap<>(entries));
+    }
+
+    private static void checkEntries(Map<?, ?> entries) {
+        entries.forEach((key, value) -> {
+            Objects.requireNonNull(key, "key");
+            Objects.requireNonNull(value, "value");
+        });
+    }
+
+    @Override
+    public String toString() {
+        return entries.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.gindix.collections.concurrent;
+
+import java.util.Map;
+
+/**
+ * Thread-safe map for data that is read constantly and changed rarely, such as configuration or
+ * lookup tables, where readers should never block or write shared memory:
+ *
+ * <ul>
+ *   <li>{@link StampedLockMap} - reads are optimistic (no lock, no write to shared memory) and only
+ *       retry under a read lock if a write overlapped; writes are O(1)</li>
+ *   <li>{@link CopyOnWriteMap} - reads go to an immutable snapshot; writes copy the snapshot and swap
+ *       it in, O(n) each, but {@link #replaceContents} replaces everything at once</li>
+ * </ul>
+ *
+ * Null keys and values are not allowed; {@code get} returns null for absent keys.
+ */
+public interface ReadMostlyMap<K, V> {
+
+    V get(Object key);
+
+    default V getOrDefault(Object key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    default boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Returns the previous value, or null. */
+    V put(K key, V value);
+
+    /** Returns the removed value, or null. */
+    V remove(Object key);
+
+    void putAll(Map<? extends K, ? extends V> entries);
+
+    /** Replaces all entries with {@code entries} as one atomic change, e.g. after reloading a table. */
+    void replaceContents(Map<? extends K, ? extends V> entries);
+
+    /** Immutable copy of the current entries, consistent as of one point in time. */
+    Map<K, V> snapshot();
+}
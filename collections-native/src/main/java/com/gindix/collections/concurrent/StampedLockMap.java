@@ -0,0 +1,282 @@
+package com.gindix.collections.concurrent;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * {@link ReadMostlyMap} guarded by a {@link StampedLock}. Readers take an optimistic stamp, look the
+ * key up without locking and then validate the stamp: if no writer ran in between, the result stands,
+ * and the read never wrote to shared memory, so readers do not contend with each other the way they do
+ * on the reader count of a {@code ReentrantReadWriteLock}. Only a read that overlapped a write is
+ * repeated under the read lock.
+ *
+ * Entries live in one open-addressing table with keys and values interleaved ({@code [k0, v0, k1, v1,
+ * ...]}), so a hit touches one cache line and there are no entry objects for readers to chase. An
+ * optimistic reader may see the table half-way through a write, so lookups are bounded by the table
+ * size and exceptions thrown during an invalidated read are discarded. Removal shifts the following
+ * probe run back instead of leaving tombstones.
+ */
+public class StampedLockMap<K, V> implements ReadMostlyMap<K, V> {
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MIN_SLOTS = 8;
+    private static final int MAX_SLOTS = 1 << 29;
+
+    private final StampedLock lock = new StampedLock();
+    private Object[] table;
+    private int size;
+
+    public StampedLockMap() {
+        table = new Object[MIN_SLOTS * 2];
+    }
+
+    public StampedLockMap(Map<? extends K, ? extends V> initial) {
+        Map<?, ?> entries = Map.copyOf(initial);
+        table = buildTable(entries);
+        size = entries.size();
+    }
+
+    @Override
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Object value = find(table, key);
+                if (lock.validate(stamp)) {
+                    return cast(value);
+                }
+            } catch (RuntimeException e) {
+                // A torn read can fail in ways a consistent one cannot; only report real failures
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return cast(find(table, key));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int current = size;
+        if (lock.validate(stamp)) {
+            return current;
+        }
+        stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        long stamp = lock.writeLock();
+        try {
+            return cast(insert(key, value));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        long stamp = lock.writeLock();
+        try {
+            Object[] t = table;
+            int mask = t.length - 2;
+            for (int i = home(key, mask); t[i] != null; i = (i + 2) & mask) {
+                if (key.equals(t[i])) {
+                    Object previous = t[i + 1];
+                    shiftBack(t, i);
+                    size--;
+                    return cast(previous);
+                }
+            }
+            return null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        long stamp = lock.writeLock();
+        try {
+            entries.forEach((key, value) -> insert(Objects.requireNonNull(key, "key"),
+                    Objects.requireNonNull(value, "value")));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Builds the new table outside the lock; the write lock is only held for the swap. */
+    @Override
+    public void replaceContents(Map<? extends K, ? extends V> contents) {
+        Map<?, ?> entries = Map.copyOf(contents);
+        Object[] replacement = buildTable(entries);
+        long stamp = lock.writeLock();
+        try {
+            table = replacement;
+            size = entries.size();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Map<K, V> snapshot() {
+        long stamp = lock.readLock();
+        try {
+            Map<K, V> copy = new HashMap<>((int) (size / 0.75f) + 1);
+            Object[] t = table;
+            for (int i = 0; i < t.length; i += 2) {
+                if (t[i] != null) {
+                    copy.put(cast(t[i]), cast(t[i + 1]));
+                }
+            }
+            return Collections.unmodifiableMap(copy);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    // Probes at most every slot once: under an optimistic read the table may have no empty slot left
+    private static Object find(Object[] t, Object key) {
+        int mask = t.length - 2;
+        int i = home(key, mask);
+        for (int probes = t.length >> 1; probes > 0; probes--) {
+            Object k = t[i];
+            if (k == null) {
+                return null;
+            }
+            if (k == key || key.equals(k)) {
+                return t[i + 1];
+            }
+            i = (i + 2) & mask;
+        }
+        return null;
+    }
+
+    // Caller holds the write lock
+    private Object insert(Object key, Object value) {
+        Object[] t = table;
+        int mask = t.length - 2;
+        int i = home(key, mask);
+        Object k;
+        while ((k = t[i]) != null) {
+            if (key.equals(k)) {
+                Object previous = t[i + 1];
+                t[i + 1] = value;
+                return previous;
+            }
+            i = (i + 2) & mask;
+        }
+        if (size + 1 > (int) ((t.length >> 1) * LOAD_FACTOR)) {
+            // Fill the larger table completely before publishing it, so readers never see it half-built
+            Object[] grown = new Object[grow(t.length >> 1) * 2];
+            copyInto(t, grown);
+            place(grown, key, value);
+            table = grown;
+        } else {
+            t[i] = key;
+            t[i + 1] = value;
+        }
+        size++;
+        return null;
+    }
+
+    /**
+     * Backward-shift deletion over key slots: moves later entries of the probe run into the gap when
+     * the gap lies between their home slot and their current slot, then clears the last gap.
+     */
+    private static void shiftBack(Object[] t, int gap) {
+        int mask = t.length - 2;
+        int i = (gap + 2) & mask;
+        Object key;
+        while ((key = t[i]) != null) {
+            int home = home(key, mask);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                t[gap] = key;
+                t[gap + 1] = t[i + 1];
+                gap = i;
+            }
+            i = (i + 2) & mask;
+        }
+        t[gap] = null;
+        t[gap + 1] = null;
+    }
+
+    // Entries come from Map.copyOf: no nulls, and a size that cannot change while we build
+    private static Object[] buildTable(Map<?, ?> entries) {
+        Object[] t = new Object[slotsFor(entries.size()) * 2];
+        entries.forEach((key, value) -> place(t, key, value));
+        return t;
+    }
+
+    private static void copyInto(Object[] from, Object[] to) {
+        for (int i = 0; i < from.length; i += 2) {
+            if (from[i] != null) {
+                place(to, from[i], from[i + 1]);
+            }
+        }
+    }
+
+    // Insert into a table nobody else can see yet; keys are distinct
+    private static void place(Object[] t, Object key, Object value) {
+        int mask = t.length - 2;
+        int i = home(key, mask);
+        while (t[i] != null) {
+            i = (i + 2) & mask;
+        }
+        t[i] = key;
+        t[i + 1] = value;
+    }
+
+    // Even index of the key slot; the mask keeps the low bit clear
+    private static int home(Object key, int mask) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) << 1) & mask;
+    }
+
+    private static int slotsFor(int expected) {
+        long needed = (long) Math.ceil(expected / (double) LOAD_FACTOR) + 1;
+        if (needed > MAX_SLOTS) {
+            throw new IllegalArgumentException("Too many entries: " + expected);
+        }
+        return Math.max(MIN_SLOTS, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    private static int grow(int slots) {
+        if (slots >= MAX_SLOTS) {
+            throw new IllegalStateException("Map cannot grow beyond " + MAX_SLOTS + " slots");
+        }
+        return slots << 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+}
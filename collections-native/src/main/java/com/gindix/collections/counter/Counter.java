@@ -0,0 +1,26 @@
+package com.gindix.collections.counter;
+
+/**
+ * A long counter that many threads update and occasionally read, such as a request or error count.
+ * The implementations trade read cost and freshness for cheaper updates under contention:
+ *
+ * <ul>
+ *   <li>{@link StripedCounter} - atomic adds spread over padded cells, exact sum</li>
+ *   <li>{@link ThreadLocalCounter} - one cell per thread, updates without atomic instructions</li>
+ *   <li>{@link SnapshotCounter} - {@code LongAdder} plus exact per-interval deltas</li>
+ * </ul>
+ */
+public interface Counter {
+
+    default void increment() {
+        add(1);
+    }
+
+    void add(long delta);
+
+    /**
+     * The current total. Concurrent updates may or may not be included; once the updating threads
+     * have finished (e.g. after {@code join}), it is exact.
+     */
+    long sum();
+}
@@ -0,0 +1,57 @@
+package com.gindix.collections.counter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link LongAdder}-based counter that also reports exact per-interval deltas, e.g. for a metrics
+ * scrape or a periodic log line: every {@link #snapshot()} moves the adder's count into the running
+ * total with {@code sumThenReset()}, which swaps each cell to zero atomically, so every increment
+ * lands in exactly one snapshot's delta. A plain {@code LongAdder.sum()} polled twice cannot give
+ * that guarantee for the difference while updates are in flight.
+ */
+public class SnapshotCounter implements Counter {
+
+    /**
+     * @param total         count up to this snapshot
+     * @param delta         count since the previous snapshot (or since creation)
+     * @param intervalNanos time since the previous snapshot (or since creation)
+     */
+    public record Snapshot(long total, long delta, long intervalNanos) {
+        public double ratePerSecond() {
+            return intervalNanos > 0 ? delta * 1e9 / intervalNanos : 0.0;
+        }
+    }
+
+    private final LongAdder current = new LongAdder();
+    private volatile long total;
+    private long lastSnapshotNanos = System.nanoTime();
+
+    @Override
+    public void add(long delta) {
+        current.add(delta);
+    }
+
+    /**
+     * Total including the current interval. May briefly miss the interval being moved while a
+     * snapshot is taken concurrently; snapshots themselves are exact.
+     */
+    @Override
+    public long sum() {
+        return total + current.sum();
+    }
+
+    public synchronized Snapshot snapshot() {
+        long now = System.nanoTime();
+        long delta = current.sumThenReset();
+        long newTotal = total + delta;
+        total = newTotal;
+        Snapshot snapshot = new Snapshot(newTotal, delta, now - lastSnapshotNanos);
+        lastSnapshotNanos = now;
+        return snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+}
@@ -0,0 +1,73 @@
+package com.gindix.collections.counter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Counter striped over a fixed number of cells, each on its own cache line pair, with every thread
+ * adding to the cell its id hashes to. Threads on different cells never touch the same line, so
+ * increments scale with cores instead of serializing on one {@code AtomicLong}; {@link #sum()} reads
+ * all cells.
+ *
+ * Unlike {@code LongAdder}, the cell array is allocated up front and never grows, which keeps the
+ * update path a single atomic add, at the cost of {@code 128 bytes * stripes} even when uncontended.
+ */
+public class StripedCounter implements Counter {
+    // Longs between two cells: 128 bytes, so adjacent-line prefetching does not pair them up either
+    private static final int STRIDE = 16;
+    private static final VarHandle CELL = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] cells;
+    private final int mask;
+
+    /** Two stripes per available processor, rounded up to a power of two. */
+    public StripedCounter() {
+        this(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedCounter(int stripes) {
+        if (stripes < 1 || stripes > 1 << 16) {
+            throw new IllegalArgumentException("Stripes must be between 1 and 65536: " + stripes);
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        // One extra stride in front keeps the first cell away from the array header
+        this.cells = new long[(size + 1) * STRIDE];
+        this.mask = size - 1;
+    }
+
+    @Override
+    public void add(long delta) {
+        CELL.getAndAdd(cells, index(Thread.currentThread().threadId()), delta);
+    }
+
+    @Override
+    public long sum() {
+        long sum = 0;
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            sum += (long) CELL.getVolatile(cells, (stripe + 1) * STRIDE);
+        }
+        return sum;
+    }
+
+    /** Zeroes every cell. Adds racing with the reset may be kept or lost. */
+    public void reset() {
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            CELL.setVolatile(cells, (stripe + 1) * STRIDE, 0L);
+        }
+    }
+
+    public int stripes() {
+        return mask + 1;
+    }
+
+    private int index(long threadId) {
+        // Fibonacci hashing spreads consecutive thread ids over the stripes
+        int stripe = (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        return (stripe + 1) * STRIDE;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+}
@@ -0,0 +1,98 @@
+package com.gindix.collections.counter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counter where every thread accumulates into a cell only it writes, so an update is a plain add and
+ * a release store: no atomic instruction and no cache line shared with other writers. {@link #sum()}
+ * adds up all cells.
+ *
+ * Cells of threads that have ended are merged into a base value and dropped, on every {@code sum()}
+ * and periodically as new threads register, so thread churn does not grow the cell list without bound.
+ * Still, each thread pays a {@code ThreadLocal} lookup and a cell on first use, which suits long-lived
+ * pool threads rather than a fresh (virtual) thread per task.
+ */
+public class ThreadLocalCounter implements Counter {
+    private static final VarHandle VALUE;
+    // Registrations between two merges of ended threads' cells
+    private static final int MERGE_EVERY = 64;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Cell.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ThreadLocal<Cell> local = ThreadLocal.withInitial(this::register);
+    private final Queue<Cell> cells = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger registrations = new AtomicInteger();
+    // Total of merged cells; guarded by this
+    private long base;
+
+    @Override
+    public void add(long delta) {
+        Cell cell = local.get();
+        // Only the owner writes, so read-add-write cannot lose updates; release publishes it to sum()
+        VALUE.setRelease(cell, cell.value + delta);
+    }
+
+    @Override
+    public synchronized long sum() {
+        mergeEnded();
+        long sum = base;
+        for (Cell cell : cells) {
+            sum += (long) VALUE.getAcquire(cell);
+        }
+        return sum;
+    }
+
+    /** Number of live per-thread cells. */
+    public int cells() {
+        return cells.size();
+    }
+
+    private Cell register() {
+        Cell cell = new Cell(Thread.currentThread());
+        cells.add(cell);
+        if (registrations.incrementAndGet() % MERGE_EVERY == 0) {
+            synchronized (this) {
+                mergeEnded();
+            }
+        }
+        return cell;
+    }
+
+    // A thread's writes happen-before isAlive() returns false, so an ended thread's cell is final
+    private void mergeEnded() {
+        for (Iterator<Cell> it = cells.iterator(); it.hasNext(); ) {
+            Cell cell = it.next();
+            Thread owner = cell.owner.get();
+            if (owner == null || !owner.isAlive()) {
+                it.remove();
+                base += (long) VALUE.getAcquire(cell);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+
+    private static final class Cell {
+        final WeakReference<Thread> owner;
+        long value;
+
+        Cell(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.gindix.collections.parallel;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link IntRangeSpliterator} for the elements of an array: splits in halves aligned to
+ * {@code chunkSize} and never below it.
+ */
+final class ArraySpliterator<T> implements Spliterator<T> {
+    private final T[] array;
+    private int from;
+    private final int to;
+    private final int chunkSize;
+
+    ArraySpliterator(T[] array, int from, int to, int chunkSize) {
+        this.array = array;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int chunks = (to - from) / chunkSize;
+        if (chunks < 2) {
+            return null;
+        }
+        int mid = from + (chunks / 2) * chunkSize;
+        ArraySpliterator<T> prefix = new ArraySpliterator<>(array, from, mid, chunkSize);
+        from = mid;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (from >= to) {
+            return false;
+        }
+        action.accept(array[from++]);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        T[] elements = array;
+        int end = to;
+        for (int i = from; i < end; i++) {
+            action.accept(elements[i]);
+        }
+        from = end;
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
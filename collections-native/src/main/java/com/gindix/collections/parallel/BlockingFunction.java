@@ -0,0 +1,10 @@
+package com.gindix.collections.parallel;
+
+/**
+ * A function that blocks, e.g. a remote call or {@code Thread.sleep}; see {@link ParallelStreams#blocking}.
+ */
+@FunctionalInterface
+public interface BlockingFunction<T, R> {
+
+    R apply(T input) throws InterruptedException;
+}
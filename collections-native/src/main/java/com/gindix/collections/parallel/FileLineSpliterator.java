@@ -0,0 +1,158 @@
+package com.gindix.collections.parallel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Lines of a file by byte range: splitting picks the middle of the range and moves forward to the next
+ * line start, so both halves hold whole lines and no worker reads another's bytes. Each range is read
+ * with positional reads on one shared {@link FileChannel}. Chunks are never smaller than
+ * {@code chunkBytes}.
+ *
+ * Only for charsets in which a '\n' byte always is a line feed (UTF-8, US-ASCII, ISO-8859-1).
+ */
+final class FileLineSpliterator implements Spliterator<String> {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final Charset charset;
+    private final long chunkBytes;
+    private long start;
+    private final long end;
+    private BufferedReader reader;
+
+    FileLineSpliterator(FileChannel channel, Charset charset, long start, long end, long chunkBytes) {
+        this.channel = channel;
+        this.charset = charset;
+        this.start = start;
+        this.end = end;
+        this.chunkBytes = chunkBytes;
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        if (reader != null || end - start < 2 * chunkBytes) {
+            return null;
+        }
+        long lineStart = nextLineStart(start + (end - start) / 2);
+        if (lineStart <= start || lineStart >= end) {
+            return null;
+        }
+        FileLineSpliterator prefix = new FileLineSpliterator(channel, charset, start, lineStart, chunkBytes);
+        start = lineStart;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        String line = readLine();
+        if (line == null) {
+            return false;
+        }
+        action.accept(line);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super String> action) {
+        String line;
+        while ((line = readLine()) != null) {
+            action.accept(line);
+        }
+    }
+
+    /** Bytes left, not lines: the number of lines is unknown until they are read. */
+    @Override
+    public long estimateSize() {
+        return end - start;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    private String readLine() {
+        try {
+            if (reader == null) {
+                reader = new BufferedReader(new InputStreamReader(new RangeInputStream(start, end), charset), BUFFER_SIZE);
+            }
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Position just after the first '\n' at or after position - 1, or end if there is none before it
+    private long nextLineStart(long position) {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long offset = position - 1;
+        try {
+            while (offset < end) {
+                buffer.clear();
+                int read = channel.read(buffer, offset);
+                if (read <= 0) {
+                    return end;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        return offset + i + 1;
+                    }
+                }
+                offset += read;
+            }
+            return end;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The bytes {@code [position, end)} of the shared channel. */
+    private final class RangeInputStream extends InputStream {
+        private final ByteBuffer single = ByteBuffer.allocate(1);
+        private long position;
+        private final long limit;
+
+        RangeInputStream(long position, long limit) {
+            this.position = position;
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            single.clear();
+            return read(single) == 1 ? single.get(0) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            return read(ByteBuffer.wrap(bytes, offset, length));
+        }
+
+        private int read(ByteBuffer buffer) throws IOException {
+            long remaining = limit - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            if (buffer.remaining() > remaining) {
+                buffer.limit(buffer.position() + (int) remaining);
+            }
+            int read = channel.read(buffer, position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.gindix.collections.parallel;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Spliterator over {@code [from, to)} that splits in halves aligned to {@code chunkSize} and never
+ * below it, so every leaf task of a parallel stream gets whole chunks of at least that many elements
+ * (for example one chunk per cache-sized block, or per batch of a remote call).
+ */
+final class IntRangeSpliterator implements Spliterator.OfInt {
+    private int from;
+    private final int to;
+    private final int chunkSize;
+
+    IntRangeSpliterator(int from, int to, int chunkSize) {
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public OfInt trySplit() {
+        long chunks = ((long) to - from) / chunkSize;
+        if (chunks < 2) {
+            return null;
+        }
+        int mid = (int) (from + (chunks / 2) * chunkSize);
+        IntRangeSpliterator prefix = new IntRangeSpliterator(from, mid, chunkSize);
+        from = mid;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (from >= to) {
+            return false;
+        }
+        action.accept(from++);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        int end = to;
+        for (int i = from; i < end; i++) {
+            action.accept(i);
+        }
+        from = end;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.max(0, (long) to - from);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE | DISTINCT | SORTED;
+    }
+
+    // Natural order
+    @Override
+    public Comparator<? super Integer> getComparator() {
+        return null;
+    }
+}
@@ -0,0 +1,170 @@
+package com.gindix.collections.parallel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Tuning for parallel streams, which by default all share the common pool, split their source however
+ * its spliterator likes, and stall a worker for every blocking call:
+ *
+ * <ul>
+ *   <li>{@link #newPool} and {@link #run} - run a stream in a dedicated pool of a chosen size. A
+ *       parallel stream's terminal operation forks its tasks into the pool of the thread that runs it,
+ *       so running it inside a task of another pool moves the whole stream there.</li>
+ *   <li>{@link #blocking} - wraps a blocking call in a {@link ForkJoinPool.ManagedBlocker}, so the pool
+ *       can add a compensating worker while the call blocks instead of running out of workers</li>
+ *   <li>{@link #range}, {@link #stream(Object[], int)} and {@link #lines} - sources that split into
+ *       chunks of at least a given size (elements, or bytes at line boundaries for files)</li>
+ * </ul>
+ */
+public final class ParallelStreams {
+    private static final Set<Charset> LINE_SPLITTABLE_CHARSETS =
+            Set.of(StandardCharsets.UTF_8, StandardCharsets.US_ASCII, StandardCharsets.ISO_8859_1);
+
+    private ParallelStreams() {
+    }
+
+    /** A pool of {@code parallelism} workers named {@code name-worker-N}. */
+    public static ForkJoinPool newPool(String name, int parallelism) {
+        // The pool index is only assigned once a worker starts, so count workers here
+        AtomicInteger workers = new AtomicInteger();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            worker.setName(name + "-worker-" + workers.getAndIncrement());
+            return worker;
+        }, null, false);
+    }
+
+    /**
+     * Runs {@code pipeline}, typically a parallel stream up to its terminal operation, inside
+     * {@code pool} and waits for the result. Exceptions thrown by the pipeline are rethrown as they are.
+     */
+    public static <T> T run(ForkJoinPool pool, Supplier<T> pipeline) {
+        ForkJoinTask<T> task = pool.submit(pipeline::get);
+        try {
+            return task.join();
+        } catch (RuntimeException e) {
+            // join() may rethrow a copy made in this thread, with the original exception as its cause
+            if (e.getCause() instanceof RuntimeException cause && cause.getClass() == e.getClass()) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public static void run(ForkJoinPool pool, Runnable pipeline) {
+        run(pool, () -> {
+            pipeline.run();
+            return null;
+        });
+    }
+
+    /**
+     * {@code call} as a function that tells the fork-join pool it is about to block. In a worker thread
+     * the pool may start a spare worker for the duration of the call, so the other stream tasks keep
+     * running; elsewhere the call simply runs. If the call is interrupted, the interrupt flag is
+     * restored and a {@link CompletionException} is thrown.
+     */
+    public static <T, R> Function<T, R> blocking(BlockingFunction<? super T, ? extends R> call) {
+        return input -> {
+            BlockingCall<T, R> blocker = new BlockingCall<>(call, input);
+            try {
+                ForkJoinPool.managedBlock(blocker);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            return blocker.result;
+        };
+    }
+
+    /** {@code [from, to)}, split into chunks of at least {@code chunkSize} values. */
+    public static IntStream range(int from, int to, int chunkSize) {
+        checkChunkSize(chunkSize);
+        return StreamSupport.intStream(new IntRangeSpliterator(from, Math.max(from, to), chunkSize), true);
+    }
+
+    /** The elements of {@code array}, split into chunks of at least {@code chunkSize} elements. */
+    public static <T> Stream<T> stream(T[] array, int chunkSize) {
+        checkChunkSize(chunkSize);
+        return StreamSupport.stream(new ArraySpliterator<>(array, 0, array.length, chunkSize), true);
+    }
+
+    /**
+     * Lines of {@code file}, split into byte ranges of at least {@code chunkBytes} that start and end
+     * at line boundaries. Unlike {@code Files.lines}, every worker reads its own range with positional
+     * reads. The file stays open until the stream is closed, so use it in try-with-resources.
+     */
+    public static Stream<String> lines(Path file, Charset charset, long chunkBytes) {
+        if (!LINE_SPLITTABLE_CHARSETS.contains(charset)) {
+            throw new IllegalArgumentException("Cannot split " + charset + " at line feed bytes");
+        }
+        if (chunkBytes < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkBytes);
+        }
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                FileLineSpliterator lines = new FileLineSpliterator(channel, charset, 0, channel.size(), chunkBytes);
+                return StreamSupport.stream(lines, true).onClose(() -> {
+                    try {
+                        channel.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void checkChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+    }
+
+    private static final class BlockingCall<T, R> implements ForkJoinPool.ManagedBlocker {
+        private final BlockingFunction<? super T, ? extends R> call;
+        private final T input;
+        private R result;
+        private boolean done;
+
+        BlockingCall(BlockingFunction<? super T, ? extends R> call, T input) {
+            this.call = call;
+            this.input = input;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            result = call.apply(input);
+            done = true;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return done;
+        }
+    }
+}
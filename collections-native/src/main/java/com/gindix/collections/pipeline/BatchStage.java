@@ -0,0 +1,102 @@
+package com.gindix.collections.pipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects items into batches of {@code batchSize}, or fewer once the oldest item has waited
+ * {@code maxWait}, and runs each batch as one unit of an inner {@link Stage}, so the batch function gets
+ * the in-flight limit, timeout and metrics of any other stage. Every item still gets its own result:
+ * the batch function returns one output per input, in order.
+ */
+final class BatchStage<T, R> {
+    private final int batchSize;
+    private final Executor flushTimer;
+    private final Stage<List<T>, List<R>> calls;
+
+    private final Object lock = new Object();
+    private List<T> inputs;
+    private List<CompletableFuture<R>> results;
+    private long generation;
+
+    BatchStage(String name, StageOptions options, int batchSize, Duration maxWait,
+               Function<? super List<T>, ? extends List<R>> function) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        // Runs the flush on the timer thread itself; a flush only hands the batch to the stage queue
+        this.flushTimer = CompletableFuture.delayedExecutor(maxWait.toNanos(), TimeUnit.NANOSECONDS, Runnable::run);
+        this.calls = new Stage<>(name, options, function);
+        reset();
+    }
+
+    CompletableFuture<R> apply(T input) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        List<T> fullInputs = null;
+        List<CompletableFuture<R>> fullResults = null;
+        synchronized (lock) {
+            inputs.add(input);
+            results.add(result);
+            if (inputs.size() == batchSize) {
+                fullInputs = inputs;
+                fullResults = results;
+                reset();
+            } else if (inputs.size() == 1) {
+                long batch = generation;
+                flushTimer.execute(() -> flush(batch));
+            }
+        }
+        if (fullInputs != null) {
+            run(fullInputs, fullResults);
+        }
+        return result;
+    }
+
+    Stage<List<T>, List<R>> stage() {
+        return calls;
+    }
+
+    // Flushes the batch the timer was started for, unless it already went out full
+    private void flush(long batch) {
+        List<T> pendingInputs;
+        List<CompletableFuture<R>> pendingResults;
+        synchronized (lock) {
+            if (batch != generation || inputs.isEmpty()) {
+                return;
+            }
+            pendingInputs = inputs;
+            pendingResults = results;
+            reset();
+        }
+        run(pendingInputs, pendingResults);
+    }
+
+    private void run(List<T> batchInputs, List<CompletableFuture<R>> batchResults) {
+        calls.apply(batchInputs).whenComplete((outputs, error) -> {
+            if (error == null && outputs.size() != batchResults.size()) {
+                error = new IllegalStateException("Batch function returned " + outputs.size()
+                        + " results for " + batchResults.size() + " inputs");
+            }
+            for (int i = 0; i < batchResults.size(); i++) {
+                if (error == null) {
+                    batchResults.get(i).complete(outputs.get(i));
+                } else {
+                    batchResults.get(i).completeExceptionally(error);
+                }
+            }
+        });
+    }
+
+    // Caller holds the lock
+    private void reset() {
+        inputs = new ArrayList<>(batchSize);
+        results = new ArrayList<>(batchSize);
+        generation++;
+    }
+}
@@ -0,0 +1,149 @@
+package com.gindix.collections.pipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Staged asynchronous pipeline on {@link CompletableFuture}s, where {@code supplyAsync} alone has no
+ * bounds: every stage runs on its own executor with its own in-flight limit and timeout (see
+ * {@link StageOptions}), and the pipeline as a whole admits at most {@code maxInFlight} items, so
+ * {@link #submit} blocks producers once the pipeline is full instead of letting queues grow.
+ *
+ * <ul>
+ *   <li>{@link Builder#map} - one call per item</li>
+ *   <li>{@link Builder#fanOut} - splits an item into parts, runs the parts concurrently and gathers
+ *       their results in order</li>
+ *   <li>{@link Builder#batch} - groups items into batches for one call, e.g. a bulk lookup</li>
+ * </ul>
+ *
+ * A pipeline is safe to submit to from many threads at once (fan-in). A failed or timed-out item
+ * fails its own future and skips the remaining stages; other items are not affected. {@link #stats()}
+ * reports queue depth, in-flight calls and latency per stage.
+ *
+ * <pre>
+ * Pipeline&lt;String, Integer&gt; pipeline = Pipeline.&lt;String&gt;builder()
+ *         .map("fetch", StageOptions.of(ioExecutor, 32, Duration.ofSeconds(1)), client::fetch)
+ *         .map("parse", StageOptions.of(cpuExecutor, 4, Duration.ofMillis(100)), Parser::parse)
+ *         .build(64);
+ * </pre>
+ */
+public final class Pipeline<I, O> {
+    private final Function<I, CompletableFuture<O>> chain;
+    private final List<Stage<?, ?>> stages;
+    private final int maxInFlight;
+    private final Semaphore admitted;
+
+    private Pipeline(Function<I, CompletableFuture<O>> chain, List<Stage<?, ?>> stages, int maxInFlight) {
+        this.chain = chain;
+        this.stages = List.copyOf(stages);
+        this.maxInFlight = maxInFlight;
+        this.admitted = new Semaphore(maxInFlight);
+    }
+
+    public static <T> Builder<T, T> builder() {
+        return new Builder<>(CompletableFuture::completedFuture, List.of());
+    }
+
+    /** Runs {@code input} through all stages, first waiting while the pipeline is full. */
+    public CompletableFuture<O> submit(I input) throws InterruptedException {
+        admitted.acquire();
+        CompletableFuture<O> result;
+        try {
+            result = chain.apply(input);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, error) -> admitted.release());
+        return result;
+    }
+
+    /**
+     * Submits every input in order, blocking as {@link #submit} does, and completes with the outputs in
+     * input order, or exceptionally with the first failure once all items are done.
+     */
+    public CompletableFuture<List<O>> submitAll(Collection<? extends I> inputs) throws InterruptedException {
+        List<CompletableFuture<O>> results = new ArrayList<>(inputs.size());
+        for (I input : inputs) {
+            results.add(submit(input));
+        }
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> results.stream().map(CompletableFuture::join).toList());
+    }
+
+    /** Items submitted and not yet completed. */
+    public int inFlight() {
+        return maxInFlight - admitted.availablePermits();
+    }
+
+    public List<StageStats> stats() {
+        return stages.stream().map(Stage::stats).toList();
+    }
+
+    /**
+     * Immutable builder: every stage method returns a new builder whose output type is the stage's.
+     */
+    public static final class Builder<I, T> {
+        private final Function<I, CompletableFuture<T>> chain;
+        private final List<Stage<?, ?>> stages;
+
+        private Builder(Function<I, CompletableFuture<T>> chain, List<Stage<?, ?>> stages) {
+            this.chain = chain;
+            this.stages = stages;
+        }
+
+        public <R> Builder<I, R> map(String name, StageOptions options, Function<? super T, ? extends R> function) {
+            Stage<T, R> stage = new Stage<>(name, options, function);
+            return then(stage::apply, stage);
+        }
+
+        /**
+         * Splits each item with {@code split} and runs {@code work} on every part as a unit of this stage,
+         * so the parts of one item run concurrently up to the stage limit. Completes with the part
+         * results in split order, or fails if any part fails.
+         */
+        public <P, R> Builder<I, List<R>> fanOut(String name, StageOptions options,
+                                                 Function<? super T, ? extends List<? extends P>> split,
+                                                 Function<? super P, ? extends R> work) {
+            Stage<P, R> stage = new Stage<>(name, options, work);
+            return then(value -> {
+                List<CompletableFuture<R>> parts = new ArrayList<>();
+                for (P part : split.apply(value)) {
+                    parts.add(stage.apply(part));
+                }
+                return CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0]))
+                        .thenApply(done -> parts.stream().map(CompletableFuture::join).toList());
+            }, stage);
+        }
+
+        /**
+         * Groups items into batches of up to {@code batchSize}, sending a partial batch once its oldest
+         * item has waited {@code maxWait}. {@code function} must return one result per input, in order.
+         * The stage limit and timeout apply per batch.
+         */
+        public <R> Builder<I, R> batch(String name, StageOptions options, int batchSize, Duration maxWait,
+                                       Function<? super List<T>, ? extends List<R>> function) {
+            BatchStage<T, R> stage = new BatchStage<>(name, options, batchSize, maxWait, function);
+            return then(stage::apply, stage.stage());
+        }
+
+        /** At most {@code maxInFlight} items in the pipeline at once; {@link #submit} blocks beyond that. */
+        public Pipeline<I, T> build(int maxInFlight) {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("A pipeline needs at least one item in flight: " + maxInFlight);
+            }
+            return new Pipeline<>(chain, stages, maxInFlight);
+        }
+
+        private <R> Builder<I, R> then(Function<? super T, ? extends CompletableFuture<R>> step, Stage<?, ?> stage) {
+            List<Stage<?, ?>> next = new ArrayList<>(stages);
+            next.add(stage);
+            Function<I, CompletableFuture<T>> previous = chain;
+            return new Builder<>(input -> previous.apply(input).thenCompose(step), List.copyOf(next));
+        }
+    }
+}
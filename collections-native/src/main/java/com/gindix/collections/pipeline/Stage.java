@@ -0,0 +1,120 @@
+package com.gindix.collections.pipeline;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * One bounded stage: calls {@code function} on the stage executor with at most
+ * {@link StageOptions#maxInFlight()} calls running; further units wait in a lock-free queue and are
+ * started by whichever call finishes next. The slot is released when the call returns, not when its
+ * unit times out, so a hung call keeps its slot and a slow dependency cannot pile up unbounded work.
+ */
+final class Stage<T, R> {
+    private final String name;
+    private final StageOptions options;
+    private final Function<? super T, ? extends R> function;
+
+    private final Queue<Unit<T, R>> queue = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() walks the queue, so the depth is tracked separately
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger maxQueued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder serviceNanos = new LongAdder();
+    private final AtomicLong maxServiceNanos = new AtomicLong();
+
+    Stage(String name, StageOptions options, Function<? super T, ? extends R> function) {
+        this.name = name;
+        this.options = options;
+        this.function = function;
+    }
+
+    CompletableFuture<R> apply(T input) {
+        Unit<T, R> unit = new Unit<>(input, new CompletableFuture<>(), System.nanoTime());
+        queue.add(unit);
+        maxQueued.accumulateAndGet(queued.incrementAndGet(), Math::max);
+        dispatch();
+        return unit.result;
+    }
+
+    StageStats stats() {
+        long calls = completed.sum() + failed.sum();
+        long starts = started.sum();
+        return new StageStats(name, queued.get(), maxQueued.get(), inFlight.get(), completed.sum(), failed.sum(),
+                timedOut.sum(),
+                starts == 0 ? 0 : waitNanos.sum() / 1e6 / starts,
+                calls == 0 ? 0 : serviceNanos.sum() / 1e6 / calls,
+                maxServiceNanos.get() / 1e6);
+    }
+
+    // Starts queued units while slots are free. Called after every enqueue and every finished call, so
+    // a unit enqueued while all slots were taken is picked up by the call that frees the next one.
+    private void dispatch() {
+        while (!queue.isEmpty()) {
+            int running = inFlight.get();
+            if (running >= options.maxInFlight()) {
+                return;
+            }
+            if (!inFlight.compareAndSet(running, running + 1)) {
+                continue;
+            }
+            Unit<T, R> unit = queue.poll();
+            if (unit == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            start(unit);
+        }
+    }
+
+    private void start(Unit<T, R> unit) {
+        long start = System.nanoTime();
+        started.increment();
+        waitNanos.add(start - unit.enqueuedNanos);
+        unit.result.orTimeout(options.timeout().toNanos(), TimeUnit.NANOSECONDS).whenComplete((value, error) -> {
+            if (error instanceof TimeoutException) {
+                timedOut.increment();
+            }
+        });
+
+        CompletableFuture<R> call;
+        try {
+            call = CompletableFuture.supplyAsync(() -> function.apply(unit.input), options.executor());
+        } catch (RejectedExecutionException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((value, error) -> {
+            long service = System.nanoTime() - start;
+            serviceNanos.add(service);
+            maxServiceNanos.accumulateAndGet(service, Math::max);
+            inFlight.decrementAndGet();
+            if (error == null) {
+                completed.increment();
+                unit.result.complete(value);
+            } else {
+                failed.increment();
+                unit.result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+            dispatch();
+        });
+    }
+
+    private record Unit<T, R>(T input, CompletableFuture<R> result, long enqueuedNanos) {
+    }
+}
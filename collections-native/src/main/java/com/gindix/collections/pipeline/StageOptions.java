@@ -0,0 +1,36 @@
+package com.gindix.collections.pipeline;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * How one pipeline stage runs: on which executor, with how many calls in flight at most, and how long
+ * one call may take before its item fails with a {@link java.util.concurrent.TimeoutException}. Items
+ * beyond {@code maxInFlight} wait in the stage's queue.
+ */
+public record StageOptions(Executor executor, int maxInFlight, Duration timeout) {
+
+    public StageOptions {
+        Objects.requireNonNull(executor, "executor");
+        Objects.requireNonNull(timeout, "timeout");
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("A stage needs at least one call in flight: " + maxInFlight);
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+    }
+
+    public static StageOptions of(Executor executor, int maxInFlight, Duration timeout) {
+        return new StageOptions(executor, maxInFlight, timeout);
+    }
+
+    public StageOptions withMaxInFlight(int maxInFlight) {
+        return new StageOptions(executor, maxInFlight, timeout);
+    }
+
+    public StageOptions withTimeout(Duration timeout) {
+        return new StageOptions(executor, maxInFlight, timeout);
+    }
+}
@@ -0,0 +1,17 @@
+package com.gindix.collections.pipeline;
+
+/**
+ * Point-in-time metrics of one stage. A unit is one call of the stage function: an item, a fanned-out
+ * part or a batch. Wait is the time a unit spent queued for a slot, service the time its call took.
+ */
+public record StageStats(String stage, int queued, int maxQueued, int inFlight, long completed, long failed,
+                         long timedOut, double meanWaitMillis, double meanServiceMillis, double maxServiceMillis) {
+
+    @Override
+    public String toString() {
+        return String.format("%-12s queued %3d (max %3d), in flight %2d, done %5d, failed %3d, timed out %3d, "
+                        + "wait %6.1f ms, service %6.1f ms (max %6.1f ms)",
+                stage, queued, maxQueued, inFlight, completed, failed, timedOut,
+                meanWaitMillis, meanServiceMillis, maxServiceMillis);
+    }
+}
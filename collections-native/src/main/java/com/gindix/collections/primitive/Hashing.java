@@ -0,0 +1,50 @@
+package com.gindix.collections.primitive;
+
+/**
+ * Shared sizing and hashing for the open-addressing collections.
+ */
+final class Hashing {
+    static final float LOAD_FACTOR = 0.75f;
+    static final int MIN_CAPACITY = 4;
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private Hashing() {
+    }
+
+    /**
+     * Spreads the bits of a key, so sequential or strided keys do not form long probe runs with the
+     * power-of-two mask (fibonacci hashing, then the high half folded into the low half).
+     */
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /** Smallest power-of-two table that holds {@code expected} entries below the load factor. */
+    static int tableSize(int expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expected);
+        }
+        long needed = (long) Math.ceil(expected / (double) LOAD_FACTOR) + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size too large: " + expected);
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    static int resizeAt(int tableSize) {
+        return (int) (tableSize * LOAD_FACTOR);
+    }
+
+    static int grow(int tableSize) {
+        if (tableSize >= MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+        return tableSize << 1;
+    }
+}
@@ -0,0 +1,150 @@
+package com.gindix.collections.primitive;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Double-ended queue of ints in a circular {@code int[]} with a power-of-two capacity, so wrapping is
+ * a mask instead of a branch. Usable as a FIFO queue ({@code addLast}/{@code removeFirst}) or a stack
+ * ({@code addFirst}/{@code removeFirst}). Since there is no null to return, removing from an empty
+ * deque throws, like {@link java.util.ArrayDeque#removeFirst()}.
+ */
+public class IntArrayDeque {
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] elements;
+    private int head;
+    private int size;
+
+    public IntArrayDeque() {
+        this(16);
+    }
+
+    public IntArrayDeque(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+        }
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, initialCapacity) - 1) << 1);
+        elements = new int[capacity];
+    }
+
+    public void addFirst(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = value;
+        size++;
+    }
+
+    public void addLast(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    public int removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("Deque is empty");
+        }
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    public int removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("Deque is empty");
+        }
+        size--;
+        return elements[(head + size) & (elements.length - 1)];
+    }
+
+    public int getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("Deque is empty");
+        }
+        return elements[head];
+    }
+
+    public int getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("Deque is empty");
+        }
+        return elements[(head + size - 1) & (elements.length - 1)];
+    }
+
+    /** The element {@code index} positions from the head. */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return elements[(head + index) & (elements.length - 1)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Empties the deque, keeping its capacity. */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /** Head to tail. */
+    public int[] toArray() {
+        int[] array = new int[size];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, array, 0, firstPart);
+        System.arraycopy(elements, 0, array, firstPart, size - firstPart);
+        return array;
+    }
+
+    /** Head to tail. */
+    public void forEach(IntConsumer action) {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[(head + i) & mask]);
+        }
+    }
+
+    /** Head to tail. */
+    public IntCursor cursor() {
+        return new IntCursor() {
+            private int index = -1;
+
+            @Override
+            public boolean advance() {
+                return ++index < size;
+            }
+
+            @Override
+            public int value() {
+                return elements[(head + index) & (elements.length - 1)];
+            }
+        };
+    }
+
+    // Doubles the buffer and unwraps the contents to start at index 0
+    private void grow() {
+        if (elements.length >= 1 << 30) {
+            throw new IllegalStateException("Deque cannot grow beyond " + (1 << 30) + " elements");
+        }
+        elements = Arrays.copyOf(toArray(), elements.length << 1);
+        head = 0;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,20 @@
+package com.gindix.collections.primitive;
+
+/**
+ * Forward cursor over int values. Unlike an {@code Iterator<Integer>}, nothing is boxed:
+ *
+ * <pre>
+ * for (IntCursor c = list.cursor(); c.advance(); ) {
+ *     sum += c.value();
+ * }
+ * </pre>
+ *
+ * The collection must not be modified while a cursor is in use.
+ */
+public interface IntCursor {
+    /** Moves to the next value; false when there is none. */
+    boolean advance();
+
+    /** The current value, valid after {@link #advance()} returned true. */
+    int value();
+}
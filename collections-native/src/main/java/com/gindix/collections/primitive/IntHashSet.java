@@ -0,0 +1,218 @@
+package com.gindix.collections.primitive;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Open-addressing hash set of ints, laid out like {@link IntIntHashMap} without the value table.
+ */
+public class IntHashSet {
+    private int[] keys;
+    private int mask;
+    private int assigned;
+    private int resizeAt;
+    private boolean hasZero;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    /** Sized to hold {@code expectedSize} values without resizing. */
+    public IntHashSet(int expectedSize) {
+        allocate(Hashing.tableSize(expectedSize));
+    }
+
+    public static IntHashSet of(int... values) {
+        IntHashSet set = new IntHashSet(values.length);
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    /** Adds {@code value}; false if it was already present. */
+    public boolean add(int value) {
+        if (value == 0) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int slot = Hashing.mix(value) & mask;
+        int existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = value;
+        if (++assigned > resizeAt) {
+            rehash(Hashing.grow(keys.length));
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value == 0) {
+            return hasZero;
+        }
+        int slot = Hashing.mix(value) & mask;
+        int existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /** Removes {@code value}; false if it was not present. */
+    public boolean remove(int value) {
+        if (value == 0) {
+            boolean had = hasZero;
+            hasZero = false;
+            return had;
+        }
+        int slot = Hashing.mix(value) & mask;
+        int existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == value) {
+                shiftBack(slot);
+                assigned--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return assigned + (hasZero ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Empties the set, keeping its capacity. */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        assigned = 0;
+        hasZero = false;
+    }
+
+    public int[] toArray() {
+        int[] array = new int[size()];
+        int i = 0;
+        if (hasZero) {
+            array[i++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                array[i++] = key;
+            }
+        }
+        return array;
+    }
+
+    public void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /** Values in table order; 0, if present, comes first. */
+    public IntCursor cursor() {
+        return new IntCursor() {
+            private int slot = hasZero ? -2 : -1;
+            private int value;
+
+            @Override
+            public boolean advance() {
+                if (slot == -2) {
+                    slot = -1;
+                    value = 0;
+                    return true;
+                }
+                while (++slot < keys.length) {
+                    if (keys[slot] != 0) {
+                        value = keys[slot];
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public int value() {
+                return value;
+            }
+        };
+    }
+
+    // See IntIntHashMap.shiftBack
+    private void shiftBack(int gap) {
+        int slot = (gap + 1) & mask;
+        int key;
+        while ((key = keys[slot]) != 0) {
+            int home = Hashing.mix(key) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = key;
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = 0;
+    }
+
+    private void rehash(int tableSize) {
+        int[] oldKeys = keys;
+        allocate(tableSize);
+        for (int key : oldKeys) {
+            if (key != 0) {
+                int slot = Hashing.mix(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new int[tableSize];
+        mask = tableSize - 1;
+        resizeAt = Hashing.resizeAt(tableSize);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IntHashSet other) || other.size() != size()) return false;
+        for (IntCursor c = cursor(); c.advance(); ) {
+            if (!other.contains(c.value())) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // Sum of the values, like Set.hashCode, so it does not depend on table order
+        int hash = 0;
+        for (int key : keys) {
+            hash += key;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,9 @@
+package com.gindix.collections.primitive;
+
+/**
+ * {@code BiConsumer<Integer, Integer>} without the boxing.
+ */
+@FunctionalInterface
+public interface IntIntConsumer {
+    void accept(int key, int value);
+}
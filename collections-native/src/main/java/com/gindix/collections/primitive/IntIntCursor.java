@@ -0,0 +1,13 @@
+package com.gindix.collections.primitive;
+
+/**
+ * Cursor over the entries of an {@link IntIntHashMap}; see {@link IntCursor}.
+ */
+public interface IntIntCursor {
+    /** Moves to the next entry; false when there is none. */
+    boolean advance();
+
+    int key();
+
+    int value();
+}
@@ -0,0 +1,12 @@
+package com.gindix.collections.primitive;
+
+/**
+ * Forward cursor over long values; see {@link IntCursor}.
+ */
+public interface LongCursor {
+    /** Moves to the next value; false when there is none. */
+    boolean advance();
+
+    /** The current value, valid after {@link #advance()} returned true. */
+    long value();
+}
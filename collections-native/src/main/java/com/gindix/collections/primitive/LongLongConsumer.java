@@ -0,0 +1,9 @@
+package com.gindix.collections.primitive;
+
+/**
+ * {@code BiConsumer<Long, Long>} without the boxing.
+ */
+@FunctionalInterface
+public interface LongLongConsumer {
+    void accept(long key, long value);
+}
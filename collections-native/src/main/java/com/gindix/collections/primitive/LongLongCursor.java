@@ -0,0 +1,13 @@
+package com.gindix.collections.primitive;
+
+/**
+ * Cursor over the entries of a {@link LongLongHashMap}; see {@link IntCursor}.
+ */
+public interface LongLongCursor {
+    /** Moves to the next entry; false when there is none. */
+    boolean advance();
+
+    long key();
+
+    long value();
+}
@@ -0,0 +1,252 @@
+package com.gindix.collections.primitive;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from long to long with linear probing: keys and values live in two parallel
+ * {@code long[]} tables, so there are no entry objects and no boxing. Key 0 marks an empty slot and is
+ * stored separately. Removal shifts the following probe run back instead of leaving tombstones, so
+ * lookups never slow down after many removals.
+ */
+public class LongLongHashMap {
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int assigned;
+    private int resizeAt;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongHashMap() {
+        this(16);
+    }
+
+    /** Sized to hold {@code expectedSize} entries without resizing. */
+    public LongLongHashMap(int expectedSize) {
+        allocate(Hashing.tableSize(expectedSize));
+    }
+
+    /** Associates {@code value} with {@code key}, returning the previous value or 0. */
+    public long put(long key, long value) {
+        if (key == 0) {
+            long previous = zeroValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+        int slot = Hashing.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insert(slot, key, value);
+        return 0;
+    }
+
+    /**
+     * Adds {@code delta} to the value of {@code key} (absent keys start at 0) and returns the new
+     * value: a counter update in one probe, where a boxed map needs {@code merge} and a new Long.
+     */
+    public long addTo(long key, long delta) {
+        if (key == 0) {
+            hasZeroKey = true;
+            return zeroValue += delta;
+        }
+        int slot = Hashing.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insert(slot, key, delta);
+        return delta;
+    }
+
+    public long get(long key) {
+        return getOrDefault(key, 0);
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = Hashing.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        int slot = Hashing.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /** Removes {@code key}; false if it was not present. */
+    public boolean remove(long key) {
+        if (key == 0) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return had;
+        }
+        int slot = Hashing.mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != 0) {
+            if (existing == key) {
+                shiftBack(slot);
+                assigned--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return assigned + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Empties the map, keeping its capacity. */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        assigned = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    public void forEach(LongLongConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /** Entries in table order; the zero key, if present, comes first. */
+    public LongLongCursor cursor() {
+        return new LongLongCursor() {
+            private int slot = hasZeroKey ? -2 : -1;
+            private long key;
+            private long value;
+
+            @Override
+            public boolean advance() {
+                if (slot == -2) {
+                    slot = -1;
+                    key = 0;
+                    value = zeroValue;
+                    return true;
+                }
+                while (++slot < keys.length) {
+                    if (keys[slot] != 0) {
+                        key = keys[slot];
+                        value = values[slot];
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public long key() {
+                return key;
+            }
+
+            @Override
+            public long value() {
+                return value;
+            }
+        };
+    }
+
+    private void insert(int slot, long key, long value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++assigned > resizeAt) {
+            rehash(Hashing.grow(keys.length));
+        }
+    }
+
+    /**
+     * Backward-shift deletion: moves later entries of the probe run into the gap when the gap lies
+     * between their home slot and their current slot, then clears the last gap.
+     */
+    private void shiftBack(int gap) {
+        int slot = (gap + 1) & mask;
+        long key;
+        while ((key = keys[slot]) != 0) {
+            int home = Hashing.mix(key) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = 0;
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(tableSize);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0) {
+                int slot = Hashing.mix(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        values = new long[tableSize];
+        mask = tableSize - 1;
+        resizeAt = Hashing.resizeAt(tableSize);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(key).append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.gindix.collections.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Common part of the ring buffers: a power-of-two array indexed by ever-increasing {@code long}
+ * sequences ({@code sequence & mask} is the slot), a producer sequence ({@code tail}) and a consumer
+ * sequence ({@code head}), and put/take on top of offer/poll through a {@link WaitStrategy}.
+ *
+ * Producers write {@code tail} and consumers write {@code head} all the time. If both shared a cache
+ * line, every write would invalidate the other side's copy (false sharing), so the superclasses below
+ * surround each with 64 bytes of padding on both sides. Superclass fields are laid out first, which
+ * keeps the padding in place.
+ */
+abstract class AbstractRingBuffer<E> extends RingBufferPad2 implements BoundedQueue<E> {
+    static final VarHandle TAIL;
+    static final VarHandle HEAD;
+    static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(RingBufferTail.class, "tail", long.class);
+            HEAD = lookup.findVarHandle(RingBufferHead.class, "head", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    final Object[] buffer;
+    final int mask;
+    private final WaitStrategy waitStrategy;
+
+    /** Capacity is rounded up to a power of two (at least 2). */
+    AbstractRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy, "waitStrategy");
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        Objects.requireNonNull(e, "Null elements are not allowed");
+        if (!offer(e)) {
+            waitStrategy.waitUntil(() -> offer(e));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E take() throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        Object[] taken = new Object[1];
+        waitStrategy.waitUntil(() -> (taken[0] = poll()) != null);
+        return (E) taken[0];
+    }
+
+    @Override
+    public int size() {
+        // Head first: the tail read afterwards can only be larger, so the difference is never negative
+        long head = (long) HEAD.getVolatile(this);
+        long tail = (long) TAIL.getVolatile(this);
+        return (int) Math.max(0, Math.min(tail - head, buffer.length));
+    }
+
+    @Override
+    public int capacity() {
+        return buffer.length;
+    }
+
+    final void signal() {
+        waitStrategy.signal();
+    }
+
+    static void checkDrain(Consumer<?> consumer, int limit) {
+        Objects.requireNonNull(consumer, "consumer");
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size() + ", capacity=" + capacity() + "]";
+    }
+}
+
+abstract class RingBufferPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+/** Producer side: the next sequence to write, and the producers' last view of {@code head}. */
+abstract class RingBufferTail extends RingBufferPad0 {
+    long tail;
+    long headCache;
+}
+
+abstract class RingBufferPad1 extends RingBufferTail {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+/** Consumer side: the next sequence to read, and the consumers' last view of {@code tail}. */
+abstract class RingBufferHead extends RingBufferPad1 {
+    long head;
+    long tailCache;
+}
+
+abstract class RingBufferPad2 extends RingBufferHead {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
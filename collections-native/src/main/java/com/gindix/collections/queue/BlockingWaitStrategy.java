@@ -0,0 +1,55 @@
+package com.gindix.collections.queue;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Parks waiting threads on a {@link Condition}, like the lock-based {@code BoundedBuffer} demo, but
+ * the lock is only taken when somebody actually waits: as long as the queue is neither full nor empty,
+ * {@link #signal()} costs a full fence and a volatile read, but no lock. The fence runs on every
+ * successful offer and poll, so this strategy is best when threads outnumber cores or waits are long.
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    @Override
+    public void waitUntil(BooleanSupplier attempt) throws InterruptedException {
+        if (attempt.getAsBoolean()) {
+            return;
+        }
+        // Register before re-checking, so a concurrent signal() either sees us or we see its change
+        waiters.incrementAndGet();
+        try {
+            lock.lockInterruptibly();
+            try {
+                while (!attempt.getAsBoolean()) {
+                    changed.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void signal() {
+        // The queue publishes with release stores; the fence orders that store before the read of
+        // waiters, pairing with the increment above (otherwise a wake-up could be lost)
+        VarHandle.fullFence();
+        if (waiters.get() > 0) {
+            lock.lock();
+            try {
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
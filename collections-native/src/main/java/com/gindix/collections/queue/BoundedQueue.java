@@ -0,0 +1,50 @@
+package com.gindix.collections.queue;
+
+import java.util.function.Consumer;
+
+/**
+ * Fixed-capacity queue between threads. {@code offer}/{@code poll} never wait; {@code put}/{@code take}
+ * wait according to the queue's {@link WaitStrategy}. Null elements are not allowed, since null
+ * means "empty" to {@code poll}.
+ *
+ * Which threads may call which side depends on the implementation: {@link SpscRingBuffer} allows one
+ * producer and one consumer thread, {@link MpscRingBuffer} many producers and one consumer, and
+ * {@link MpmcRingBuffer} any number of both.
+ */
+public interface BoundedQueue<E> {
+
+    /** Adds {@code e} if there is room; false when the queue is full. */
+    boolean offer(E e);
+
+    /** Removes the head, or returns null when the queue is empty. */
+    E poll();
+
+    /** Adds {@code e}, waiting for room. */
+    void put(E e) throws InterruptedException;
+
+    /** Removes the head, waiting for an element. */
+    E take() throws InterruptedException;
+
+    /**
+     * Removes up to {@code limit} available elements and passes them to {@code consumer}, publishing
+     * the freed slots once per batch instead of once per element. Returns the number drained.
+     *
+     * If {@code consumer} throws, draining stops and the exception propagates; the element it was
+     * given is not put back.
+     */
+    int drain(Consumer<? super E> consumer, int limit);
+
+    /** Drains everything available, at most one capacity's worth. */
+    default int drain(Consumer<? super E> consumer) {
+        return drain(consumer, capacity());
+    }
+
+    /** Number of elements; only a snapshot while other threads are using the queue. */
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity();
+}
@@ -0,0 +1,27 @@
+package com.gindix.collections.queue;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Retries in a tight loop with {@link Thread#onSpinWait()}. Lowest hand-off latency, but the waiting
+ * thread keeps a core busy, so only use it when producers and consumers have dedicated cores.
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+    // Check for interruption every this many attempts
+    private static final int INTERRUPT_CHECK_MASK = 1023;
+
+    @Override
+    public void waitUntil(BooleanSupplier attempt) throws InterruptedException {
+        for (int spins = 0; !attempt.getAsBoolean(); spins++) {
+            if ((spins & INTERRUPT_CHECK_MASK) == 0 && Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public void signal() {
+        // Nobody parks
+    }
+}
@@ -0,0 +1,131 @@
+package com.gindix.collections.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Ring buffer for any number of producer and consumer threads (Dmitry Vyukov's bounded MPMC queue).
+ * Every slot carries a sequence number that says whose turn it is: {@code seq == pos} means free for
+ * the producer claiming {@code pos}, {@code seq == pos + 1} means filled for the consumer claiming
+ * {@code pos}. Both sides claim a position with one CAS on {@code tail} or {@code head} and then hand
+ * the slot over with a release store of its sequence, so a slow thread only holds up its own slot.
+ */
+public class MpmcRingBuffer<E> extends AbstractRingBuffer<E> {
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] sequences;
+
+    public MpmcRingBuffer(int capacity) {
+        this(capacity, new BlockingWaitStrategy());
+    }
+
+    public MpmcRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+        sequences = new long[buffer.length];
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i] = i;
+        }
+        // Publish the initial sequences before the queue is shared
+        VarHandle.releaseFence();
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e, "Null elements are not allowed");
+        long pos = (long) TAIL.getVolatile(this);
+        while (true) {
+            int slot = (int) pos & mask;
+            long diff = (long) SEQUENCE.getAcquire(sequences, slot) - pos;
+            if (diff == 0) {
+                if (TAIL.compareAndSet(this, pos, pos + 1)) {
+                    buffer[slot] = e;
+                    SEQUENCE.setRelease(sequences, slot, pos + 1);
+                    signal();
+                    return true;
+                }
+                pos = (long) TAIL.getVolatile(this);
+            } else if (diff < 0) {
+                // The slot still holds the element from one lap ago: full
+                return false;
+            } else {
+                // Another producer took pos
+                pos = (long) TAIL.getVolatile(this);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long pos = (long) HEAD.getVolatile(this);
+        while (true) {
+            int slot = (int) pos & mask;
+            long diff = (long) SEQUENCE.getAcquire(sequences, slot) - (pos + 1);
+            if (diff == 0) {
+                if (HEAD.compareAndSet(this, pos, pos + 1)) {
+                    E e = (E) buffer[slot];
+                    release(slot, pos);
+                    signal();
+                    return e;
+                }
+                pos = (long) HEAD.getVolatile(this);
+            } else if (diff < 0) {
+                // Not filled yet: empty
+                return null;
+            } else {
+                // Another consumer took pos
+                pos = (long) HEAD.getVolatile(this);
+            }
+        }
+    }
+
+    /**
+     * Claims the run of filled slots at the head (up to {@code limit}) with a single CAS, then consumes
+     * them. Other consumers continue behind the claimed run in the meantime.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> consumer, int limit) {
+        checkDrain(consumer, limit);
+        int max = Math.min(limit, buffer.length);
+        while (true) {
+            long pos = (long) HEAD.getVolatile(this);
+            int n = 0;
+            while (n < max && (long) SEQUENCE.getAcquire(sequences, (int) (pos + n) & mask) == pos + n + 1) {
+                n++;
+            }
+            if (n == 0) {
+                return 0;
+            }
+            if (!HEAD.compareAndSet(this, pos, pos + n)) {
+                continue;
+            }
+            int i = 0;
+            try {
+                while (i < n) {
+                    int slot = (int) (pos + i) & mask;
+                    E e = (E) buffer[slot];
+                    release(slot, pos + i);
+                    i++;
+                    consumer.accept(e);
+                }
+            } finally {
+                // If the consumer threw, free the rest of the claimed run (dropping those elements),
+                // otherwise producers would wait for these slots forever
+                for (; i < n; i++) {
+                    release((int) (pos + i) & mask, pos + i);
+                }
+                signal();
+            }
+            return n;
+        }
+    }
+
+    // Empties the slot consumed at pos and hands it to the producer of the next lap
+    private void release(int slot, long pos) {
+        buffer[slot] = null;
+        SEQUENCE.setRelease(sequences, slot, pos + buffer.length);
+    }
+}
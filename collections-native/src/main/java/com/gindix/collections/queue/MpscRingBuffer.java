@@ -0,0 +1,90 @@
+package com.gindix.collections.queue;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Ring buffer for any number of producer threads and one consumer thread. Producers claim a sequence
+ * with a CAS on {@code tail} and then publish the element into its slot with a release store; the
+ * consumer treats a slot as ready once it is non-null. A claimed but not yet written slot is visible to
+ * the consumer as {@code head < tail} with a null slot, and {@link #poll()} spins briefly on it rather
+ * than report an empty queue.
+ */
+public class MpscRingBuffer<E> extends AbstractRingBuffer<E> {
+
+    public MpscRingBuffer(int capacity) {
+        this(capacity, new YieldingWaitStrategy());
+    }
+
+    public MpscRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e, "Null elements are not allowed");
+        long t;
+        do {
+            t = (long) TAIL.getVolatile(this);
+            // headCache is shared by the producers; a stale value only causes an extra re-read
+            if (t - headCache >= buffer.length) {
+                headCache = (long) HEAD.getAcquire(this);
+                if (t - headCache >= buffer.length) {
+                    return false;
+                }
+            }
+        } while (!TAIL.compareAndSet(this, t, t + 1));
+        SLOT.setRelease(buffer, (int) t & mask, e);
+        signal();
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head;
+        int slot = (int) h & mask;
+        Object e = SLOT.getAcquire(buffer, slot);
+        if (e == null) {
+            if (h == (long) TAIL.getVolatile(this)) {
+                return null;
+            }
+            // Claimed by a producer that has not written it yet, which happens right after its CAS
+            do {
+                Thread.onSpinWait();
+                e = SLOT.getAcquire(buffer, slot);
+            } while (e == null);
+        }
+        buffer[slot] = null;
+        HEAD.setRelease(this, h + 1);
+        signal();
+        return (E) e;
+    }
+
+    /** Stops at the first claimed slot that is not written yet instead of waiting for it. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> consumer, int limit) {
+        checkDrain(consumer, limit);
+        long h = head;
+        int n = 0;
+        try {
+            while (n < limit) {
+                int slot = (int) (h + n) & mask;
+                Object e = SLOT.getAcquire(buffer, slot);
+                if (e == null) {
+                    break;
+                }
+                buffer[slot] = null;
+                n++;
+                consumer.accept((E) e);
+            }
+        } finally {
+            if (n > 0) {
+                HEAD.setRelease(this, h + n);
+                signal();
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,82 @@
+package com.gindix.collections.queue;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Ring buffer for exactly one producer thread and one consumer thread (Lamport's queue). Each side
+ * owns its sequence, so publishing is a plain array store followed by a release store of the sequence:
+ * no CAS, no lock. Each side also caches the other side's sequence and only re-reads it when the cached
+ * value says full (producer) or empty (consumer), which keeps the cache line of the other side's
+ * sequence out of the fast path.
+ */
+public class SpscRingBuffer<E> extends AbstractRingBuffer<E> {
+
+    public SpscRingBuffer(int capacity) {
+        this(capacity, new YieldingWaitStrategy());
+    }
+
+    public SpscRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e, "Null elements are not allowed");
+        long t = tail;
+        if (t - headCache >= buffer.length) {
+            headCache = (long) HEAD.getAcquire(this);
+            if (t - headCache >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = e;
+        TAIL.setRelease(this, t + 1);
+        signal();
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (h >= tailCache) {
+                return null;
+            }
+        }
+        int slot = (int) h & mask;
+        E e = (E) buffer[slot];
+        buffer[slot] = null;
+        HEAD.setRelease(this, h + 1);
+        signal();
+        return e;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> consumer, int limit) {
+        checkDrain(consumer, limit);
+        long h = head;
+        long available = (long) TAIL.getAcquire(this) - h;
+        int n = (int) Math.min(available, limit);
+        if (n <= 0) {
+            return 0;
+        }
+        int i = 0;
+        try {
+            while (i < n) {
+                int slot = (int) (h + i) & mask;
+                E e = (E) buffer[slot];
+                buffer[slot] = null;
+                i++;
+                consumer.accept(e);
+            }
+        } finally {
+            HEAD.setRelease(this, h + i);
+            signal();
+        }
+        return n;
+    }
+}
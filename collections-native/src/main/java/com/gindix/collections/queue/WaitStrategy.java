@@ -0,0 +1,20 @@
+package com.gindix.collections.queue;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * How {@link BoundedQueue#put} and {@link BoundedQueue#take} wait for room or for an element: burn a
+ * core for the lowest latency ({@link BusySpinWaitStrategy}), back off to other threads
+ * ({@link YieldingWaitStrategy}), or park until signalled ({@link BlockingWaitStrategy}).
+ */
+public interface WaitStrategy {
+
+    /**
+     * Repeats {@code attempt} until it returns true. The attempt itself does the work (e.g. an
+     * {@code offer}), so there is no gap between observing room and using it.
+     */
+    void waitUntil(BooleanSupplier attempt) throws InterruptedException;
+
+    /** Called by the queue after every successful offer or poll, so parked threads can retry. */
+    void signal();
+}
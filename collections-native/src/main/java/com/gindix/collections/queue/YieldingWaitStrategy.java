@@ -0,0 +1,37 @@
+package com.gindix.collections.queue;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Spins for a short while, then yields, then parks for growing intervals (up to a millisecond).
+ * A compromise between latency and CPU use that needs no signalling.
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    @Override
+    public void waitUntil(BooleanSupplier attempt) throws InterruptedException {
+        long parkNanos = 1_000;
+        for (int attempts = 0; !attempt.getAsBoolean(); attempts++) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (attempts < SPINS) {
+                Thread.onSpinWait();
+            } else if (attempts < SPINS + YIELDS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(parkNanos);
+                parkNanos = Math.min(parkNanos << 1, MAX_PARK_NANOS);
+            }
+        }
+    }
+
+    @Override
+    public void signal() {
+        // Waiters wake up on their own
+    }
+}
@@ -0,0 +1,219 @@
+package com.gindix.collections.seq;
+
+import com.gindix.collections.primitive.IntArrayList;
+import com.gindix.collections.primitive.IntHashSet;
+
+import java.util.IntSummaryStatistics;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The {@code int} specialization of {@link Seq}: the same fused push loop with {@code int} sinks, so
+ * numbers flow from source to terminal operation without ever being boxed.
+ */
+@FunctionalInterface
+public interface IntSeq {
+
+    /**
+     * Pushes values into {@code sink} until the source is exhausted or the sink returns false;
+     * returns false if the sink stopped it.
+     */
+    boolean forEachWhile(IntPredicate sink);
+
+    // Sources
+
+    static IntSeq of(int... values) {
+        return sink -> {
+            for (int value : values) {
+                if (!sink.test(value)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /** {@code from} inclusive to {@code to} exclusive. */
+    static IntSeq range(int from, int to) {
+        return sink -> {
+            for (int i = from; i < to; i++) {
+                if (!sink.test(i)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    static IntSeq chars(CharSequence text) {
+        return sink -> {
+            for (int i = 0, length = text.length(); i < length; i++) {
+                if (!sink.test(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    static IntSeq from(IntArrayList list) {
+        return sink -> {
+            for (int i = 0, size = list.size(); i < size; i++) {
+                if (!sink.test(list.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    // Intermediate operations
+
+    default IntSeq filter(IntPredicate predicate) {
+        return sink -> forEachWhile(value -> !predicate.test(value) || sink.test(value));
+    }
+
+    default IntSeq map(IntUnaryOperator mapper) {
+        return sink -> forEachWhile(value -> sink.test(mapper.applyAsInt(value)));
+    }
+
+    default <R> Seq<R> mapToObj(IntFunction<? extends R> mapper) {
+        return sink -> forEachWhile(value -> sink.test(mapper.apply(value)));
+    }
+
+    default IntSeq limit(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Negative limit: " + maxSize);
+        }
+        return sink -> {
+            if (maxSize == 0) {
+                return true;
+            }
+            // -1 once the downstream sink stopped, 0 once the limit was reached
+            long[] remaining = {maxSize};
+            boolean exhausted = forEachWhile(value -> {
+                if (!sink.test(value)) {
+                    remaining[0] = -1;
+                    return false;
+                }
+                return --remaining[0] > 0;
+            });
+            return exhausted || remaining[0] == 0;
+        };
+    }
+
+    default IntSeq skip(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative skip: " + count);
+        }
+        return sink -> {
+            long[] toSkip = {count};
+            return forEachWhile(value -> {
+                if (toSkip[0] > 0) {
+                    toSkip[0]--;
+                    return true;
+                }
+                return sink.test(value);
+            });
+        };
+    }
+
+    /** First occurrence of each value, tracked in an {@link IntHashSet}. */
+    default IntSeq distinct() {
+        return sink -> {
+            IntHashSet seen = new IntHashSet();
+            return forEachWhile(value -> !seen.add(value) || sink.test(value));
+        };
+    }
+
+    // Terminal operations
+
+    default void forEach(IntConsumer action) {
+        forEachWhile(value -> {
+            action.accept(value);
+            return true;
+        });
+    }
+
+    default int[] toArray() {
+        IntArrayList values = new IntArrayList();
+        forEach(values::add);
+        return values.toArray();
+    }
+
+    default long count() {
+        long[] count = {0};
+        forEachWhile(value -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    /** Summed as {@code long}, so it does not overflow where {@code IntStream.sum} would. */
+    default long sum() {
+        long[] sum = {0};
+        forEachWhile(value -> {
+            sum[0] += value;
+            return true;
+        });
+        return sum[0];
+    }
+
+    default int reduce(int identity, IntBinaryOperator accumulator) {
+        int[] result = {identity};
+        forEachWhile(value -> {
+            result[0] = accumulator.applyAsInt(result[0], value);
+            return true;
+        });
+        return result[0];
+    }
+
+    default OptionalInt reduce(IntBinaryOperator accumulator) {
+        Sinks.IntHolder result = new Sinks.IntHolder();
+        forEachWhile(value -> {
+            result.value = result.present ? accumulator.applyAsInt(result.value, value) : value;
+            result.present = true;
+            return true;
+        });
+        return result.present ? OptionalInt.of(result.value) : OptionalInt.empty();
+    }
+
+    default OptionalInt min() {
+        return reduce(Math::min);
+    }
+
+    default OptionalInt max() {
+        return reduce(Math::max);
+    }
+
+    default OptionalDouble average() {
+        IntSummaryStatistics statistics = summaryStatistics();
+        return statistics.getCount() == 0 ? OptionalDouble.empty() : OptionalDouble.of(statistics.getAverage());
+    }
+
+    default IntSummaryStatistics summaryStatistics() {
+        IntSummaryStatistics statistics = new IntSummaryStatistics();
+        forEach(statistics);
+        return statistics;
+    }
+
+    default OptionalInt findFirst() {
+        Sinks.IntHolder result = new Sinks.IntHolder();
+        forEachWhile(value -> {
+            result.value = value;
+            result.present = true;
+            return false;
+        });
+        return result.present ? OptionalInt.of(result.value) : OptionalInt.empty();
+    }
+
+    default boolean anyMatch(IntPredicate predicate) {
+        return !forEachWhile(value -> !predicate.test(value));
+    }
+}
@@ -0,0 +1,245 @@
+package com.gindix.collections.seq;
+
+import com.gindix.collections.primitive.IntHashSet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Lazy, push-based sequence: a {@code Seq} is just the loop that pushes its elements into a sink, and
+ * every intermediate operation wraps the sink of the next one. Nothing runs until a terminal operation
+ * does, and then the whole chain runs as one fused loop over the source: no spliterators, no
+ * per-element wrapper objects, and with {@link IntSeq} no boxing. Building a chain costs one small
+ * object per operation; running it allocates per run (a counter for {@code limit}, a result holder),
+ * never per element, except where the operation itself must ({@link #distinct} stores elements in a
+ * {@code HashSet}, {@link #toList} grows a list).
+ *
+ * A sink returns false to stop the source early, which is how {@link #limit}, {@link #findFirst} and
+ * {@link #anyMatch} short-circuit. A {@code Seq} can be run any number of times if its source can.
+ */
+@FunctionalInterface
+public interface Seq<T> {
+
+    /**
+     * Pushes elements into {@code sink} until the source is exhausted or the sink returns false;
+     * returns false if the sink stopped it.
+     */
+    boolean forEachWhile(Predicate<? super T> sink);
+
+    // Sources
+
+    @SafeVarargs
+    static <T> Seq<T> of(T... values) {
+        return sink -> {
+            for (T value : values) {
+                if (!sink.test(value)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /** Indexed loop over random-access lists, so not even an iterator is created. */
+    static <T> Seq<T> from(Iterable<? extends T> source) {
+        if (source instanceof List<? extends T> list && list instanceof RandomAccess) {
+            return sink -> {
+                for (int i = 0, size = list.size(); i < size; i++) {
+                    if (!sink.test(list.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+        return sink -> {
+            for (T value : source) {
+                if (!sink.test(value)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    static <T> Seq<T> empty() {
+        return sink -> true;
+    }
+
+    // Intermediate operations
+
+    default Seq<T> filter(Predicate<? super T> predicate) {
+        return sink -> forEachWhile(value -> !predicate.test(value) || sink.test(value));
+    }
+
+    default <R> Seq<R> map(Function<? super T, ? extends R> mapper) {
+        return sink -> forEachWhile(value -> sink.test(mapper.apply(value)));
+    }
+
+    default IntSeq mapToInt(ToIntFunction<? super T> mapper) {
+        return sink -> forEachWhile(value -> sink.test(mapper.applyAsInt(value)));
+    }
+
+    /**
+     * One-to-many without a sequence per element (what {@code flatMap} would need): {@code mapper}
+     * pushes any number of ints for each element, e.g. the chars of a string.
+     */
+    default IntSeq mapMultiToInt(BiConsumer<? super T, ? super IntConsumer> mapper) {
+        return sink -> {
+            Sinks.IntDownstream downstream = new Sinks.IntDownstream(sink);
+            forEachWhile(value -> {
+                mapper.accept(value, downstream);
+                return downstream.open;
+            });
+            return downstream.open;
+        };
+    }
+
+    default Seq<T> limit(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Negative limit: " + maxSize);
+        }
+        return sink -> {
+            if (maxSize == 0) {
+                return true;
+            }
+            // -1 once the downstream sink stopped, 0 once the limit was reached
+            long[] remaining = {maxSize};
+            boolean exhausted = forEachWhile(value -> {
+                if (!sink.test(value)) {
+                    remaining[0] = -1;
+                    return false;
+                }
+                return --remaining[0] > 0;
+            });
+            return exhausted || remaining[0] == 0;
+        };
+    }
+
+    default Seq<T> skip(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative skip: " + count);
+        }
+        return sink -> {
+            long[] toSkip = {count};
+            return forEachWhile(value -> {
+                if (toSkip[0] > 0) {
+                    toSkip[0]--;
+                    return true;
+                }
+                return sink.test(value);
+            });
+        };
+    }
+
+    /** First occurrence of each element by {@code equals}. */
+    default Seq<T> distinct() {
+        return sink -> {
+            Set<T> seen = new HashSet<>();
+            return forEachWhile(value -> !seen.add(value) || sink.test(value));
+        };
+    }
+
+    /** First element for each distinct int key, tracked in an {@link IntHashSet} without boxing the key. */
+    default Seq<T> distinctBy(ToIntFunction<? super T> key) {
+        return sink -> {
+            IntHashSet seen = new IntHashSet();
+            return forEachWhile(value -> !seen.add(key.applyAsInt(value)) || sink.test(value));
+        };
+    }
+
+    // Terminal operations
+
+    default void forEach(Consumer<? super T> action) {
+        forEachWhile(value -> {
+            action.accept(value);
+            return true;
+        });
+    }
+
+    default List<T> toList() {
+        List<T> list = new ArrayList<>();
+        forEachWhile(list::add);
+        return list;
+    }
+
+    default long count() {
+        long[] count = {0};
+        forEachWhile(value -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    default T reduce(T identity, BinaryOperator<T> accumulator) {
+        Sinks.Holder<T> result = new Sinks.Holder<>(identity);
+        forEachWhile(value -> {
+            result.value = accumulator.apply(result.value, value);
+            return true;
+        });
+        return result.value;
+    }
+
+    default Optional<T> reduce(BinaryOperator<T> accumulator) {
+        Sinks.Holder<T> result = new Sinks.Holder<>(null);
+        forEachWhile(value -> {
+            result.value = result.present ? accumulator.apply(result.value, value) : value;
+            result.present = true;
+            return true;
+        });
+        return result.present ? Optional.of(result.value) : Optional.empty();
+    }
+
+    /** The first of equally small elements, like {@code Stream.min}. */
+    default Optional<T> min(Comparator<? super T> comparator) {
+        return reduce((a, b) -> comparator.compare(b, a) < 0 ? b : a);
+    }
+
+    /** The first of equally large elements, like {@code Stream.max}. */
+    default Optional<T> max(Comparator<? super T> comparator) {
+        return reduce((a, b) -> comparator.compare(b, a) > 0 ? b : a);
+    }
+
+    default Optional<T> findFirst() {
+        Sinks.Holder<T> result = new Sinks.Holder<>(null);
+        forEachWhile(value -> {
+            result.value = Objects.requireNonNull(value, "findFirst found null");
+            result.present = true;
+            return false;
+        });
+        return result.present ? Optional.of(result.value) : Optional.empty();
+    }
+
+    default boolean anyMatch(Predicate<? super T> predicate) {
+        return !forEachWhile(value -> !predicate.test(value));
+    }
+
+    /** Elements as strings joined with {@code delimiter}, in one builder instead of a concatenation per element. */
+    default String join(CharSequence delimiter) {
+        StringBuilder joined = new StringBuilder();
+        boolean[] first = {true};
+        forEachWhile(value -> {
+            if (!first[0]) {
+                joined.append(delimiter);
+            }
+            first[0] = false;
+            joined.append(value);
+            return true;
+        });
+        return joined.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.gindix.collections.seq;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Per-run state shared by the {@link Seq} and {@link IntSeq} operations.
+ */
+final class Sinks {
+
+    private Sinks() {
+    }
+
+    /** Mutable result of one terminal run. */
+    static final class Holder<T> {
+        T value;
+        boolean present;
+
+        Holder(T value) {
+            this.value = value;
+        }
+    }
+
+    /** {@link Holder} for an int result, so it is not boxed. */
+    static final class IntHolder {
+        int value;
+        boolean present;
+    }
+
+    /** Adapts a stoppable int sink to the {@link IntConsumer} that {@code mapMulti} mappers push into. */
+    static final class IntDownstream implements IntConsumer {
+        private final IntPredicate sink;
+        boolean open = true;
+
+        IntDownstream(IntPredicate sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(int value) {
+            if (open) {
+                open = sink.test(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.gindix.collections.threads;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Simulated request handler: a few blocking calls (sleeps standing in for database or HTTP round
+ * trips) with a little CPU work in between. {@link Guard} decides what the calls are wrapped in, which
+ * is what matters to virtual threads on JDK 21: blocking inside {@code synchronized} pins the virtual
+ * thread to its carrier, blocking under a {@link ReentrantLock} does not.
+ */
+public class BlockingIoTask implements Runnable {
+
+    public enum Guard {
+        /** Plain blocking call. */
+        NONE,
+        /** Blocking call inside a synchronized method, like a legacy synchronized client; pins. */
+        SYNCHRONIZED,
+        /** The same call guarded by a ReentrantLock instead; does not pin. */
+        REENTRANT_LOCK
+    }
+
+    private final int calls;
+    private final long callMillis;
+    private final Guard guard;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long checksum;
+
+    public BlockingIoTask(int calls, long callMillis, Guard guard) {
+        if (calls < 1 || callMillis < 0) {
+            throw new IllegalArgumentException("Need at least one call of non-negative duration");
+        }
+        this.calls = calls;
+        this.callMillis = callMillis;
+        this.guard = guard;
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < calls; i++) {
+                switch (guard) {
+                    case NONE -> call();
+                    case SYNCHRONIZED -> synchronizedCall();
+                    case REENTRANT_LOCK -> lockedCall();
+                }
+                checksum += process(i);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Result of the simulated processing, so it cannot be optimized away. */
+    public long checksum() {
+        return checksum;
+    }
+
+    private void call() throws InterruptedException {
+        Thread.sleep(callMillis);
+    }
+
+    private synchronized void synchronizedCall() throws InterruptedException {
+        call();
+    }
+
+    private void lockedCall() throws InterruptedException {
+        lock.lock();
+        try {
+            call();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A few microseconds of "parsing the response"
+    private static long process(int seed) {
+        long hash = seed;
+        for (int i = 0; i < 1_000; i++) {
+            hash = hash * 31 + i;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,129 @@
+package com.gindix.collections.threads;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the same batch of {@link BlockingIoTask}s on a platform pool and on virtual threads and reports
+ * throughput, latency percentiles, heap per task, platform thread count and pinning for each.
+ *
+ * Every run owns its executor in a try-with-resources block, so it cannot finish before all of its
+ * tasks have: the structured shape of {@code StructuredTaskScope}, which is still a preview API in
+ * Java 21. A sampler thread records the peak heap and platform thread count while the tasks are in
+ * flight.
+ *
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=com.gindix.collections.threads.ExecutorComparison \
+ *     -Dexec.args="1000 10000 100000 1000000"
+ * </pre>
+ */
+public class ExecutorComparison {
+    public static final int DEFAULT_PLATFORM_THREADS = 200;
+    public static final int DEFAULT_CALLS = 2;
+    public static final long DEFAULT_CALL_MILLIS = 10;
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 5;
+
+    private final int platformThreads;
+    private final int calls;
+    private final long callMillis;
+
+    public ExecutorComparison(int platformThreads, int calls, long callMillis) {
+        this.platformThreads = platformThreads;
+        this.calls = calls;
+        this.callMillis = callMillis;
+    }
+
+    public static void main(String[] args) {
+        int[] taskCounts = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1_000, 10_000, 100_000, 1_000_000};
+        ExecutorComparison comparison =
+                new ExecutorComparison(DEFAULT_PLATFORM_THREADS, DEFAULT_CALLS, DEFAULT_CALL_MILLIS);
+        List<ExecutorRunResult> results = new ArrayList<>();
+        for (int tasks : taskCounts) {
+            for (ExecutorMode mode : ExecutorMode.values()) {
+                results.add(comparison.run(mode, BlockingIoTask.Guard.NONE, tasks));
+            }
+        }
+        // Pinned tasks run at most one per carrier (core), so keep this batch small
+        int pinnedTasks = Math.min(taskCounts[0], 1_000);
+        results.add(comparison.run(ExecutorMode.VIRTUAL, BlockingIoTask.Guard.SYNCHRONIZED, pinnedTasks));
+        results.add(comparison.run(ExecutorMode.VIRTUAL, BlockingIoTask.Guard.REENTRANT_LOCK, pinnedTasks));
+        print(results);
+    }
+
+    /** Runs {@code tasks} tasks with every call wrapped in {@code guard}, recording pinned stretches. */
+    public ExecutorRunResult run(ExecutorMode mode, BlockingIoTask.Guard guard, int tasks) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+
+        AtomicLong peakHeap = new AtomicLong(baselineHeap);
+        AtomicLong peakThreads = new AtomicLong(threads.getThreadCount());
+        Thread sampler = Thread.ofPlatform().daemon().name("executor-comparison-sampler").start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+                try {
+                    Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long[] latencies = new long[tasks];
+        long start = System.nanoTime();
+        long elapsed;
+        PinningMonitor pinning = PinningMonitor.start(Duration.ofMillis(Math.max(1, callMillis / 2)));
+        try (pinning) {
+            try (ExecutorService executor = mode.create(platformThreads)) {
+                for (int i = 0; i < tasks; i++) {
+                    int task = i;
+                    long submitted = System.nanoTime();
+                    BlockingIoTask work = new BlockingIoTask(calls, callMillis, guard);
+                    executor.execute(() -> {
+                        work.run();
+                        latencies[task] = System.nanoTime() - submitted;
+                    });
+                }
+            } // close() waits for every task
+            elapsed = System.nanoTime() - start;
+            sampler.interrupt();
+        } // close() flushes the pinned events still in flight
+
+        Arrays.sort(latencies);
+        return new ExecutorRunResult(mode, guard, tasks, elapsed / 1_000_000,
+                tasks / (elapsed / 1e9),
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                latencies[tasks - 1] / 1e6,
+                Math.max(0, peakHeap.get() - baselineHeap) / tasks,
+                (int) peakThreads.get(), pinning.events());
+    }
+
+    public static void print(List<ExecutorRunResult> results) {
+        System.out.println(String.format("   %-8s %-14s %9s %9s %11s %8s %8s %8s %10s %8s %7s",
+                "Mode", "Guard", "Tasks", "Time ms", "Tasks/s", "p50 ms", "p99 ms", "max ms",
+                "Heap B/task", "Threads", "Pinned"));
+        for (ExecutorRunResult result : results) {
+            System.out.println(String.format("   %-8s %-14s %,9d %,9d %,11.0f %8.1f %8.1f %8.1f %,10d %8d %7d",
+                    result.mode(), result.guard(), result.tasks(), result.elapsedMillis(),
+                    result.tasksPerSecond(), result.p50Millis(), result.p99Millis(), result.maxMillis(),
+                    result.heapBytesPerTask(), result.peakPlatformThreads(), result.pinnedEvents()));
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
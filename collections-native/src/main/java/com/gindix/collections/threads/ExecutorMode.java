@@ -0,0 +1,27 @@
+package com.gindix.collections.threads;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The two ways to run many blocking tasks: a bounded pool of platform threads, where tasks queue for
+ * a thread and each thread holds an OS stack, or one virtual thread per task, where a blocked task
+ * unmounts from its carrier and costs only its heap-allocated stack chunks.
+ */
+public enum ExecutorMode {
+    PLATFORM {
+        @Override
+        public ExecutorService create(int platformThreads) {
+            return Executors.newFixedThreadPool(platformThreads);
+        }
+    },
+    VIRTUAL {
+        @Override
+        public ExecutorService create(int platformThreads) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+    };
+
+    /** {@code platformThreads} is the pool size of {@link #PLATFORM} and ignored by {@link #VIRTUAL}. */
+    public abstract ExecutorService create(int platformThreads);
+}
@@ -0,0 +1,12 @@
+package com.gindix.collections.threads;
+
+/**
+ * Outcome of one {@link ExecutorComparison} run. Latency is from submission to completion, so it
+ * includes the time a task queued for a platform thread. Heap per task is the peak heap growth while
+ * the tasks were in flight divided by the number of tasks; platform thread stacks live outside the
+ * heap and are not in it.
+ */
+public record ExecutorRunResult(ExecutorMode mode, BlockingIoTask.Guard guard, int tasks, long elapsedMillis,
+                                double tasksPerSecond, double p50Millis, double p99Millis, double maxMillis,
+                                long heapBytesPerTask, int peakPlatformThreads, long pinnedEvents) {
+}
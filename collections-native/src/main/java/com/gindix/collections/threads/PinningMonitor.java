@@ -0,0 +1,88 @@
+package com.gindix.collections.threads;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event while open: a virtual thread blocked while it
+ * could not unmount from its carrier, typically because it was inside {@code synchronized} or a
+ * native frame. Each pinned stretch longer than the threshold is counted, with its duration and the
+ * application frame that blocked, so the offending monitor can be found without reading thread dumps
+ * ({@code -Djdk.tracePinnedThreads} only prints stacks).
+ *
+ * Events arrive asynchronously; {@link #close()} flushes the recording, so the counts are complete
+ * once it returns.
+ */
+public class PinningMonitor implements AutoCloseable {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final RecordingStream stream = new RecordingStream();
+    private final LongAdder events = new LongAdder();
+    private final AtomicLong pinnedNanos = new AtomicLong();
+    private final Map<String, LongAdder> frames = new ConcurrentHashMap<>();
+
+    private PinningMonitor() {
+    }
+
+    /** Starts recording pinned stretches of at least {@code threshold} (JFR's default is 20 ms). */
+    public static PinningMonitor start(Duration threshold) {
+        PinningMonitor monitor = new PinningMonitor();
+        monitor.stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        monitor.stream.onEvent(PINNED_EVENT, monitor::record);
+        monitor.stream.startAsync();
+        return monitor;
+    }
+
+    public long events() {
+        return events.sum();
+    }
+
+    public Duration totalPinned() {
+        return Duration.ofNanos(pinnedNanos.get());
+    }
+
+    /** Blocking application frames by how often they pinned, most frequent first. */
+    public Map<String, Long> frames() {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        frames.entrySet().stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue((a, b) -> Long.compare(b.sum(), a.sum())))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue().sum()));
+        return sorted;
+    }
+
+    @Override
+    public void close() {
+        stream.stop();
+        stream.close();
+    }
+
+    private void record(RecordedEvent event) {
+        events.increment();
+        pinnedNanos.addAndGet(event.getDuration().toNanos());
+        frames.computeIfAbsent(blockingFrame(event), frame -> new LongAdder()).increment();
+    }
+
+    // First frame outside the JDK, i.e. the application code that blocked while pinned
+    private static String blockingFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "(no stack trace)";
+        }
+        List<RecordedFrame> stack = event.getStackTrace().getFrames();
+        for (RecordedFrame frame : stack) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return stack.isEmpty() ? "(empty stack)" : stack.get(0).getMethod().getType().getName();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implements {@link RetryOnConflict}.
+ *
+ * Ordered ahead of the transaction interceptor (which uses the lowest precedence), so every attempt
+ * gets a fresh transaction and persistence context and sees the committed state of the winner.
+ * Records each conflict in {@link ObservabilityMetricsService} and the number of retries a call
+ * needed in the {@code library.write.retry.depth} histogram.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ConflictRetryAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConflictRetryAspect.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Counter pessimisticFallbacks;
+    private final Counter exhausted;
+
+    @Autowired
+    private ObservabilityMetricsService observabilityMetricsService;
+
+    public ConflictRetryAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.pessimisticFallbacks = Counter.builder("library.write.retry.pessimistic.fallbacks")
+                .description("Write retries that switched to pessimistic locking")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("library.write.retry.exhausted")
+                .description("Writes that still conflicted after the last attempt")
+                .register(meterRegistry);
+    }
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        // Nested retried methods join the outer attempt instead of multiplying the retries
+        if (ConflictRetryContext.isActive()) {
+            return joinPoint.proceed();
+        }
+
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        ConflictRetryContext context = ConflictRetryContext.begin();
+        int retries = 0;
+        try {
+            while (true) {
+                try {
+                    return joinPoint.proceed();
+                } catch (OptimisticLockingFailureException e) {
+                    observabilityMetricsService.recordConcurrentAccessConflict();
+                    if (retries + 1 >= retryOnConflict.maxAttempts()) {
+                        exhausted.increment();
+                        logger.warn("{} still conflicting after {} attempts: {}", method, retries + 1, e.getMessage());
+                        throw e;
+                    }
+                    retries++;
+                    boolean pessimistic = retryOnConflict.pessimisticAfter() > 0 && retries >= retryOnConflict.pessimisticAfter();
+                    if (pessimistic && !ConflictRetryContext.isPessimistic()) {
+                        pessimisticFallbacks.increment();
+                    }
+                    context.nextAttempt(pessimistic);
+                    try {
+                        Thread.sleep(backoffMillis(retryOnConflict, retries));
+                    } catch (InterruptedException interrupted) {
+                        // Give up with the conflict the caller can handle, and keep the interrupt
+                        Thread.currentThread().interrupt();
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            context.end();
+            DistributionSummary.builder("library.write.retry.depth")
+                    .description("Retries needed per write call because of optimistic locking conflicts")
+                    .tag("method", method)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(retries);
+        }
+    }
+
+    /**
+     * Exponential backoff with "equal jitter": half of the capped delay is fixed, the other half random,
+     * so contending writers spread out without ever retrying immediately.
+     */
+    static long backoffMillis(RetryOnConflict retryOnConflict, int retry) {
+        long capped = Math.min(retryOnConflict.maxBackoffMs(), retryOnConflict.initialBackoffMs() << Math.min(retry - 1, 20));
+        long half = capped / 2;
+        return half + ThreadLocalRandom.current().nextLong(capped - half + 1);
+    }
+}
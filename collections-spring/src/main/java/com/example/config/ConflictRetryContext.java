@@ -0,0 +1,51 @@
+package com.example.config;
+
+/**
+ * Per-thread state of the {@link RetryOnConflict} attempt in progress.
+ */
+public final class ConflictRetryContext {
+
+    private static final ThreadLocal<ConflictRetryContext> CURRENT = new ThreadLocal<>();
+
+    private int attempt;
+    private boolean pessimistic;
+
+    private ConflictRetryContext() {
+    }
+
+    /**
+     * True when the current attempt should lock its row pessimistically because earlier
+     * optimistic attempts kept conflicting.
+     */
+    public static boolean isPessimistic() {
+        ConflictRetryContext context = CURRENT.get();
+        return context != null && context.pessimistic;
+    }
+
+    /**
+     * Zero-based attempt number, 0 outside of a retried method.
+     */
+    public static int attempt() {
+        ConflictRetryContext context = CURRENT.get();
+        return context != null ? context.attempt : 0;
+    }
+
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static ConflictRetryContext begin() {
+        ConflictRetryContext context = new ConflictRetryContext();
+        CURRENT.set(context);
+        return context;
+    }
+
+    void nextAttempt(boolean pessimistic) {
+        this.attempt++;
+        this.pessimistic = pessimistic;
+    }
+
+    void end() {
+        CURRENT.remove();
+    }
+}
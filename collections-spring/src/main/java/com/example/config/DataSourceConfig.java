@@ -0,0 +1,73 @@
+package com.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * JDBC DataSource for JPA. Spring Boot's DataSource auto-configuration backs off as soon as an R2DBC
+ * ConnectionFactory exists (reactive API), so the Hikari pool is declared explicitly from the same
+ * {@code spring.datasource.*} properties.
+ *
+ * With {@code library.datasource.replica.enabled=true} a second pool is created from
+ * {@code library.datasource.replica.*} and read-only transactions are routed to it (see
+ * {@link ReadOnlyRoutingDataSource}). Without a replica URL the second pool points at the primary
+ * database, which keeps the routing testable locally.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.datasource.replica.enabled", havingValue = "true")
+    @ConfigurationProperties("library.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties dataSourceProperties,
+                                              @Value("${library.datasource.replica.url:}") String url,
+                                              @Value("${library.datasource.replica.username:}") String username,
+                                              @Value("${library.datasource.replica.password:}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(url.isBlank() ? dataSourceProperties.determineUrl() : url)
+                .username(username.isBlank() ? dataSourceProperties.determineUsername() : username)
+                .password(password.isBlank() ? dataSourceProperties.determinePassword() : password)
+                .build();
+        replica.setPoolName("replica");
+        // A write that was routed here by mistake fails instead of silently going to the stand-in primary
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource) {
+        HikariDataSource replica = replicaDataSource.getIfAvailable();
+        if (replica == null) {
+            return primaryDataSource;
+        }
+        return new LazyConnectionDataSourceProxy(new ReadOnlyRoutingDataSource(primaryDataSource, replica));
+    }
+}
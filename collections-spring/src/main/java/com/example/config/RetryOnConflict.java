@@ -0,0 +1,33 @@
+package com.example.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Retry a transactional write method when it loses an optimistic locking ({@code @Version}) race.
+ *
+ * Each attempt runs in its own transaction (see {@link ConflictRetryAspect}). Attempts are separated
+ * by a jittered exponential backoff; from attempt {@link #pessimisticAfter()} + 1 on,
+ * {@link ConflictRetryContext#isPessimistic()} is true so the method can read its row with a
+ * pessimistic lock instead of racing again.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    /** Total attempts, including the first one. */
+    int maxAttempts() default 5;
+
+    /** Backoff before the first retry; doubles with every further retry. */
+    long initialBackoffMs() default 5;
+
+    /** Upper bound of a single backoff. */
+    long maxBackoffMs() default 100;
+
+    /** Number of failed optimistic attempts before switching to pessimistic locking (0 = never). */
+    int pessimisticAfter() default 2;
+}
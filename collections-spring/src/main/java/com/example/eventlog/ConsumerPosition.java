@@ -0,0 +1,51 @@
+package com.example.eventlog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Committed position of one consumer group on one log: the offset of the next record to consume.
+ * Stored in an 8-byte memory-mapped file, so a commit is a single volatile-sized write.
+ */
+public class ConsumerPosition implements Closeable {
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private ConsumerPosition(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    public static ConsumerPosition open(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new ConsumerPosition(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES));
+    }
+
+    public synchronized long committed() {
+        return buffer.getLong(0);
+    }
+
+    public synchronized void commit(long nextOffset) {
+        if (nextOffset > buffer.getLong(0)) {
+            buffer.putLong(0, nextOffset);
+        }
+    }
+
+    public synchronized void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.eventlog;
+
+import org.springframework.kafka.support.Acknowledgment;
+
+/**
+ * Callback for records dispatched from the local event log.
+ * Mirrors the {@code (payload, partition, offset, acknowledgment)} signature of the Kafka
+ * listeners, so their methods can be subscribed directly as method references.
+ */
+@FunctionalInterface
+public interface EventLogListener<T> {
+
+    void onEvent(T event, int partition, long offset, Acknowledgment acknowledgment);
+
+    /**
+     * Called whenever the subscription has consumed everything currently in the log.
+     */
+    default void onCaughtUp() {
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.eventlog;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A record read back from a {@link MappedEventLog}.
+ */
+public class EventLogRecord {
+    private final long offset;
+    private final long timestamp;
+    private final String key;
+    private final byte[] payload;
+
+    public EventLogRecord(long offset, long timestamp, String key, byte[] payload) {
+        this.offset = offset;
+        this.timestamp = timestamp;
+        this.key = key;
+        this.payload = payload;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return "EventLogRecord{" +
+                "offset=" + offset +
+                ", timestamp=" + timestamp +
+                ", key='" + key + '\'' +
+                ", payload=" + new String(payload, StandardCharsets.UTF_8) +
+                '}';
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.eventlog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Broker-less replacement for Kafka on edge deployments: one {@link MappedEventLog} per topic
+ * under {@code library.event-log.dir}, with per-group committed positions and a dispatcher
+ * thread per subscription. Events are stored as JSON, like the Kafka JsonSerializer would
+ * send them, and survive restarts; consumers resume from their last acknowledged offset.
+ * Every topic has a single partition (0).
+ */
+@Component
+@ConditionalOnProperty(name = "library.event-log.enabled", havingValue = "true")
+public class LocalEventLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalEventLog.class);
+
+    private static final int POLL_BATCH_SIZE = 500;
+    private static final long POLL_TIMEOUT_MS = 1000;
+
+    private final Path baseDirectory;
+    private final int segmentBytes;
+    private final long retentionMillis;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, MappedEventLog> logs = new ConcurrentHashMap<>();
+    // Keyed by group@topic
+    private final Map<String, ConsumerPosition> positions = new ConcurrentHashMap<>();
+    private final List<Thread> dispatchers = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+
+    public LocalEventLog(ObjectMapper objectMapper,
+                         @Value("${library.event-log.dir:data/event-log}") String baseDirectory,
+                         @Value("${library.event-log.segment-bytes:67108864}") int segmentBytes,
+                         @Value("${library.event-log.retention-hours:168}") long retentionHours) {
+        this.objectMapper = objectMapper;
+        this.baseDirectory = Paths.get(baseDirectory);
+        this.segmentBytes = segmentBytes;
+        this.retentionMillis = retentionHours * 3_600_000L;
+    }
+
+    /**
+     * Append an event to the topic's log and return its offset.
+     */
+    public long publish(String topic, String key, Object event) {
+        try {
+            return log(topic).append(key, objectMapper.writeValueAsBytes(event), System.currentTimeMillis());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize event for topic " + topic, e);
+        }
+    }
+
+    /**
+     * Start dispatching the topic to the listener, resuming after the group's last acknowledged offset.
+     */
+    public <T> void subscribe(String groupId, String topic, Class<T> type, EventLogListener<T> listener) {
+        ConsumerPosition position = position(groupId, topic);
+        startDispatcher(groupId, topic, position.committed(), position, type, listener);
+    }
+
+    /**
+     * Start dispatching the topic to the listener from the given offset instead of the group's committed
+     * position, for consumers that track their own offsets (the equivalent of a Kafka seek). Positions
+     * are still committed through {@link #commit} or the records' acknowledgments.
+     */
+    public <T> void subscribe(String groupId, String topic, long fromOffset, Class<T> type, EventLogListener<T> listener) {
+        startDispatcher(groupId, topic, fromOffset, position(groupId, topic), type, listener);
+    }
+
+    /**
+     * Commit the group's position on the topic: the offset of the next record it has to consume.
+     */
+    public void commit(String groupId, String topic, long nextOffset) {
+        position(groupId, topic).commit(nextOffset);
+    }
+
+    private ConsumerPosition position(String groupId, String topic) {
+        return positions.computeIfAbsent(groupId + "@" + topic, key -> {
+            try {
+                return ConsumerPosition.open(baseDirectory.resolve("positions").resolve(key + ".pos"));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open position of group " + groupId + " on " + topic, e);
+            }
+        });
+    }
+
+    private <T> void startDispatcher(String groupId, String topic, long fromOffset, ConsumerPosition position,
+                                     Class<T> type, EventLogListener<T> listener) {
+        MappedEventLog log = log(topic);
+        Thread dispatcher = new Thread(() -> dispatch(log, fromOffset, position, type, listener), "event-log-" + groupId + "-" + topic);
+        dispatcher.setDaemon(true);
+        dispatchers.add(dispatcher);
+        dispatcher.start();
+        logger.info("Subscribed group {} to local topic {} from offset {}", groupId, topic, fromOffset);
+    }
+
+    private <T> void dispatch(MappedEventLog log, long fromOffset, ConsumerPosition position, Class<T> type,
+                              EventLogListener<T> listener) {
+        long next = fromOffset;
+        boolean caughtUp = false;
+        while (running) {
+            try {
+                List<EventLogRecord> records = log.read(next, POLL_BATCH_SIZE);
+                if (records.isEmpty()) {
+                    if (!caughtUp) {
+                        caughtUp = true;
+                        listener.onCaughtUp();
+                    }
+                    log.awaitRecords(next, POLL_TIMEOUT_MS);
+                    continue;
+                }
+                caughtUp = false;
+                for (EventLogRecord record : records) {
+                    long offset = record.getOffset();
+                    try {
+                        T event = objectMapper.readValue(record.getPayload(), type);
+                        listener.onEvent(event, 0, offset, () -> position.commit(offset + 1));
+                    } catch (Exception e) {
+                        // Same as a Kafka listener without an error handler: log and move on
+                        logger.error("Error dispatching local event at offset {}: {}", offset, e.getMessage());
+                    }
+                    next = offset + 1;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private MappedEventLog log(String topic) {
+        return logs.computeIfAbsent(topic, name -> {
+            try {
+                return MappedEventLog.open(baseDirectory.resolve(name), segmentBytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open local event log for topic " + name, e);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${library.event-log.flush-interval-ms:1000}")
+    public void flush() {
+        logs.values().forEach(MappedEventLog::flush);
+        positions.values().forEach(ConsumerPosition::flush);
+    }
+
+    @Scheduled(fixedDelayString = "${library.event-log.retention-check-interval-ms:600000}")
+    public void enforceRetention() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        logs.forEach((topic, log) -> {
+            int deleted = log.deleteSegmentsOlderThan(cutoff);
+            if (deleted > 0) {
+                logger.info("Retention removed {} segments of local topic {}, log now starts at {}",
+                        deleted, topic, log.startOffset());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        dispatchers.forEach(Thread::interrupt);
+        for (Thread dispatcher : dispatchers) {
+            try {
+                dispatcher.join(POLL_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (ConsumerPosition position : positions.values()) {
+            try {
+                position.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close consumer position: {}", e.getMessage());
+            }
+        }
+        for (MappedEventLog log : logs.values()) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close local event log: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.eventlog;
+
+import com.example.kafka.model.BookEvent;
+import com.example.kafka.model.BorrowEvent;
+import com.example.kafka.model.ObservabilityMetricEvent;
+import com.example.kafka.producer.KafkaProducerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Drop-in {@link KafkaProducerService} that appends to the embedded {@link LocalEventLog}
+ * instead of a broker. Topics and keys are the same as on Kafka.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "library.event-log.enabled", havingValue = "true")
+public class LocalEventLogProducerService extends KafkaProducerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalEventLogProducerService.class);
+
+    private final LocalEventLog localEventLog;
+
+    public LocalEventLogProducerService(LocalEventLog localEventLog) {
+        this.localEventLog = localEventLog;
+    }
+
+    @Override
+    public void sendBookEvent(BookEvent event) {
+        long offset = localEventLog.publish(BOOK_EVENTS_TOPIC, event.getBookId(), event);
+        logger.debug("Appended book event=[{}] to local log at offset=[{}]", event, offset);
+    }
+
+    @Override
+    public void sendBookEvents(List<BookEvent> events) {
+        for (BookEvent event : events) {
+            localEventLog.publish(BOOK_EVENTS_TOPIC, event.getBookId(), event);
+        }
+        logger.debug("Appended {} book events to local log", events.size());
+    }
+
+    @Override
+    public void sendBorrowEvent(BorrowEvent event) {
+        long offset = localEventLog.publish(BORROW_EVENTS_TOPIC, event.getBookTitle(), event);
+        logger.debug("Appended borrow event=[{}] to local log at offset=[{}]", event, offset);
+    }
+
+    @Override
+    public void sendToSpecificPartition(String message, int partition) {
+        // The local log has a single partition per topic
+        localEventLog.publish(PARTITION_DEMO_TOPIC, "partition-key-" + partition, message);
+    }
+
+    @Override
+    public void sendWithCustomKey(String topic, String key, Object message) {
+        localEventLog.publish(topic, key, message);
+    }
+
+    @Override
+    public void sendObservabilityMetricEvent(ObservabilityMetricEvent event) {
+        localEventLog.publish(OBSERVABILITY_METRICS_TOPIC, event.getMetricName(), event);
+    }
+}
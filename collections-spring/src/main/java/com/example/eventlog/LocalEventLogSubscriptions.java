@@ -0,0 +1,91 @@
+package com.example.eventlog;
+
+import com.example.kafka.consumer.ConsumerGroup1Service;
+import com.example.kafka.consumer.ConsumerGroup2Service;
+import com.example.kafka.consumer.KafkaConsumerService;
+import com.example.kafka.consumer.ObservabilityMetricsConsumer;
+import com.example.kafka.model.BookEvent;
+import com.example.kafka.model.BorrowEvent;
+import com.example.kafka.model.ObservabilityMetricEvent;
+import com.example.library.CatalogProjection;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import static com.example.kafka.producer.KafkaProducerService.*;
+
+/**
+ * Wires the existing Kafka listener methods to the local event log, using the same consumer
+ * group names as their {@code @KafkaListener} declarations. The Kafka listener containers
+ * themselves stay stopped ({@code library.kafka.listeners.auto-startup=false}).
+ */
+@Component
+@ConditionalOnProperty(name = "library.event-log.enabled", havingValue = "true")
+public class LocalEventLogSubscriptions {
+
+    private static final String CATALOG_PROJECTION_GROUP = "catalog-projection";
+
+    private final LocalEventLog localEventLog;
+    private final KafkaConsumerService kafkaConsumerService;
+    private final ConsumerGroup1Service consumerGroup1Service;
+    private final ConsumerGroup2Service consumerGroup2Service;
+    private final ObservabilityMetricsConsumer observabilityMetricsConsumer;
+    private final ObjectProvider<CatalogProjection> catalogProjection;
+
+    public LocalEventLogSubscriptions(LocalEventLog localEventLog,
+                                      KafkaConsumerService kafkaConsumerService,
+                                      ConsumerGroup1Service consumerGroup1Service,
+                                      ConsumerGroup2Service consumerGroup2Service,
+                                      ObservabilityMetricsConsumer observabilityMetricsConsumer,
+                                      ObjectProvider<CatalogProjection> catalogProjection) {
+        this.localEventLog = localEventLog;
+        this.kafkaConsumerService = kafkaConsumerService;
+        this.consumerGroup1Service = consumerGroup1Service;
+        this.consumerGroup2Service = consumerGroup2Service;
+        this.observabilityMetricsConsumer = observabilityMetricsConsumer;
+        this.catalogProjection = catalogProjection;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        localEventLog.subscribe("library-group", BOOK_EVENTS_TOPIC, BookEvent.class, kafkaConsumerService::consumeBookEvents);
+        localEventLog.subscribe("library-group", BORROW_EVENTS_TOPIC, BorrowEvent.class, kafkaConsumerService::consumeBorrowEvents);
+        localEventLog.subscribe("library-group-1", BOOK_EVENTS_TOPIC, BookEvent.class, consumerGroup1Service::consumeForAnalytics);
+        localEventLog.subscribe("library-group-1", BORROW_EVENTS_TOPIC, BorrowEvent.class, consumerGroup1Service::consumeBorrowForAnalytics);
+        localEventLog.subscribe("library-group-2", BOOK_EVENTS_TOPIC, BookEvent.class, consumerGroup2Service::consumeForNotifications);
+        localEventLog.subscribe("library-group-2", BORROW_EVENTS_TOPIC, BorrowEvent.class, consumerGroup2Service::consumeBorrowForNotifications);
+        localEventLog.subscribe("observability-metrics-group", OBSERVABILITY_METRICS_TOPIC, ObservabilityMetricEvent.class,
+                observabilityMetricsConsumer::consumeObservabilityMetricEvent);
+
+        catalogProjection.ifAvailable(this::subscribeProjection);
+    }
+
+    /**
+     * The projection resumes from the offsets in its snapshot, or replays the whole log without one, and
+     * its group position is committed only up to what a written snapshot holds: committing applied
+     * events that no snapshot has captured yet would skip them after a restart.
+     */
+    private void subscribeProjection(CatalogProjection projection) {
+        projection.onSnapshotWritten(offsets -> {
+            Long applied = offsets.get(0);
+            if (applied != null) {
+                localEventLog.commit(CATALOG_PROJECTION_GROUP, BOOK_EVENTS_TOPIC, applied + 1);
+            }
+        });
+        localEventLog.subscribe(CATALOG_PROJECTION_GROUP, BOOK_EVENTS_TOPIC, projection.resumeOffset(0).orElse(0L),
+                BookEvent.class, new EventLogListener<BookEvent>() {
+                    @Override
+                    public void onEvent(BookEvent event, int partition, long offset, Acknowledgment acknowledgment) {
+                        projection.apply(event, partition, offset);
+                    }
+
+                    @Override
+                    public void onCaughtUp() {
+                        projection.markReady();
+                    }
+                });
+    }
+}
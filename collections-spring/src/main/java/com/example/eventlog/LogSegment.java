@@ -0,0 +1,175 @@
+package com.example.eventlog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * One fixed-size, memory-mapped file of a {@link MappedEventLog}, named after the offset of its
+ * first record. Record layout:
+ *
+ * <pre>
+ * int  bodyLength   (0 marks the end of written data - the file is zero-filled)
+ * int  crc32c(body)
+ * body:
+ *   long offset
+ *   long timestamp
+ *   int  keyLength, key bytes (UTF-8)
+ *   payload bytes (rest of the body)
+ * </pre>
+ *
+ * Appends come from a single writer; readers may run concurrently and only see records whose
+ * position has been published through the volatile record count.
+ */
+class LogSegment implements Closeable {
+
+    private static final int FRAME_HEADER = 8;
+    private static final int BODY_HEADER = 8 + 8 + 4;
+
+    private final Path path;
+    private final long baseOffset;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private int writePosition;
+    private volatile int[] positions = new int[1024];
+    private volatile int count;
+    private volatile long lastTimestamp;
+
+    private LogSegment(Path path, long baseOffset, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseOffset = baseOffset;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static LogSegment open(Path path, long baseOffset, int segmentBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int size = (int) Math.max(segmentBytes, channel.size());
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        LogSegment segment = new LogSegment(path, baseOffset, channel, buffer);
+        segment.recover();
+        return segment;
+    }
+
+    static Path fileName(Path directory, long baseOffset) {
+        return directory.resolve(String.format("%020d.log", baseOffset));
+    }
+
+    /**
+     * Scan the written records, stopping at the first empty or torn (CRC mismatch) frame.
+     */
+    private void recover() {
+        int position = 0;
+        CRC32C crc = new CRC32C();
+        while (position + FRAME_HEADER + BODY_HEADER <= buffer.capacity()) {
+            int bodyLength = buffer.getInt(position);
+            if (bodyLength < BODY_HEADER || position + FRAME_HEADER + bodyLength > buffer.capacity()) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(position + FRAME_HEADER, bodyLength));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)
+                    || buffer.getLong(position + FRAME_HEADER) != baseOffset + count) {
+                break;
+            }
+            lastTimestamp = buffer.getLong(position + FRAME_HEADER + 8);
+            publish(position);
+            position += FRAME_HEADER + bodyLength;
+        }
+        writePosition = position;
+    }
+
+    /**
+     * Append a record, returning false if it does not fit into the remaining space.
+     */
+    boolean append(long offset, long timestamp, byte[] key, byte[] payload) {
+        int bodyLength = BODY_HEADER + key.length + payload.length;
+        if (writePosition + FRAME_HEADER + bodyLength > buffer.capacity()) {
+            return false;
+        }
+        int body = writePosition + FRAME_HEADER;
+        buffer.putLong(body, offset);
+        buffer.putLong(body + 8, timestamp);
+        buffer.putInt(body + 16, key.length);
+        buffer.put(body + BODY_HEADER, key);
+        buffer.put(body + BODY_HEADER + key.length, payload);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(body, bodyLength));
+        buffer.putInt(writePosition + 4, (int) crc.getValue());
+        // Length goes last so a crash mid-append leaves an empty or invalid frame
+        buffer.putInt(writePosition, bodyLength);
+
+        lastTimestamp = timestamp;
+        publish(writePosition);
+        writePosition += FRAME_HEADER + bodyLength;
+        return true;
+    }
+
+    private void publish(int position) {
+        int[] current = positions;
+        if (count == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+            positions = current;
+        }
+        current[count] = position;
+        count++;
+    }
+
+    EventLogRecord read(long offset) {
+        int position = positions[(int) (offset - baseOffset)];
+        int bodyLength = buffer.getInt(position);
+        int body = position + FRAME_HEADER;
+        long timestamp = buffer.getLong(body + 8);
+        int keyLength = buffer.getInt(body + 16);
+
+        byte[] key = new byte[keyLength];
+        buffer.get(body + BODY_HEADER, key);
+        byte[] payload = new byte[bodyLength - BODY_HEADER - keyLength];
+        buffer.get(body + BODY_HEADER + keyLength, payload);
+        return new EventLogRecord(offset, timestamp, new String(key, StandardCharsets.UTF_8), payload);
+    }
+
+    static int maxRecordBytes(int segmentBytes) {
+        return segmentBytes - FRAME_HEADER - BODY_HEADER;
+    }
+
+    long baseOffset() {
+        return baseOffset;
+    }
+
+    long nextOffset() {
+        return baseOffset + count;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    void flush() {
+        buffer.force();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
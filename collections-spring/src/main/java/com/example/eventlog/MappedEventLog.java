@@ -0,0 +1,173 @@
+package com.example.eventlog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Embedded append-only log for one topic, stored as a directory of memory-mapped segments.
+ *
+ * Records get consecutive offsets starting at 0 and are never modified after being written.
+ * When the active segment is full a new one is rolled, named after its first offset; retention
+ * drops whole segments whose newest record is older than the cutoff, moving the log start
+ * offset forward. Appends are serialized, reads are lock-free.
+ */
+public class MappedEventLog implements Closeable {
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+    private final Object appendSignal = new Object();
+    private volatile LogSegment active;
+
+    private MappedEventLog(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Open (or create) the log in the given directory, recovering existing segments.
+     */
+    public static MappedEventLog open(Path directory, int segmentBytes) throws IOException {
+        Files.createDirectories(directory);
+        MappedEventLog log = new MappedEventLog(directory, segmentBytes);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.getFileName().toString().endsWith(".log"))::iterator) {
+                String name = file.getFileName().toString();
+                long baseOffset = Long.parseLong(name.substring(0, name.length() - ".log".length()));
+                log.segments.put(baseOffset, LogSegment.open(file, baseOffset, segmentBytes));
+            }
+        }
+        if (log.segments.isEmpty()) {
+            log.segments.put(0L, LogSegment.open(LogSegment.fileName(directory, 0), 0, segmentBytes));
+        }
+        log.active = log.segments.lastEntry().getValue();
+        return log;
+    }
+
+    /**
+     * Append a record and return its offset.
+     */
+    public long append(String key, byte[] payload, long timestamp) {
+        byte[] keyBytes = key == null ? new byte[0] : key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length + payload.length > LogSegment.maxRecordBytes(segmentBytes)) {
+            throw new IllegalArgumentException("Record of " + (keyBytes.length + payload.length)
+                    + " bytes does not fit into a segment of " + segmentBytes + " bytes");
+        }
+        long offset;
+        synchronized (this) {
+            offset = active.nextOffset();
+            if (!active.append(offset, timestamp, keyBytes, payload)) {
+                roll(offset);
+                active.append(offset, timestamp, keyBytes, payload);
+            }
+        }
+        synchronized (appendSignal) {
+            appendSignal.notifyAll();
+        }
+        return offset;
+    }
+
+    private void roll(long baseOffset) {
+        try {
+            LogSegment segment = LogSegment.open(LogSegment.fileName(directory, baseOffset), baseOffset, segmentBytes);
+            segments.put(baseOffset, segment);
+            active = segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll segment at offset " + baseOffset + " in " + directory, e);
+        }
+    }
+
+    /**
+     * Read up to {@code maxRecords} records starting at {@code fromOffset}.
+     * Offsets below the log start (removed by retention) are skipped.
+     */
+    public List<EventLogRecord> read(long fromOffset, int maxRecords) {
+        List<EventLogRecord> records = new ArrayList<>(Math.min(maxRecords, 512));
+        long offset = Math.max(fromOffset, startOffset());
+        Map.Entry<Long, LogSegment> entry = segments.floorEntry(offset);
+        while (entry != null && records.size() < maxRecords) {
+            LogSegment segment = entry.getValue();
+            long end = segment.nextOffset();
+            while (offset < end && records.size() < maxRecords) {
+                records.add(segment.read(offset++));
+            }
+            if (segment == active) {
+                break;
+            }
+            entry = segments.higherEntry(entry.getKey());
+        }
+        return records;
+    }
+
+    /**
+     * Block until a record at {@code offset} exists or the timeout elapses.
+     */
+    public boolean awaitRecords(long offset, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (appendSignal) {
+            while (endOffset() <= offset) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                appendSignal.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    public long startOffset() {
+        return segments.firstKey();
+    }
+
+    public long endOffset() {
+        return active.nextOffset();
+    }
+
+    /**
+     * Delete closed segments whose newest record is older than the cutoff.
+     *
+     * @return number of deleted segments
+     */
+    public synchronized int deleteSegmentsOlderThan(long cutoffTimestamp) {
+        int deleted = 0;
+        for (LogSegment segment : new ArrayList<>(segments.values())) {
+            if (segment == active || segment.isEmpty() || segment.lastTimestamp() >= cutoffTimestamp) {
+                break;
+            }
+            segments.remove(segment.baseOffset());
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete segment " + segment.baseOffset() + " in " + directory, e);
+            }
+            deleted++;
+        }
+        return deleted;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public synchronized void flush() {
+        active.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (LogSegment segment : segments.values()) {
+            segment.flush();
+            segment.close();
+        }
+    }
+}
@@ -10,12 +10,15 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import reactor.kafka.sender.SenderOptions;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Configuration
 @EnableKafka
@@ -27,9 +30,17 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id:library-group}")
     private String groupId;
 
+    // Off when another transport (the local event log) feeds the listener methods
+    @Value("${library.kafka.listeners.auto-startup:true}")
+    private boolean listenersAutoStartup;
+
     // Producer Configuration
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    }
+
+    private Map<String, Object> producerConfigs() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
@@ -42,7 +53,7 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.LINGER_MS_CONFIG, 1);
         configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
         
-        return new DefaultKafkaProducerFactory<>(configProps);
+        return configProps;
     }
 
     @Bean
@@ -50,6 +61,12 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    // Non-blocking sender for the reactive API (same producer settings)
+    @Bean
+    public ReactiveKafkaProducerTemplate<String, Object> reactiveKafkaProducerTemplate() {
+        return new ReactiveKafkaProducerTemplate<>(SenderOptions.create(producerConfigs()));
+    }
+
     // Consumer Configuration
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
@@ -79,6 +96,7 @@ public class KafkaConfig {
         // Set concurrency level (number of consumer threads)
         factory.setConcurrency(3);
         
+        factory.setAutoStartup(listenersAutoStartup);
         return factory;
     }
 
@@ -114,6 +132,7 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerGroup1Factory());
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setAutoStartup(listenersAutoStartup);
         return factory;
     }
 
@@ -122,6 +141,47 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerGroup2Factory());
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setAutoStartup(listenersAutoStartup);
+        return factory;
+    }
+
+    // Catalog read model: a per-instance group so every node replays the whole topic
+    @Bean("catalogProjectionListenerFactory")
+    public ConcurrentKafkaListenerContainerFactory<String, Object> catalogProjectionListenerFactory(
+            @Value("${library.read-model.idle-event-interval-ms:2000}") long idleEventInterval) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "catalog-projection-" + UUID.randomUUID());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        // Idle events signal that the replay has caught up with the end of the topic
+        factory.getContainerProperties().setIdleEventInterval(idleEventInterval);
+        factory.setAutoStartup(listenersAutoStartup);
+        return factory;
+    }
+
+    // Second-level cache eviction: a per-instance group so every node evicts on every change.
+    // A fresh cache has nothing to evict, so only events from now on matter.
+    @Bean("cacheEvictionListenerFactory")
+    public ConcurrentKafkaListenerContainerFactory<String, Object> cacheEvictionListenerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "library-cache-eviction-" + UUID.randomUUID());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setAutoStartup(listenersAutoStartup);
         return factory;
     }
 }
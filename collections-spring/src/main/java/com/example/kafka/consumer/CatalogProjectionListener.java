@@ -0,0 +1,83 @@
+package com.example.kafka.consumer;
+
+import com.example.kafka.model.BookEvent;
+import com.example.kafka.producer.KafkaProducerService;
+import com.example.library.CatalogProjection;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Feeds the catalog read model from book-events.
+ * Each instance uses its own consumer group, so every node sees every event, and seeks to the
+ * offsets recorded in the projection snapshot instead of relying on committed group offsets.
+ */
+@Service
+@ConditionalOnProperty(name = "library.read-model.enabled", havingValue = "true")
+public class CatalogProjectionListener implements ConsumerSeekAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogProjectionListener.class);
+
+    static final String LISTENER_ID = "catalog-projection";
+
+    private final CatalogProjection catalogProjection;
+
+    public CatalogProjectionListener(CatalogProjection catalogProjection) {
+        this.catalogProjection = catalogProjection;
+    }
+
+    @KafkaListener(
+        id = LISTENER_ID,
+        idIsGroup = false,
+        topics = KafkaProducerService.BOOK_EVENTS_TOPIC,
+        containerFactory = "catalogProjectionListenerFactory"
+    )
+    public void consumeBookEvent(ConsumerRecord<String, BookEvent> record) {
+        catalogProjection.apply(record.value(), record.partition(), record.offset());
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        // Newly assigned partitions may be behind, so serve from the database until idle again
+        catalogProjection.markCatchingUp();
+        assignments.keySet().forEach(topicPartition -> {
+            int partition = topicPartition.partition();
+            catalogProjection.resumeOffset(partition).ifPresentOrElse(
+                offset -> {
+                    logger.info("Resuming catalog projection on {} from snapshot offset {}", topicPartition, offset);
+                    callback.seek(topicPartition.topic(), partition, offset);
+                },
+                () -> {
+                    logger.info("Replaying catalog projection on {} from the beginning", topicPartition);
+                    callback.seekToBeginning(topicPartition.topic(), partition);
+                });
+        });
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        if (!partitions.isEmpty()) {
+            catalogProjection.markCatchingUp();
+        }
+    }
+
+    /**
+     * The container goes idle once there is nothing left to replay - the projection has caught up.
+     */
+    @EventListener
+    public void onContainerIdle(ListenerContainerIdleEvent event) {
+        if (event.getListenerId().startsWith(LISTENER_ID)) {
+            catalogProjection.markReady();
+        }
+    }
+}
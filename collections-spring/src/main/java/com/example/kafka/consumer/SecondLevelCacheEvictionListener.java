@@ -0,0 +1,63 @@
+package com.example.kafka.consumer;
+
+import com.example.kafka.model.BookEvent;
+import com.example.kafka.model.BorrowEvent;
+import com.example.kafka.producer.KafkaProducerService;
+import com.example.library.BookCacheEvictor;
+import com.example.library.BookEntity;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the in-process second-level cache coherent across instances: every book or borrow event
+ * evicts the affected {@link BookEntity} from the local cache, whichever node wrote it.
+ * Each instance uses its own consumer group, so every node sees every event.
+ *
+ * Both kinds of event also drop the cached query results - the update timestamps that would otherwise
+ * invalidate them are only maintained for writes made on this node, and the versioned title lookup
+ * caches the version and update time that a borrow changes.
+ */
+@Service
+@ConditionalOnProperty(name = "library.cache.eviction.enabled", havingValue = "true")
+public class SecondLevelCacheEvictionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheEvictionListener.class);
+
+    private final BookCacheEvictor bookCacheEvictor;
+
+    public SecondLevelCacheEvictionListener(BookCacheEvictor bookCacheEvictor) {
+        this.bookCacheEvictor = bookCacheEvictor;
+    }
+
+    @KafkaListener(
+        id = "l2-cache-eviction-books",
+        idIsGroup = false,
+        topics = KafkaProducerService.BOOK_EVENTS_TOPIC,
+        containerFactory = "cacheEvictionListenerFactory"
+    )
+    public void onBookEvent(ConsumerRecord<String, BookEvent> record) {
+        evictBook(record.value().getEntityId());
+    }
+
+    @KafkaListener(
+        id = "l2-cache-eviction-borrows",
+        idIsGroup = false,
+        topics = KafkaProducerService.BORROW_EVENTS_TOPIC,
+        containerFactory = "cacheEvictionListenerFactory"
+    )
+    public void onBorrowEvent(ConsumerRecord<String, BorrowEvent> record) {
+        evictBook(record.value().getEntityId());
+    }
+
+    private void evictBook(Long entityId) {
+        if (entityId == null) {
+            // Events from older producers carry no id; drop the whole region rather than serve stale rows
+            logger.debug("Event without entity id, evicting all cached books");
+        }
+        bookCacheEvictor.evictBook(entityId);
+    }
+}
@@ -10,12 +10,18 @@ public class BookEvent {
     @JsonProperty("bookId")
     private String bookId;
     
+    @JsonProperty("entityId")
+    private Long entityId;
+    
     @JsonProperty("title")
     private String title;
     
     @JsonProperty("author")
     private String author;
     
+    @JsonProperty("previousTitle")
+    private String previousTitle;
+    
     @JsonProperty("timestamp")
     private long timestamp;
     
@@ -54,6 +60,14 @@ public class BookEvent {
         this.bookId = bookId;
     }
 
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -70,6 +84,14 @@ public class BookEvent {
         this.author = author;
     }
 
+    public String getPreviousTitle() {
+        return previousTitle;
+    }
+
+    public void setPreviousTitle(String previousTitle) {
+        this.previousTitle = previousTitle;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -99,8 +121,10 @@ public class BookEvent {
         return "BookEvent{" +
                 "eventType='" + eventType + '\'' +
                 ", bookId='" + bookId + '\'' +
+                ", entityId=" + entityId +
                 ", title='" + title + '\'' +
                 ", author='" + author + '\'' +
+                ", previousTitle='" + previousTitle + '\'' +
                 ", timestamp=" + timestamp +
                 ", partition=" + partition +
                 ", offset=" + offset +
@@ -7,6 +7,9 @@ public class BorrowEvent {
     @JsonProperty("eventType")
     private String eventType;
     
+    @JsonProperty("entityId")
+    private Long entityId;
+    
     @JsonProperty("bookTitle")
     private String bookTitle;
     
@@ -40,6 +43,14 @@ public class BorrowEvent {
         this.eventType = eventType;
     }
 
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
     public String getBookTitle() {
         return bookTitle;
     }
@@ -76,6 +87,7 @@ public class BorrowEvent {
     public String toString() {
         return "BorrowEvent{" +
                 "eventType='" + eventType + '\'' +
+                ", entityId=" + entityId +
                 ", bookTitle='" + bookTitle + '\'' +
                 ", borrowCount=" + borrowCount +
                 ", timestamp=" + timestamp +
@@ -10,6 +10,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 @Service
@@ -102,6 +103,27 @@ public class KafkaProducerService {
         });
     }
 
+    /**
+     * Send many book events at once (bulk import); the producer batches them by key
+     */
+    public void sendBookEvents(List<BookEvent> events) {
+        logger.info("Sending {} book events", events.size());
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            BookEvent event = events.get(i);
+            futures[i] = kafkaTemplate.send(BOOK_EVENTS_TOPIC, event.getBookId(), event);
+        }
+
+        CompletableFuture.allOf(futures).whenComplete((result, exception) -> {
+            if (exception == null) {
+                logger.info("Sent {} book events", events.size());
+            } else {
+                logger.error("Unable to send all of {} book events due to: {}", events.size(), exception.getMessage());
+            }
+        });
+    }
+
     /**
      * Demonstrate batch sending
      */
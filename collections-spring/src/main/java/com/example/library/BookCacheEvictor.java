@@ -0,0 +1,45 @@
+package com.example.library;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Evicts books from the second-level cache after writes Hibernate does not see: the R2DBC API, the
+ * JDBC catalog import, and changes announced by other instances.
+ *
+ * Cached query results are dropped as a whole. The only cacheable queries are the title lookups on
+ * {@code books}, and they hold both "not found" results and the version and update time of a book, so
+ * any insert or update can make them stale.
+ */
+@Component
+public class BookCacheEvictor {
+
+    private final Cache cache;
+
+    public BookCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /**
+     * Drop one book, or every cached book if the id is unknown, and the cached title lookups.
+     */
+    public void evictBook(Long id) {
+        if (id != null) {
+            cache.evictEntityData(BookEntity.class, id);
+        } else {
+            cache.evictEntityData(BookEntity.class);
+        }
+        cache.evictQueryRegions();
+    }
+
+    public void evictBooks(Collection<Long> ids) {
+        for (Long id : ids) {
+            cache.evictEntityData(BookEntity.class, id);
+        }
+        cache.evictQueryRegions();
+    }
+}
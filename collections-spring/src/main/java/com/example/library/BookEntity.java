@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "books")
+@Cacheable // second-level cache; the concurrency strategy comes from library.cache.strategy
 public class BookEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,24 +1,61 @@
 package com.example.library;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookRepository extends JpaRepository<BookEntity, Long> {
     
+    // Title lookups go through the query cache; any write to books invalidates the cached results
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<BookEntity> findByTitleIgnoreCase(String title);
+
+    // Duplicate check of the write path: not cached, and run in the caller's read-write transaction
+    boolean existsByTitleIgnoreCase(String title);
+
+    // Projections straight into the API types: no managed entities, no snapshots to dirty-check
+    @Query("SELECT new com.example.library.VersionedBook(b.id, b.title, b.author, b.version, b.updatedAt) FROM BookEntity b "
+            + "WHERE lower(b.title) = lower(:title)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<VersionedBook> findVersionedByTitleIgnoreCase(@Param("title") String title);
+
+    @Query("SELECT new com.example.library.Book(b.title, b.author) FROM BookEntity b")
+    List<Book> findAllBooks();
+
+    @Query("SELECT b.id AS id, b.title AS title, b.borrowCount AS borrowCount FROM BookEntity b")
+    List<BorrowCountView> findAllBorrowCounts();
+
+    @Query("SELECT COALESCE(SUM(b.borrowCount), 0) FROM BookEntity b")
+    long sumBorrowCounts();
+
+    @Query("SELECT lower(b.title) FROM BookEntity b")
+    List<String> findAllLowercaseTitles();
     
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT b FROM BookEntity b WHERE b.title = :title")
     Optional<BookEntity> findByTitleWithPessimisticLock(@Param("title") String title);
     
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BookEntity b WHERE lower(b.title) = lower(:title)")
+    Optional<BookEntity> findByTitleIgnoreCaseForUpdate(@Param("title") String title);
+    
     @Lock(LockModeType.OPTIMISTIC)
     @Query("SELECT b FROM BookEntity b WHERE b.title = :title")
     Optional<BookEntity> findByTitleWithOptimisticLock(@Param("title") String title);
+
+    // Read-modify-write in one UPDATE statement, so there is no window for a lost update
+    @Modifying
+    @Query("UPDATE BookEntity b SET b.borrowCount = COALESCE(b.borrowCount, 0) + 1, b.version = b.version + 1 WHERE b.title = :title")
+    int incrementBorrowCount(@Param("title") String title);
 }
@@ -0,0 +1,76 @@
+package com.example.library;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+
+/**
+ * Full-catalog scans through a Hibernate {@link StatelessSession}: rows are fetched from a forward-only
+ * cursor in batches of {@code library.scan.fetch-size} and handed to the consumer one at a time, with no
+ * persistence context growing alongside. Memory stays flat however large the table is.
+ *
+ * The stateless session runs on the JDBC connection of the surrounding read-only transaction, so it
+ * sees the same snapshot and goes to the same pool (replica, if configured) as the other read paths.
+ */
+@Component
+public class BookScanner {
+
+    private static final String BOOK_QUERY =
+            "SELECT new com.example.library.Book(b.title, b.author) FROM BookEntity b ORDER BY b.id";
+
+    private static final String ROW_QUERY =
+            "SELECT b.id, b.title, b.author, b.borrowCount FROM BookEntity b ORDER BY b.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${library.scan.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Feed every book to the consumer in id order.
+     *
+     * @return the number of books scanned
+     */
+    @Transactional(readOnly = true)
+    public long forEachBook(Consumer<Book> consumer) {
+        return scan(BOOK_QUERY, Book.class, consumer);
+    }
+
+    /**
+     * Feed {@code [id, title, author, borrowCount]} of every book to the consumer in id order. The borrow
+     * count is the column value, without sharded counter slots.
+     *
+     * @return the number of books scanned
+     */
+    @Transactional(readOnly = true)
+    public long forEachBookRow(Consumer<Object[]> consumer) {
+        return scan(ROW_QUERY, Object[].class, consumer);
+    }
+
+    private <T> long scan(String query, Class<T> type, Consumer<T> consumer) {
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            long scanned = 0;
+            try (StatelessSession session = sessionFactory.withStatelessOptions().connection(connection).openStatelessSession();
+                 ScrollableResults<T> rows = session.createSelectionQuery(query, type)
+                         .setFetchSize(fetchSize)
+                         .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    consumer.accept(rows.get());
+                    scanned++;
+                }
+            }
+            return scanned;
+        });
+    }
+}
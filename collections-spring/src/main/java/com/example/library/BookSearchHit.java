@@ -0,0 +1,34 @@
+package com.example.library;
+
+public class BookSearchHit {
+    private final String title;
+    private final String author;
+    private final long borrowCount;
+
+    public BookSearchHit(String title, String author, long borrowCount) {
+        this.title = title;
+        this.author = author;
+        this.borrowCount = borrowCount;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    @Override
+    public String toString() {
+        return "BookSearchHit{" +
+                "title='" + title + '\'' +
+                ", author='" + author + '\'' +
+                ", borrowCount=" + borrowCount +
+                '}';
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.library;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contention benchmark for the borrow paths: N concurrent borrowers against K hot titles on the
+ * configured database, one strategy after another.
+ *
+ * Every strategy gets fresh titles with a zero borrow count and the same seeded title sequence per
+ * thread, so runs are repeatable. Afterwards the final borrow counts are compared with the number of
+ * successful borrows to detect lost updates, and the titles are removed again.
+ */
+@Service
+public class BorrowContentionBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(BorrowContentionBenchmark.class);
+
+    private static final String TITLE_PREFIX = "contention-benchmark-";
+    private static final String DEADLOCK_SQL_STATE = "40P01";
+    private static final String SERIALIZATION_FAILURE_SQL_STATE = "40001";
+
+    public enum Strategy {
+        /**
+         * {@code LibraryService.borrow}: read, increment and save with the entity version check. Its
+         * {@code @RetryOnConflict} retries conflicts internally, falling back to a row lock; those retries
+         * are taken from the {@code library.write.retry.depth} summary
+         */
+        PLAIN,
+        /** {@code SELECT ... FOR UPDATE}, then increment */
+        PESSIMISTIC,
+        /** Version-checked update, retried on conflict */
+        OPTIMISTIC,
+        /** Single {@code UPDATE ... SET borrow_count = borrow_count + 1} */
+        ATOMIC
+    }
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private TransactionDemoService transactionDemoService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ShardedBorrowCounter shardedBorrowCounter;
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public List<BorrowContentionResult> run(List<Strategy> strategies, int threads, int titles,
+                                            int operations, int maxRetries) throws InterruptedException {
+        List<BorrowContentionResult> results = new ArrayList<>();
+        for (Strategy strategy : strategies) {
+            results.add(run(strategy, threads, titles, operations, maxRetries));
+        }
+        return results;
+    }
+
+    private BorrowContentionResult run(Strategy strategy, int threads, int titles,
+                                       int operations, int maxRetries) throws InterruptedException {
+        List<String> hotTitles = createTitles(strategy, titles);
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong retries = new AtomicLong();
+        AtomicLong deadlocks = new AtomicLong();
+        long[][] latencies = new long[threads][];
+        double plainRetriesBefore = plainRetries();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        long elapsedNanos;
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                int share = operations / threads + (thread < operations % threads ? 1 : 0);
+                workers.add(executor.submit(() -> {
+                    Random random = new Random(31L * thread + 17);
+                    long[] own = new long[share];
+                    int recorded = 0;
+                    start.await();
+                    for (int i = 0; i < share; i++) {
+                        String title = hotTitles.get(random.nextInt(hotTitles.size()));
+                        long begin = System.nanoTime();
+                        if (borrow(strategy, title, maxRetries, retries, deadlocks)) {
+                            succeeded.incrementAndGet();
+                            own[recorded++] = System.nanoTime() - begin;
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    latencies[thread] = Arrays.copyOf(own, recorded);
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Benchmark worker failed", e.getCause());
+                }
+            }
+            elapsedNanos = System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+        if (strategy == Strategy.PLAIN) {
+            retries.addAndGet(Math.round(plainRetries() - plainRetriesBefore));
+        }
+
+        long counted = 0;
+        for (String title : hotTitles) {
+            counted += bookRepository.findByTitleIgnoreCase(title)
+                    .map(book -> (book.getBorrowCount() != null ? book.getBorrowCount() : 0)
+                            + shardedBorrowCounter.slotTotal(book.getId()))
+                    .orElse(0L);
+        }
+        removeTitles(hotTitles);
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        BorrowContentionResult result = new BorrowContentionResult(strategy, threads, titles, operations,
+                succeeded.get(), failed.get(), retries.get(), deadlocks.get(),
+                Math.max(0, succeeded.get() - counted),
+                succeeded.get() / (elapsedNanos / 1e9),
+                percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6,
+                all.length > 0 ? all[all.length - 1] / 1e6 : 0.0,
+                elapsedNanos / 1_000_000);
+        logger.info("Borrow contention {}: {} ok, {} failed, {} retries, {} deadlocks, {} lost, {}/s, p50 {} ms, p99 {} ms",
+                strategy, result.getSucceeded(), result.getFailed(), result.getRetries(), result.getDeadlocks(),
+                result.getLostUpdates(), Math.round(result.getThroughputPerSecond()),
+                String.format("%.2f", result.getP50Millis()), String.format("%.2f", result.getP99Millis()));
+        return result;
+    }
+
+    /**
+     * One borrow with the given strategy; false if it did not commit.
+     */
+    private boolean borrow(Strategy strategy, String title, int maxRetries, AtomicLong retries, AtomicLong deadlocks) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                switch (strategy) {
+                    case PLAIN -> {
+                        if (libraryService.borrow(title) < 0) return false;
+                    }
+                    case PESSIMISTIC -> transactionDemoService.borrowBookWithPessimisticLock(title);
+                    case OPTIMISTIC -> transactionDemoService.borrowBookWithOptimisticLock(title);
+                    case ATOMIC -> transactionDemoService.borrowBookAtomically(title);
+                }
+                return true;
+            } catch (RuntimeException e) {
+                if (isDeadlock(e)) {
+                    deadlocks.incrementAndGet();
+                    return false;
+                }
+                boolean conflict = e instanceof OptimisticLockingFailureException
+                        || hasSqlState(e, SERIALIZATION_FAILURE_SQL_STATE);
+                if (strategy == Strategy.OPTIMISTIC && conflict && attempt < maxRetries) {
+                    retries.incrementAndGet();
+                    continue;
+                }
+                if (!conflict) {
+                    logger.debug("Borrow of {} with {} failed: {}", title, strategy, e.getMessage());
+                }
+                return false;
+            }
+        }
+    }
+
+    // Retries done inside LibraryService.borrow by ConflictRetryAspect, summed over all calls so far
+    private double plainRetries() {
+        DistributionSummary depth = meterRegistry.find("library.write.retry.depth")
+                .tag("method", "LibraryService.borrow")
+                .summary();
+        return depth != null ? depth.totalAmount() : 0;
+    }
+
+    static boolean isDeadlock(Throwable e) {
+        return hasSqlState(e, DEADLOCK_SQL_STATE)
+                || (e instanceof PessimisticLockingFailureException && !(e instanceof CannotAcquireLockException));
+    }
+
+    private static boolean hasSqlState(Throwable e, String sqlState) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && sqlState.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> createTitles(Strategy strategy, int titles) {
+        String runId = strategy.name().toLowerCase() + "-" + System.currentTimeMillis();
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < titles; i++) {
+            String title = TITLE_PREFIX + runId + "-" + i;
+            bookRepository.saveAndFlush(new BookEntity(title, "Benchmark"));
+            created.add(title);
+        }
+        transactionTemplate.executeWithoutResult(tx -> catalogVersionRepository.increment());
+        return created;
+    }
+
+    private void removeTitles(List<String> titles) {
+        for (String title : titles) {
+            bookRepository.findByTitleIgnoreCase(title).ifPresent(book -> {
+                bookRepository.delete(book);
+                transactionTemplate.executeWithoutResult(tx -> shardedBorrowCounter.remove(book.getId()));
+            });
+        }
+        transactionTemplate.executeWithoutResult(tx -> catalogVersionRepository.increment());
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
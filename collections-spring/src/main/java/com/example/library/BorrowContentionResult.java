@@ -0,0 +1,109 @@
+package com.example.library;
+
+/**
+ * Outcome of one strategy in a {@link BorrowContentionBenchmark} run.
+ */
+public class BorrowContentionResult {
+    private final BorrowContentionBenchmark.Strategy strategy;
+    private final int threads;
+    private final int titles;
+    private final int operations;
+    private final long succeeded;
+    private final long failed;
+    private final long retries;
+    private final long deadlocks;
+    private final long lostUpdates;
+    private final double throughputPerSecond;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final long elapsedMillis;
+
+    public BorrowContentionResult(BorrowContentionBenchmark.Strategy strategy, int threads, int titles, int operations,
+                                  long succeeded, long failed, long retries, long deadlocks, long lostUpdates,
+                                  double throughputPerSecond, double p50Millis, double p99Millis, double maxMillis,
+                                  long elapsedMillis) {
+        this.strategy = strategy;
+        this.threads = threads;
+        this.titles = titles;
+        this.operations = operations;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.retries = retries;
+        this.deadlocks = deadlocks;
+        this.lostUpdates = lostUpdates;
+        this.throughputPerSecond = throughputPerSecond;
+        this.p50Millis = p50Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public BorrowContentionBenchmark.Strategy getStrategy() {
+        return strategy;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getTitles() {
+        return titles;
+    }
+
+    public int getOperations() {
+        return operations;
+    }
+
+    /**
+     * Borrows that committed (after retries, for the optimistic strategy).
+     */
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * Borrows that gave up: conflicts without retry, retries exhausted, deadlock victims and other errors.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getRetries() {
+        return retries;
+    }
+
+    public long getDeadlocks() {
+        return deadlocks;
+    }
+
+    /**
+     * Succeeded borrows that are missing from the final borrow counts.
+     */
+    public long getLostUpdates() {
+        return lostUpdates;
+    }
+
+    /**
+     * Succeeded borrows per second.
+     */
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.library;
+
+/**
+ * Interface projection of a book's borrow count, see {@link BookRepository#findAllBorrowCounts()}.
+ */
+public interface BorrowCountView {
+    Long getId();
+
+    String getTitle();
+
+    Integer getBorrowCount();
+}
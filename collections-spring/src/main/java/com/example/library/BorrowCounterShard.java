@@ -0,0 +1,73 @@
+package com.example.library;
+
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * One slot of a sharded borrow counter: borrows of a hot book are spread over several rows so
+ * concurrent borrowers do not all update the same {@code books} row. The book's borrow count is
+ * {@code books.borrow_count} plus the sum of its slots.
+ */
+@Entity
+@Table(name = "book_borrow_counter_shards")
+@IdClass(BorrowCounterShard.Key.class)
+public class BorrowCounterShard {
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Id
+    @Column(name = "shard")
+    private Integer shard;
+
+    @Column(name = "borrow_count", nullable = false)
+    private Long borrowCount = 0L;
+
+    public BorrowCounterShard() {
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public Integer getShard() {
+        return shard;
+    }
+
+    public Long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public static class Key implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private Long bookId;
+        private Integer shard;
+
+        public Key() {
+        }
+
+        public Key(Long bookId, Integer shard) {
+            this.bookId = bookId;
+            this.shard = shard;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(bookId, key.bookId) && Objects.equals(shard, key.shard);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bookId, shard);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.library;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BorrowCounterShardRepository extends JpaRepository<BorrowCounterShard, BorrowCounterShard.Key> {
+
+    // Native updates declare the tables they touch; without query spaces Hibernate would drop the
+    // whole second-level cache after each one
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "book_borrow_counter_shards"))
+    @Query(value = "INSERT INTO book_borrow_counter_shards (book_id, shard, borrow_count) VALUES (:bookId, :shard, 1) "
+            + "ON CONFLICT (book_id, shard) DO UPDATE SET borrow_count = book_borrow_counter_shards.borrow_count + 1",
+            nativeQuery = true)
+    void increment(@Param("bookId") long bookId, @Param("shard") int shard);
+
+    @Query("SELECT COALESCE(SUM(s.borrowCount), 0) FROM BorrowCounterShard s WHERE s.bookId = :bookId")
+    long sumByBookId(@Param("bookId") long bookId);
+
+    // [bookId, total] per book with slots
+    @Query("SELECT s.bookId, SUM(s.borrowCount) FROM BorrowCounterShard s GROUP BY s.bookId")
+    List<Object[]> sumByBook();
+
+    @Query("SELECT DISTINCT s.bookId FROM BorrowCounterShard s")
+    List<Long> findShardedBookIds();
+
+    // Moves the slots of one book back into books.borrow_count; the version bump makes concurrent
+    // optimistic writers of that row retry instead of overwriting the folded count
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "book_borrow_counter_shards"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "books")
+    })
+    @Query(value = "WITH moved AS (DELETE FROM book_borrow_counter_shards WHERE book_id = :bookId RETURNING borrow_count) "
+            + "UPDATE books SET borrow_count = COALESCE(borrow_count, 0) + (SELECT COALESCE(SUM(borrow_count), 0) FROM moved), "
+            + "version = COALESCE(version, 0) + 1 WHERE id = :bookId",
+            nativeQuery = true)
+    int foldIntoBook(@Param("bookId") long bookId);
+
+    @Modifying
+    @Query("DELETE FROM BorrowCounterShard s WHERE s.bookId = :bookId")
+    void deleteByBookId(@Param("bookId") long bookId);
+}
@@ -0,0 +1,80 @@
+package com.example.library;
+
+/**
+ * One catalog row as held by a {@link CatalogStore}: the book, its id and the times it was added and
+ * last changed, as epoch millis. Borrow counts and row versions are not part of the read model - book
+ * events do not carry them.
+ */
+public class CatalogEntry {
+    private long id;
+    private String title;
+    private String author;
+    private long createdAt;
+    private long updatedAt;
+
+    public CatalogEntry() {
+    }
+
+    public CatalogEntry(long id, String title, String author, long createdAt, long updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public Book toBook() {
+        return new Book(title, author);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogEntry{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", author='" + author + '\'' +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.library;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits catalog files into newline-aligned chunks and parses them into books.
+ *
+ * Supported formats, one book per line:
+ * <ul>
+ *   <li>CSV with {@code title,author} columns (optional header, RFC 4180 quoting without embedded newlines)</li>
+ *   <li>NDJSON objects with {@code title} and {@code author} fields</li>
+ * </ul>
+ */
+public final class CatalogFileParser {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromFileName(String fileName) {
+            String name = fileName.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) return CSV;
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) return NDJSON;
+            throw new IllegalArgumentException("Cannot infer catalog format of " + fileName + ", expected .csv, .ndjson or .jsonl");
+        }
+    }
+
+    /**
+     * Books parsed from one chunk plus the number of lines that could not be parsed.
+     */
+    public record ParsedChunk(long endOffset, List<Book> books, int invalid) {
+    }
+
+    private static final int MAX_COLUMN_LENGTH = 255;
+
+    private CatalogFileParser() {
+    }
+
+    /**
+     * Split {@code [from, size)} into chunks of roughly {@code chunkBytes}, each ending right after a newline
+     * (or at the end of the file), as {@code {start, end}} pairs.
+     */
+    public static List<long[]> chunks(FileChannel channel, long from, long chunkBytes) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        long start = from;
+        while (start < size) {
+            long end = Math.min(start + chunkBytes, size);
+            if (end < size) {
+                end = nextLineStart(channel, end - 1, probe);
+            }
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer probe) throws IOException {
+        long size = channel.size();
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Parse a memory-mapped chunk line by line.
+     */
+    public static ParsedChunk parse(ByteBuffer chunk, long endOffset, Format format, ObjectMapper objectMapper) {
+        List<Book> books = new ArrayList<>();
+        int invalid = 0;
+        int lineStart = 0;
+        int limit = chunk.limit();
+        for (int i = 0; i <= limit; i++) {
+            if (i < limit && chunk.get(i) != '\n') continue;
+            int lineEnd = i;
+            if (lineEnd > lineStart && chunk.get(lineEnd - 1) == '\r') lineEnd--;
+            if (lineEnd > lineStart) {
+                byte[] bytes = new byte[lineEnd - lineStart];
+                chunk.get(lineStart, bytes);
+                String line = new String(bytes, StandardCharsets.UTF_8);
+                if (!line.isBlank() && !isCsvHeader(format, line)) {
+                    Book book = format == Format.CSV ? parseCsvLine(line) : parseJsonLine(line, objectMapper);
+                    if (book != null) {
+                        books.add(book);
+                    } else {
+                        invalid++;
+                    }
+                }
+            }
+            lineStart = i + 1;
+        }
+        return new ParsedChunk(endOffset, books, invalid);
+    }
+
+    private static boolean isCsvHeader(Format format, String line) {
+        return format == Format.CSV && line.replace("\"", "").trim().equalsIgnoreCase("title,author");
+    }
+
+    static Book parseCsvLine(String line) {
+        List<String> columns = new ArrayList<>(2);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        columns.add(current.toString());
+        if (quoted || columns.size() != 2) {
+            return null;
+        }
+        return toBook(columns.get(0), columns.get(1));
+    }
+
+    static Book parseJsonLine(String line, ObjectMapper objectMapper) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (!node.hasNonNull("title") || !node.hasNonNull("author")) {
+                return null;
+            }
+            return toBook(node.get("title").asText(), node.get("author").asText());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Book toBook(String title, String author) {
+        title = title.trim();
+        author = author.trim();
+        if (title.isEmpty() || author.isEmpty()
+                || title.length() > MAX_COLUMN_LENGTH || author.length() > MAX_COLUMN_LENGTH) {
+            return null;
+        }
+        return new Book(title, author);
+    }
+}
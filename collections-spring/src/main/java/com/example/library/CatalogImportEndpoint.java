@@ -0,0 +1,25 @@
+package com.example.library;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/catalogimport}) with the progress of the current or last catalog import.
+ */
+@Component
+@Endpoint(id = "catalogimport")
+public class CatalogImportEndpoint {
+
+    private final CatalogImportService catalogImportService;
+
+    public CatalogImportEndpoint(CatalogImportService catalogImportService) {
+        this.catalogImportService = catalogImportService;
+    }
+
+    @ReadOperation
+    public CatalogImportStatus status() {
+        // null means no import has run yet (404)
+        return catalogImportService.getStatus();
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.library;
+
+import com.example.kafka.model.BookEvent;
+import com.example.kafka.producer.KafkaProducerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bulk catalog import from CSV or NDJSON files on the server. Only files inside the configured
+ * import directory can be imported.
+ *
+ * The file is split into newline-aligned chunks that are memory-mapped and parsed in parallel on a
+ * dedicated fork-join pool, one wave of chunks at a time. Each wave is deduplicated in file order
+ * against the existing titles, inserted with JDBC batches in a single transaction, announced with
+ * one bulk BOOK_ADDED emission and then checkpointed, so an interrupted import resumes after the
+ * last completed wave. Rows already in the database are skipped as duplicates on resume.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO books (title, author, borrow_count, created_at, updated_at, version) VALUES (?, ?, 0, ?, ?, 0)";
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter importedRows;
+    private final Counter duplicateRows;
+    private final Counter invalidRows;
+
+    @Autowired(required = false)
+    private KafkaProducerService kafkaProducerService;
+
+    @Autowired
+    private BookCacheEvictor bookCacheEvictor;
+
+    private final long chunkBytes;
+    private final int parallelism;
+    private final int batchSize;
+    private final Path checkpointDirectory;
+    private final Path importDirectory;
+    private final ForkJoinPool parserPool;
+    private final ExecutorService importExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile CatalogImportStatus status;
+
+    public CatalogImportService(BookRepository bookRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${library.import.chunk-bytes:8388608}") long chunkBytes,
+                                @Value("${library.import.parallelism:0}") int parallelism,
+                                @Value("${library.import.batch-size:1000}") int batchSize,
+                                @Value("${library.import.checkpoint-dir:data/import-checkpoints}") String checkpointDirectory,
+                                @Value("${library.import.dir:data/imports}") String importDirectory) {
+        this.bookRepository = bookRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.chunkBytes = chunkBytes;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.checkpointDirectory = Paths.get(checkpointDirectory);
+        this.importDirectory = Paths.get(importDirectory).toAbsolutePath().normalize();
+        this.parserPool = new ForkJoinPool(this.parallelism);
+
+        this.importedRows = Counter.builder("library.import.rows").tag("result", "imported")
+                .description("Catalog import rows inserted").register(meterRegistry);
+        this.duplicateRows = Counter.builder("library.import.rows").tag("result", "duplicate")
+                .description("Catalog import rows skipped as duplicate titles").register(meterRegistry);
+        this.invalidRows = Counter.builder("library.import.rows").tag("result", "invalid")
+                .description("Catalog import rows that could not be parsed").register(meterRegistry);
+        meterRegistry.gauge("library.import.rows.per.second", this, CatalogImportService::currentRowsPerSecond);
+    }
+
+    /**
+     * Start importing the file in the background, resuming from its checkpoint if there is one.
+     *
+     * @param path file to import, relative to the import directory
+     * @throws IllegalArgumentException if the file does not exist or lies outside the import directory
+     * @throws IllegalStateException if another import is still running
+     */
+    public synchronized CatalogImportStatus start(String path, CatalogFileParser.Format format) throws IOException {
+        if (status != null && status.getState() == CatalogImportStatus.State.RUNNING) {
+            throw new IllegalStateException("Import of " + status.getFile() + " is still running");
+        }
+        Path file = resolveImportFile(path);
+        Path checkpoint = checkpointFor(file);
+        Properties saved = readCheckpoint(checkpoint, file);
+        long resumeFrom = Long.parseLong(saved.getProperty("offset", "0"));
+        CatalogImportStatus job = new CatalogImportStatus(file.toString(), format, Files.size(file), resumeFrom,
+                Long.parseLong(saved.getProperty("imported", "0")),
+                Long.parseLong(saved.getProperty("duplicates", "0")),
+                Long.parseLong(saved.getProperty("invalid", "0")));
+        status = job;
+        if (resumeFrom > 0) {
+            logger.info("Resuming import of {} from byte {}", file, resumeFrom);
+        }
+        importExecutor.submit(() -> run(file, format, checkpoint, job));
+        return job;
+    }
+
+    public CatalogImportStatus getStatus() {
+        return status;
+    }
+
+    private Path resolveImportFile(String path) throws IOException {
+        Path file = importDirectory.resolve(path).normalize();
+        if (!file.startsWith(importDirectory)) {
+            throw new IllegalArgumentException("Catalog files must be inside the import directory " + importDirectory);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("No such file: " + file);
+        }
+        // Nor may a link inside the directory lead out of it
+        if (!file.toRealPath().startsWith(importDirectory.toRealPath())) {
+            throw new IllegalArgumentException("Catalog files must be inside the import directory " + importDirectory);
+        }
+        return file;
+    }
+
+    private void run(Path file, CatalogFileParser.Format format, Path checkpoint, CatalogImportStatus job) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Set<String> knownTitles = new HashSet<>(bookRepository.findAllLowercaseTitles());
+            List<long[]> chunks = CatalogFileParser.chunks(channel, job.getResumedFromByte(), chunkBytes);
+
+            for (int i = 0; i < chunks.size(); i += parallelism) {
+                List<long[]> wave = chunks.subList(i, Math.min(i + parallelism, chunks.size()));
+                List<CatalogFileParser.ParsedChunk> parsed = parserPool.submit(() -> wave.parallelStream()
+                        .map(chunk -> parseChunk(channel, chunk, format))
+                        .toList()).get();
+
+                // Dedupe sequentially in file order so the first occurrence of a title wins
+                List<Book> fresh = new ArrayList<>();
+                int duplicates = 0;
+                int invalid = 0;
+                for (CatalogFileParser.ParsedChunk chunk : parsed) {
+                    invalid += chunk.invalid();
+                    for (Book book : chunk.books()) {
+                        if (knownTitles.add(book.getTitle().toLowerCase(Locale.ROOT))) {
+                            fresh.add(book);
+                        } else {
+                            duplicates++;
+                        }
+                    }
+                }
+
+                List<Long> ids = transactionTemplate.execute(tx -> {
+                    List<Long> inserted = insert(fresh);
+                    if (!fresh.isEmpty()) {
+                        jdbcTemplate.update(CatalogVersionRepository.INCREMENT_SQL);
+                    }
+                    return inserted;
+                });
+                if (!fresh.isEmpty()) {
+                    // The inserts bypass Hibernate; cached "not found" lookups of these titles are stale now
+                    bookCacheEvictor.evictBooks(ids);
+                }
+                publishBookAdded(fresh, ids);
+
+                long waveEnd = wave.get(wave.size() - 1)[1];
+                job.recordChunk(waveEnd, fresh.size(), duplicates, invalid);
+                importedRows.increment(fresh.size());
+                duplicateRows.increment(duplicates);
+                invalidRows.increment(invalid);
+                writeCheckpoint(checkpoint, file, job);
+            }
+
+            Files.deleteIfExists(checkpoint);
+            job.complete();
+            logger.info("Imported {} books from {} ({} duplicates, {} invalid) at {} rows/s",
+                    job.getImported(), file, job.getDuplicates(), job.getInvalid(), Math.round(job.getRowsPerSecond()));
+        } catch (ExecutionException e) {
+            failed(file, job, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed(file, job, e);
+        } catch (Exception e) {
+            failed(file, job, e);
+        }
+    }
+
+    private void failed(Path file, CatalogImportStatus job, Throwable cause) {
+        job.fail(cause);
+        logger.error("Import of {} failed at byte {}: {}", file, job.getBytesProcessed(), cause.getMessage());
+    }
+
+    private CatalogFileParser.ParsedChunk parseChunk(FileChannel channel, long[] chunk, CatalogFileParser.Format format) {
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]);
+            return CatalogFileParser.parse(buffer, chunk[1], format, objectMapper);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map bytes " + chunk[0] + "-" + chunk[1], e);
+        }
+    }
+
+    private List<Long> insert(List<Book> books) {
+        List<Long> ids = new ArrayList<>(books.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < books.size(); from += batchSize) {
+            List<Book> batch = books.subList(from, Math.min(from + batchSize, books.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ps.setString(1, batch.get(i).getTitle());
+                            ps.setString(2, batch.get(i).getAuthor());
+                            ps.setTimestamp(3, now);
+                            ps.setTimestamp(4, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keys);
+            for (Map<String, Object> row : keys.getKeyList()) {
+                ids.add(((Number) row.get("id")).longValue());
+            }
+        }
+        return ids;
+    }
+
+    private void publishBookAdded(List<Book> books, List<Long> ids) {
+        if (kafkaProducerService == null || books.isEmpty()) {
+            return;
+        }
+        List<BookEvent> events = new ArrayList<>(books.size());
+        for (int i = 0; i < books.size(); i++) {
+            Book book = books.get(i);
+            Long id = ids.get(i);
+            BookEvent event = new BookEvent("BOOK_ADDED", String.valueOf(id), book.getTitle(), book.getAuthor());
+            event.setEntityId(id);
+            events.add(event);
+        }
+        kafkaProducerService.sendBookEvents(events);
+    }
+
+    private Path checkpointFor(Path file) {
+        Path absolute = file.toAbsolutePath().normalize();
+        return checkpointDirectory.resolve(absolute.getFileName() + "-" + Integer.toHexString(absolute.toString().hashCode()) + ".checkpoint");
+    }
+
+    /**
+     * Checkpoint of a previous run, or empty properties if there is none or the file changed since.
+     */
+    private Properties readCheckpoint(Path checkpoint, Path file) throws IOException {
+        Properties properties = new Properties();
+        if (!Files.exists(checkpoint)) {
+            return properties;
+        }
+        try (InputStream in = Files.newInputStream(checkpoint)) {
+            properties.load(in);
+        }
+        boolean sameFile = String.valueOf(Files.size(file)).equals(properties.getProperty("size"))
+                && String.valueOf(Files.getLastModifiedTime(file).toMillis()).equals(properties.getProperty("lastModified"));
+        if (!sameFile) {
+            logger.info("Ignoring checkpoint {} because {} changed", checkpoint, file);
+            return new Properties();
+        }
+        return properties;
+    }
+
+    private void writeCheckpoint(Path checkpoint, Path file, CatalogImportStatus job) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("file", file.toAbsolutePath().toString());
+        properties.setProperty("size", String.valueOf(Files.size(file)));
+        properties.setProperty("lastModified", String.valueOf(Files.getLastModifiedTime(file).toMillis()));
+        properties.setProperty("offset", String.valueOf(job.getBytesProcessed()));
+        properties.setProperty("imported", String.valueOf(job.getImported()));
+        properties.setProperty("duplicates", String.valueOf(job.getDuplicates()));
+        properties.setProperty("invalid", String.valueOf(job.getInvalid()));
+
+        Files.createDirectories(checkpointDirectory);
+        Path tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            properties.store(out, "Catalog import checkpoint");
+        }
+        Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private double currentRowsPerSecond() {
+        CatalogImportStatus current = status;
+        return current != null && current.getState() == CatalogImportStatus.State.RUNNING ? current.getRowsPerSecond() : 0.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdownNow();
+        parserPool.shutdownNow();
+    }
+}
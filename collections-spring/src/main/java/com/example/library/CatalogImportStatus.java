@@ -0,0 +1,115 @@
+package com.example.library;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a catalog import, updated by the import thread and read by the API and actuator endpoint.
+ */
+public class CatalogImportStatus {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private final String file;
+    private final CatalogFileParser.Format format;
+    private final long totalBytes;
+    private final long resumedFromByte;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong bytesProcessed;
+    private final AtomicLong imported;
+    private final AtomicLong duplicates;
+    private final AtomicLong invalid;
+    private final long resumedRows;
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public CatalogImportStatus(String file, CatalogFileParser.Format format, long totalBytes,
+                               long resumedFromByte, long imported, long duplicates, long invalid) {
+        this.file = file;
+        this.format = format;
+        this.totalBytes = totalBytes;
+        this.resumedFromByte = resumedFromByte;
+        this.bytesProcessed = new AtomicLong(resumedFromByte);
+        this.imported = new AtomicLong(imported);
+        this.duplicates = new AtomicLong(duplicates);
+        this.invalid = new AtomicLong(invalid);
+        this.resumedRows = imported + duplicates + invalid;
+    }
+
+    void recordChunk(long endOffset, long importedRows, long duplicateRows, long invalidRows) {
+        imported.addAndGet(importedRows);
+        duplicates.addAndGet(duplicateRows);
+        invalid.addAndGet(invalidRows);
+        bytesProcessed.set(endOffset);
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    void fail(Throwable cause) {
+        finishedAt = Instant.now();
+        error = cause.getMessage();
+        state = State.FAILED;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public CatalogFileParser.Format getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getBytesProcessed() {
+        return bytesProcessed.get();
+    }
+
+    public long getResumedFromByte() {
+        return resumedFromByte;
+    }
+
+    public long getImported() {
+        return imported.get();
+    }
+
+    public long getDuplicates() {
+        return duplicates.get();
+    }
+
+    public long getInvalid() {
+        return invalid.get();
+    }
+
+    /**
+     * Rows handled by this run (not counting rows before the resume checkpoint) per second.
+     */
+    public double getRowsPerSecond() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        double seconds = (end.toEpochMilli() - startedAt.toEpochMilli()) / 1000.0;
+        long rows = imported.get() + duplicates.get() + invalid.get() - resumedRows;
+        return seconds > 0 ? rows / seconds : 0.0;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
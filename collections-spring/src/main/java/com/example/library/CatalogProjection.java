@@ -0,0 +1,243 @@
+package com.example.library;
+
+import com.example.kafka.model.BookEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-memory catalog read model (CQRS query side) built from the book-events topic.
+ * Entries live in a {@link CatalogStore}: on-heap objects by default, or the compact
+ * {@link OffHeapCatalogStore} with {@code library.read-model.store=off-heap}.
+ *
+ * Every node applies BOOK_ADDED / BOOK_UPDATED / BOOK_REMOVED events to its own copy, so
+ * catalog reads scale with the number of nodes instead of hitting PostgreSQL. Events are keyed by
+ * book id, so all events of one book arrive in order on one partition; they are applied by id too,
+ * which keeps a rename or removal from being undone by events of other books replayed in between. The projection
+ * is periodically snapshotted together with the last applied offset per partition; on startup
+ * the snapshot is loaded and the topic is replayed only from those offsets onwards.
+ * Reads are eventually consistent with the database.
+ */
+@Component
+@ConditionalOnProperty(name = "library.read-model.enabled", havingValue = "true")
+public class CatalogProjection {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogProjection.class);
+
+    private final CatalogStore store;
+    private final Map<Integer, Long> appliedOffsets = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final Path snapshotPath;
+    private final List<Consumer<Map<Integer, Long>>> snapshotListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean ready;
+
+    public CatalogProjection(ObjectMapper objectMapper,
+                             @Value("${library.read-model.snapshot-path:data/catalog-snapshot.json}") String snapshotPath,
+                             @Value("${library.read-model.store:heap}") String storeType,
+                             @Value("${library.read-model.expected-books:10000}") int expectedBooks) {
+        this.objectMapper = objectMapper;
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.store = switch (storeType) {
+            case "heap" -> new HeapCatalogStore();
+            case "off-heap" -> new OffHeapCatalogStore(expectedBooks);
+            default -> throw new IllegalArgumentException("Unknown library.read-model.store: " + storeType);
+        };
+    }
+
+    @PostConstruct
+    public void loadSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            logger.info("No catalog snapshot at {}, projection will be rebuilt from the beginning of the topic", snapshotPath);
+            return;
+        }
+        try {
+            Snapshot snapshot = objectMapper.readValue(snapshotPath.toFile(), Snapshot.class);
+            snapshot.getBooks().forEach(store::put);
+            appliedOffsets.putAll(snapshot.getOffsets());
+            logger.info("Loaded catalog snapshot with {} books, offsets {}", store.size(), appliedOffsets);
+        } catch (IOException e) {
+            // Drop whatever was read before the failure, the replay starts from an empty catalog
+            store.clear();
+            appliedOffsets.clear();
+            logger.error("Failed to read catalog snapshot {}, rebuilding from the topic", snapshotPath, e);
+        }
+    }
+
+    /**
+     * Apply a book event read from the given partition and offset.
+     * Events at or below the last applied offset of that partition are ignored, which makes
+     * replays after a snapshot restore idempotent.
+     */
+    public synchronized void apply(BookEvent event, int partition, long offset) {
+        Long applied = appliedOffsets.get(partition);
+        if (applied != null && offset <= applied) {
+            return;
+        }
+
+        switch (event.getEventType()) {
+            case "BOOK_ADDED":
+                store.put(toEntry(event));
+                break;
+            case "BOOK_UPDATED":
+                // By id the store drops the previous title itself; events without an id name it
+                if (event.getEntityId() == null && event.getPreviousTitle() != null) {
+                    store.remove(event.getPreviousTitle());
+                }
+                store.put(toEntry(event));
+                break;
+            case "BOOK_REMOVED":
+                if (event.getEntityId() != null) {
+                    store.remove(event.getEntityId());
+                } else {
+                    store.remove(event.getTitle());
+                }
+                break;
+            default:
+                logger.warn("Ignoring unknown book event type in catalog projection: {}", event.getEventType());
+        }
+        appliedOffsets.put(partition, offset);
+    }
+
+    /**
+     * Offset to resume the given partition from, or empty if it has to be replayed from the beginning.
+     */
+    public Optional<Long> resumeOffset(int partition) {
+        Long applied = appliedOffsets.get(partition);
+        return applied == null ? Optional.empty() : Optional.of(applied + 1);
+    }
+
+    /**
+     * Called once the listener has caught up with the topic; until then reads fall back to the database.
+     */
+    public void markReady() {
+        if (!ready) {
+            ready = true;
+            logger.info("Catalog projection caught up with {} books", store.size());
+        }
+    }
+
+    /**
+     * Called when partitions are (re)assigned: reads fall back to the database until the listener has
+     * caught up again.
+     */
+    public void markCatchingUp() {
+        if (ready) {
+            ready = false;
+            logger.info("Catalog projection catching up after a partition reassignment");
+        }
+    }
+
+    /**
+     * Register a callback for every snapshot written, with the last applied offset per partition it
+     * holds; a transport can commit its consumer position up to there without losing events on restart.
+     */
+    public void onSnapshotWritten(Consumer<Map<Integer, Long>> listener) {
+        snapshotListeners.add(listener);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Number of events applied so far, summed over partitions; changes with every applied event and is
+     * the same on every instance that has reached the same offsets.
+     */
+    public long appliedEvents() {
+        return appliedOffsets.values().stream().mapToLong(offset -> offset + 1).sum();
+    }
+
+    public Optional<Book> findByTitle(String title) {
+        return store.findByTitle(title);
+    }
+
+    public List<Book> listAll() {
+        return store.listAll();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    @Scheduled(fixedDelayString = "${library.read-model.snapshot-interval-ms:30000}",
+               initialDelayString = "${library.read-model.snapshot-interval-ms:30000}")
+    @PreDestroy
+    public void writeSnapshot() {
+        Snapshot snapshot;
+        synchronized (this) {
+            if (appliedOffsets.isEmpty()) {
+                return;
+            }
+            snapshot = new Snapshot(store.entries(), new HashMap<>(appliedOffsets));
+        }
+
+        try {
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, "catalog-snapshot", ".tmp");
+            objectMapper.writeValue(tmp.toFile(), snapshot);
+            Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Wrote catalog snapshot with {} books to {}", snapshot.getBooks().size(), snapshotPath);
+            snapshotListeners.forEach(listener -> listener.accept(snapshot.getOffsets()));
+        } catch (IOException e) {
+            logger.error("Failed to write catalog snapshot to {}", snapshotPath, e);
+        }
+    }
+
+    private CatalogEntry toEntry(BookEvent event) {
+        long id = event.getEntityId() != null ? event.getEntityId() : 0L;
+        // An update keeps the time the book was first added
+        long createdAt = id != 0
+                ? store.findById(id).map(CatalogEntry::getCreatedAt).orElse(event.getTimestamp())
+                : event.getTimestamp();
+        return new CatalogEntry(id, event.getTitle(), event.getAuthor(), createdAt, event.getTimestamp());
+    }
+
+    /**
+     * On-disk snapshot format: the projected catalog entries plus the last applied offset per partition.
+     */
+    public static class Snapshot {
+        private List<CatalogEntry> books = new ArrayList<>();
+        private Map<Integer, Long> offsets = new HashMap<>();
+
+        public Snapshot() {
+        }
+
+        public Snapshot(List<CatalogEntry> books, Map<Integer, Long> offsets) {
+            this.books = books;
+            this.offsets = offsets;
+        }
+
+        public List<CatalogEntry> getBooks() {
+            return books;
+        }
+
+        public void setBooks(List<CatalogEntry> books) {
+            this.books = books;
+        }
+
+        public Map<Integer, Long> getOffsets() {
+            return offsets;
+        }
+
+        public void setOffsets(Map<Integer, Long> offsets) {
+            this.offsets = offsets;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.library;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage behind the catalog read model, keyed by book id and by case-insensitive title.
+ * Entries with id 0 (events from producers that do not know the row) are only reachable by title.
+ * Implementations must allow concurrent readers alongside a single writer.
+ */
+public interface CatalogStore {
+
+    /**
+     * Insert the entry, replacing the entry with the same id (under whatever title it had) and any
+     * entry with the same (case-insensitive) title.
+     */
+    void put(CatalogEntry entry);
+
+    boolean remove(long id);
+
+    boolean remove(String title);
+
+    Optional<CatalogEntry> findById(long id);
+
+    Optional<Book> findByTitle(String title);
+
+    List<Book> listAll();
+
+    List<CatalogEntry> entries();
+
+    void clear();
+
+    int size();
+
+    /**
+     * Approximate number of bytes held by the store's data structures.
+     */
+    long memoryBytes();
+}
@@ -0,0 +1,10 @@
+package com.example.library;
+
+import java.time.Instant;
+
+/**
+ * Validator for the book list: an opaque tag that changes with every catalog change, and when the
+ * catalog last changed if that is known.
+ */
+public record CatalogVersion(String tag, Instant lastModified) {
+}
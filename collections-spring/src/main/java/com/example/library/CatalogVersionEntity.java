@@ -0,0 +1,41 @@
+package com.example.library;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Catalog-wide change counter (a single row): bumped in the same transaction as every catalog write
+ * (add, update, remove, import), so the list endpoint can answer conditional requests from it without
+ * reading the books. Borrows do not change the listed representation and leave it alone.
+ */
+@Entity
+@Table(name = "catalog_version")
+public class CatalogVersionEntity {
+
+    static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public CatalogVersionEntity() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
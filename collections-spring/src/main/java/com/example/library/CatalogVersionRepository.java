@@ -0,0 +1,22 @@
+package com.example.library;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersionEntity, Integer> {
+
+    // Shared with the JDBC (import) and R2DBC (reactive API) write paths
+    String INCREMENT_SQL = "INSERT INTO catalog_version (id, version, updated_at) VALUES (1, 1, now()) "
+            + "ON CONFLICT (id) DO UPDATE SET version = catalog_version.version + 1, updated_at = now()";
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "catalog_version"))
+    @Query(value = INCREMENT_SQL, nativeQuery = true)
+    void increment();
+}
@@ -0,0 +1,69 @@
+package com.example.library;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size Count-Min Sketch for approximate frequency counting.
+ * Memory is {@code depth * width} longs regardless of how many distinct keys are added;
+ * estimates never undercount and overcount by at most {@code e * total / width}
+ * with probability {@code 1 - e^-depth}.
+ * Not thread-safe; callers are expected to guard access.
+ */
+public class CountMinSketch {
+    private final int depth;
+    private final int mask;
+    private final long[][] counts;
+    private long total;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("depth must be positive: " + depth);
+        }
+        if (width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a positive power of two: " + width);
+        }
+        this.depth = depth;
+        this.mask = width - 1;
+        this.counts = new long[depth][width];
+    }
+
+    public void add(String key, long count) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9);
+        for (int row = 0; row < depth; row++) {
+            counts[row][(h1 + row * h2) & mask] += count;
+        }
+        total += count;
+    }
+
+    public long estimate(String key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts[row][(h1 + row * h2) & mask]);
+        }
+        return min;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void clear() {
+        for (long[] row : counts) {
+            Arrays.fill(row, 0L);
+        }
+        total = 0;
+    }
+
+    // Murmur3 finalizer - spreads String.hashCode() bits across the whole int
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
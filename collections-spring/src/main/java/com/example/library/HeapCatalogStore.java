@@ -0,0 +1,105 @@
+package com.example.library;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catalog store holding one {@link CatalogEntry} object per book in a {@link ConcurrentHashMap} per key.
+ */
+public class HeapCatalogStore implements CatalogStore {
+
+    // Rough per-entry cost: two map nodes + boxed id + entry object + two Strings with their byte arrays
+    private static final int ESTIMATED_OVERHEAD_PER_ENTRY = 2 * 32 + 16 + 56 + 2 * (24 + 16);
+
+    private final Map<String, CatalogEntry> entriesByTitle = new ConcurrentHashMap<>();
+    private final Map<Long, CatalogEntry> entriesById = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(CatalogEntry entry) {
+        String title = normalize(entry.getTitle());
+        if (entry.getId() != 0) {
+            // A rename leaves the old title behind
+            CatalogEntry previous = entriesById.put(entry.getId(), entry);
+            if (previous != null && !normalize(previous.getTitle()).equals(title)) {
+                entriesByTitle.remove(normalize(previous.getTitle()), previous);
+            }
+        }
+        CatalogEntry replaced = entriesByTitle.put(title, entry);
+        if (replaced != null && replaced.getId() != 0 && replaced.getId() != entry.getId()) {
+            entriesById.remove(replaced.getId(), replaced);
+        }
+    }
+
+    @Override
+    public boolean remove(long id) {
+        CatalogEntry removed = entriesById.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        entriesByTitle.remove(normalize(removed.getTitle()), removed);
+        return true;
+    }
+
+    @Override
+    public boolean remove(String title) {
+        CatalogEntry removed = entriesByTitle.remove(normalize(title));
+        if (removed == null) {
+            return false;
+        }
+        if (removed.getId() != 0) {
+            entriesById.remove(removed.getId(), removed);
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<CatalogEntry> findById(long id) {
+        return Optional.ofNullable(entriesById.get(id));
+    }
+
+    @Override
+    public Optional<Book> findByTitle(String title) {
+        CatalogEntry entry = entriesByTitle.get(normalize(title));
+        return entry == null ? Optional.empty() : Optional.of(entry.toBook());
+    }
+
+    @Override
+    public List<Book> listAll() {
+        List<Book> books = new ArrayList<>(entriesByTitle.size());
+        entriesByTitle.values().forEach(entry -> books.add(entry.toBook()));
+        return books;
+    }
+
+    @Override
+    public List<CatalogEntry> entries() {
+        return new ArrayList<>(entriesByTitle.values());
+    }
+
+    @Override
+    public void clear() {
+        entriesByTitle.clear();
+        entriesById.clear();
+    }
+
+    @Override
+    public int size() {
+        return entriesByTitle.size();
+    }
+
+    @Override
+    public long memoryBytes() {
+        long bytes = 0;
+        for (CatalogEntry entry : entriesByTitle.values()) {
+            bytes += ESTIMATED_OVERHEAD_PER_ENTRY + entry.getTitle().length() + entry.getAuthor().length();
+        }
+        return bytes;
+    }
+
+    private static String normalize(String title) {
+        return title.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,23 +1,44 @@
 package com.example.library;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/books")
 @Tag(name = "Library Management", description = "Operations for managing library books")
 public class LibraryController {
     private final LibraryService service;
+    private final CatalogImportService catalogImportService;
+    private final BookScanner bookScanner;
+    private final ObjectMapper objectMapper;
 
-    public LibraryController(LibraryService service) {
+    public LibraryController(LibraryService service, CatalogImportService catalogImportService,
+                             BookScanner bookScanner, ObjectMapper objectMapper) {
         this.service = service;
+        this.catalogImportService = catalogImportService;
+        this.bookScanner = bookScanner;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -32,10 +53,114 @@ public class LibraryController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all books", description = "Retrieve a list of all books in the library")
-    @ApiResponse(responseCode = "200", description = "List of books retrieved successfully")
-    public List<Book> all() {
-        return service.listAll();
+    @Operation(summary = "Get all books", description = "Retrieve a list of all books in the library. Supports If-None-Match / If-Modified-Since with the catalog version")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of books retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the client's copy")
+    })
+    public ResponseEntity<List<Book>> all(ServletWebRequest request) {
+        CatalogVersion version = service.getCatalogVersion();
+        if (notModified(request, version.tag(), version.lastModified())) {
+            // 304 with the validators already set, nothing is loaded or serialized
+            return null;
+        }
+        return ResponseEntity.ok().body(service.listAll());
+    }
+
+    @GetMapping("/{title}")
+    @Operation(summary = "Get a book", description = "Retrieve a book by title (case insensitive). The ETag follows the row version")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Book found"),
+            @ApiResponse(responseCode = "304", description = "Book unchanged since the client's copy"),
+            @ApiResponse(responseCode = "404", description = "Book not found")
+    })
+    public ResponseEntity<Book> byTitle(
+            @Parameter(description = "Title of the book", required = true)
+            @PathVariable String title,
+            ServletWebRequest request) {
+        Optional<VersionedBook> found = service.findVersionedByTitle(title);
+        if (found.isEmpty()) return ResponseEntity.notFound().build();
+
+        VersionedBook book = found.get();
+        // The id keeps a re-added title (version starting over) from matching an old copy
+        String tag = book.id() + "-" + (book.version() != null ? book.version() : 0);
+        Instant lastModified = book.updatedAt() != null ? book.updatedAt().atZone(ZoneId.systemDefault()).toInstant() : null;
+        if (notModified(request, tag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok().body(book.toBook());
+    }
+
+    /**
+     * Evaluate If-None-Match / If-Modified-Since and set ETag, Last-Modified and Cache-Control on the
+     * response either way. On true the status is already 304 and the handler must not write a body.
+     */
+    private static boolean notModified(ServletWebRequest request, String tag, Instant lastModified) {
+        // Caches may keep the response but have to revalidate it, a cheap 304 while nothing changed
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        String eTag = "\"" + tag + "\"";
+        return lastModified != null
+                ? request.checkNotModified(eTag, lastModified.toEpochMilli())
+                : request.checkNotModified(eTag);
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Export all books", description = "Stream the whole catalog as newline-delimited JSON, read through a cursor instead of loading the list into memory")
+    @ApiResponse(responseCode = "200", description = "Catalog streamed successfully")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> bookScanner.forEachBook(book -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(book));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search books", description = "Full-text search over titles and authors; every word of the query matches as a prefix, results are ordered by borrow count")
+    @ApiResponse(responseCode = "200", description = "Matching books, most borrowed first")
+    public List<BookSearchHit> search(
+            @Parameter(description = "Search words, e.g. 'lord ring' or 'tolk'", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of books to return")
+            @RequestParam(defaultValue = "20") int limit) {
+        return service.search(q, Math.min(limit, 100));
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending books", description = "Most borrowed titles in the sliding trending window, estimated from a fixed-size sketch")
+    @ApiResponse(responseCode = "200", description = "Trending titles retrieved successfully")
+    public List<TrendingTitle> trending(
+            @Parameter(description = "Maximum number of titles to return")
+            @RequestParam(defaultValue = "10") int limit) {
+        return service.getTrendingTitles(limit);
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Import a catalog file", description = "Start a background bulk import of a CSV (title,author) or NDJSON file from the server's import directory, resuming from its checkpoint if an earlier run was interrupted. Progress is available at /actuator/catalogimport")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import started"),
+            @ApiResponse(responseCode = "400", description = "File not found, outside the import directory or unknown format"),
+            @ApiResponse(responseCode = "409", description = "Another import is still running")
+    })
+    public ResponseEntity<?> importCatalog(
+            @Parameter(description = "Path of the catalog file, relative to the import directory", required = true)
+            @RequestParam String path,
+            @Parameter(description = "CSV or NDJSON; inferred from the file extension if omitted")
+            @RequestParam(required = false) String format) {
+        try {
+            CatalogFileParser.Format fileFormat = format != null
+                    ? CatalogFileParser.Format.valueOf(format.toUpperCase(Locale.ROOT))
+                    : CatalogFileParser.Format.fromFileName(Paths.get(path).getFileName().toString());
+            return ResponseEntity.accepted().body(catalogImportService.start(path, fileFormat));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PostMapping("/borrow/{title}")
@@ -1,6 +1,8 @@
 package com.example.library;
 
+import com.example.config.ConflictRetryContext;
 import com.example.config.ObservabilityMetricsService;
+import com.example.config.RetryOnConflict;
 import com.example.kafka.model.BookEvent;
 import com.example.kafka.model.BorrowEvent;
 import com.example.kafka.producer.KafkaProducerService;
@@ -9,10 +11,14 @@ import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -24,25 +30,52 @@ public class LibraryService {
     
     @Autowired
     private ObservabilityMetricsService observabilityMetricsService;
+
+    @Autowired
+    private TrendingTitlesTracker trendingTitlesTracker;
+
+    @Autowired(required = false)
+    private CatalogProjection catalogProjection;
+
+    @Autowired
+    private ShardedBorrowCounter shardedBorrowCounter;
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private TitleSearchIndex titleSearchIndex;
     
     private final MeterRegistry meterRegistry;
 
+    // Concurrent lookups of the same title (a trending book) share one query
+    private final SingleFlight<String, Optional<VersionedBook>> titleLookups;
+
+    private TransactionTemplate readOnlyTransaction;
+
     @Autowired
     public LibraryService(BookRepository bookRepository, MeterRegistry meterRegistry) {
         this.bookRepository = bookRepository;
         this.meterRegistry = meterRegistry;
+        this.titleLookups = new SingleFlight<>("title", meterRegistry);
         
         // Register business data gauges that derive from actual database state
         meterRegistry.gauge("library.books.total", this, service -> service.bookRepository.count());
         meterRegistry.gauge("library.books.unique", this, service -> service.bookRepository.count());
     }
 
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
     @Timed(value = "library.add.book.duration", description = "Time taken to add a book")
     @Counted(value = "library.books.added.total", description = "Total number of books added to the library")
     public boolean addBook(Book book) {
-        // Check if book already exists by title (case insensitive)
-        Optional<BookEntity> existingBook = bookRepository.findByTitleIgnoreCase(book.getTitle());
-        if (existingBook.isPresent()) {
+        // Check if book already exists by title (case insensitive). Asked on the primary within this
+        // transaction, never through the coalesced lookups, whose leader may read a lagging replica
+        if (bookRepository.existsByTitleIgnoreCase(book.getTitle())) {
             // Record duplicate attempt - this is meaningful observability data
             observabilityMetricsService.recordDuplicateBookAttempt();
             return false; // duplicate
@@ -51,52 +84,110 @@ public class LibraryService {
         // Create new BookEntity from Book
         BookEntity bookEntity = new BookEntity(book.getTitle(), book.getAuthor());
         bookRepository.save(bookEntity);
+        catalogVersionRepository.increment();
+        Long id = bookEntity.getId();
+        afterCommit(() -> titleSearchIndex.put(id, book.getTitle(), book.getAuthor(), 0));
         
-        // Send Kafka event for book addition (if Kafka is enabled)
+        // Send Kafka event for book addition (if Kafka is enabled). Book events are keyed by the row id,
+        // so the add, updates and removal of one book share a partition and stay in order. Events go out
+        // only after commit: receivers evict their cached copy and update their read model on arrival,
+        // and must neither reload the old row nor apply a write that rolls back
         if (kafkaProducerService != null) {
             BookEvent event = new BookEvent("BOOK_ADDED", 
-                generateBookId(book), book.getTitle(), book.getAuthor());
-            kafkaProducerService.sendBookEvent(event);
+                String.valueOf(bookEntity.getId()), book.getTitle(), book.getAuthor());
+            event.setEntityId(bookEntity.getId());
+            afterCommit(() -> kafkaProducerService.sendBookEvent(event));
         }
         
         return true;
     }
 
+    // No transaction of its own: callers waiting on a coalesced lookup should not hold a connection
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<Book> findByTitle(String title) {
-        Optional<BookEntity> bookEntity = bookRepository.findByTitleIgnoreCase(title);
-        return bookEntity.map(entity -> new Book(entity.getTitle(), entity.getAuthor()));
+        // Serve from the book-events read model once it has caught up (if enabled)
+        if (catalogProjection != null && catalogProjection.isReady()) {
+            return catalogProjection.findByTitle(title);
+        }
+        return lookupTitle(title).map(VersionedBook::toBook);
+    }
+
+    /**
+     * Current book with its id and version, always from the database (the read model has no versions).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<VersionedBook> findVersionedByTitle(String title) {
+        return lookupTitle(title);
     }
 
+    /**
+     * Validator for {@link #listAll()}. The read model is versioned by the events it has applied, the
+     * database by the catalog change counter. Read it before the list: a list that is newer than its
+     * tag only costs one extra download on the next poll, an older one would be cached as current.
+     */
+    @Transactional(readOnly = true)
+    public CatalogVersion getCatalogVersion() {
+        if (catalogProjection != null && catalogProjection.isReady()) {
+            return new CatalogVersion("p-" + catalogProjection.appliedEvents(), null);
+        }
+        return catalogVersionRepository.findById(CatalogVersionEntity.ID)
+                .map(version -> new CatalogVersion("c-" + version.getVersion(), version.getUpdatedAt()))
+                .orElse(new CatalogVersion("c-0", null));
+    }
+
+    // Read paths run read-only: Hibernate loads the entities without snapshots and never flushes
+    // (FlushMode.MANUAL), and with a replica configured the transaction is served by the replica pool
+    @Transactional(readOnly = true)
     public List<Book> listAll() {
-        return bookRepository.findAll().stream()
-                .map(entity -> new Book(entity.getTitle(), entity.getAuthor()))
-                .collect(Collectors.toList());
+        if (catalogProjection != null && catalogProjection.isReady()) {
+            return catalogProjection.listAll();
+        }
+        return bookRepository.findAllBooks();
     }
 
     @Timed(value = "library.borrow.duration", description = "Time taken to process book borrow operations")
     @Counted(value = "library.books.borrowed.total", description = "Total number of books borrowed")
+    @RetryOnConflict
     public int borrow(String title) {
-        Optional<BookEntity> bookEntityOpt = bookRepository.findByTitleIgnoreCase(title);
+        Optional<BookEntity> bookEntityOpt = findForWrite(title);
         if (bookEntityOpt.isEmpty()) return -1;
         
         BookEntity bookEntity = bookEntityOpt.get();
         int currentCount = bookEntity.getBorrowCount() != null ? bookEntity.getBorrowCount() : 0;
-        int newCount = currentCount + 1;
-        bookEntity.setBorrowCount(newCount);
-        bookRepository.save(bookEntity);
+        int newCount;
+        if (shardedBorrowCounter.isSharded(bookEntity.getId())) {
+            // Hot title: count on a random counter slot instead of the contended books row
+            shardedBorrowCounter.increment(bookEntity.getId());
+            newCount = currentCount + (int) shardedBorrowCounter.slotTotal(bookEntity.getId());
+        } else {
+            newCount = currentCount + 1 + (int) shardedBorrowCounter.slotTotal(bookEntity.getId());
+            bookEntity.setBorrowCount(currentCount + 1);
+            // Flush now so a version conflict surfaces (and is retried) within this attempt
+            bookRepository.saveAndFlush(bookEntity);
+        }
+        // Attempts before this one lost a version race; that drives the slot count of the book
+        shardedBorrowCounter.recordBorrow(bookEntity.getId(), ConflictRetryContext.attempt());
+        Long id = bookEntity.getId();
+        String borrowedTitle = bookEntity.getTitle();
+        afterCommit(() -> {
+            trendingTitlesTracker.recordBorrow(borrowedTitle);
+            titleSearchIndex.updateBorrowCount(id, newCount);
+        });
         
         // Send Kafka event for book borrowing (if Kafka is enabled)
         if (kafkaProducerService != null) {
             BorrowEvent borrowEvent = new BorrowEvent("BOOK_BORROWED", 
                 title, newCount, "user-" + System.currentTimeMillis());
-            kafkaProducerService.sendBorrowEvent(borrowEvent);
+            borrowEvent.setEntityId(bookEntity.getId());
+            afterCommit(() -> kafkaProducerService.sendBorrowEvent(borrowEvent));
         }
         
         return newCount;
     }
     
+    @RetryOnConflict
     public boolean updateBook(String title, Book updatedBook) {
-        Optional<BookEntity> bookEntityOpt = bookRepository.findByTitleIgnoreCase(title);
+        Optional<BookEntity> bookEntityOpt = findForWrite(title);
         if (bookEntityOpt.isEmpty()) return false;
         
         // Check if the updated title would create a duplicate
@@ -110,37 +201,81 @@ public class LibraryService {
         BookEntity bookEntity = bookEntityOpt.get();
         bookEntity.setTitle(updatedBook.getTitle());
         bookEntity.setAuthor(updatedBook.getAuthor());
-        bookRepository.save(bookEntity);
+        bookRepository.saveAndFlush(bookEntity);
+        catalogVersionRepository.increment();
+        Long id = bookEntity.getId();
+        long borrowCount = (bookEntity.getBorrowCount() != null ? bookEntity.getBorrowCount() : 0)
+                + shardedBorrowCounter.slotTotal(id);
+        afterCommit(() -> titleSearchIndex.put(id, updatedBook.getTitle(), updatedBook.getAuthor(), borrowCount));
         
         // Send Kafka event for book update (if Kafka is enabled)
         if (kafkaProducerService != null) {
             BookEvent event = new BookEvent("BOOK_UPDATED", 
-                generateBookId(updatedBook), updatedBook.getTitle(), updatedBook.getAuthor());
-            kafkaProducerService.sendBookEvent(event);
+                String.valueOf(bookEntity.getId()), updatedBook.getTitle(), updatedBook.getAuthor());
+            event.setPreviousTitle(title);
+            event.setEntityId(bookEntity.getId());
+            afterCommit(() -> kafkaProducerService.sendBookEvent(event));
         }
         
         return true;
     }
     
     @Counted(value = "library.books.removed.total", description = "Total number of books removed from the library")
+    @RetryOnConflict
     public boolean removeBook(String title) {
-        Optional<BookEntity> bookEntityOpt = bookRepository.findByTitleIgnoreCase(title);
+        Optional<BookEntity> bookEntityOpt = findForWrite(title);
         if (bookEntityOpt.isEmpty()) return false;
         
         BookEntity bookEntity = bookEntityOpt.get();
         Book book = new Book(bookEntity.getTitle(), bookEntity.getAuthor());
         bookRepository.delete(bookEntity);
+        bookRepository.flush();
+        shardedBorrowCounter.remove(bookEntity.getId());
+        catalogVersionRepository.increment();
+        Long id = bookEntity.getId();
+        afterCommit(() -> titleSearchIndex.remove(id));
         
         // Send Kafka event for book removal (if Kafka is enabled)
         if (kafkaProducerService != null) {
             BookEvent event = new BookEvent("BOOK_REMOVED", 
-                generateBookId(book), book.getTitle(), book.getAuthor());
-            kafkaProducerService.sendBookEvent(event);
+                String.valueOf(bookEntity.getId()), book.getTitle(), book.getAuthor());
+            event.setEntityId(bookEntity.getId());
+            afterCommit(() -> kafkaProducerService.sendBookEvent(event));
         }
         
         return true;
     }
     
+    // Keyed like lower(title) in the query. The leader runs in a read-only transaction, routed to a
+    // replica, so only read paths share it
+    private Optional<VersionedBook> lookupTitle(String title) {
+        return titleLookups.execute(title.toLowerCase(Locale.ROOT),
+                () -> readOnlyTransaction.execute(status -> bookRepository.findVersionedByTitleIgnoreCase(title)));
+    }
+    
+    // The search index, the trending sketch and the events are not transactional: only show or announce
+    // a change once it is committed, so a rolled back or retried attempt leaves no trace. Outside a
+    // transaction the change applies right away
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    // Row to modify; locked up front once optimistic attempts kept conflicting (see @RetryOnConflict)
+    private Optional<BookEntity> findForWrite(String title) {
+        return ConflictRetryContext.isPessimistic()
+                ? bookRepository.findByTitleIgnoreCaseForUpdate(title)
+                : bookRepository.findByTitleIgnoreCase(title);
+    }
+    
     // Helper methods for gauges
     private int getTotalBooks() {
         return (int) bookRepository.count();
@@ -150,21 +285,37 @@ public class LibraryService {
         return (int) bookRepository.count();
     }
     
+    @Transactional(readOnly = true)
     public int getTotalBorrowCount() {
-        return bookRepository.findAll().stream()
-                .mapToInt(entity -> entity.getBorrowCount() != null ? entity.getBorrowCount() : 0)
-                .sum();
+        long slots = shardedBorrowCounter.slotTotals().values().stream().mapToLong(Long::longValue).sum();
+        return (int) (bookRepository.sumBorrowCounts() + slots);
     }
     
+    @Transactional(readOnly = true)
     public Map<String, Integer> getBorrowCountsByTitle() {
         Map<String, Integer> result = new HashMap<>();
-        bookRepository.findAll().forEach(entity -> {
-            result.put(entity.getTitle(), entity.getBorrowCount() != null ? entity.getBorrowCount() : 0);
+        Map<Long, Long> slotTotals = shardedBorrowCounter.slotTotals();
+        bookRepository.findAllBorrowCounts().forEach(view -> {
+            result.put(view.getTitle(), borrowCount(view, slotTotals));
         });
         return result;
     }
     
-    private String generateBookId(Book book) {
-        return book.getTitle().replaceAll("\\s+", "-").toLowerCase() + "-" + book.getAuthor().replaceAll("\\s+", "-").toLowerCase();
+    // Base count plus the book's sharded counter slots, if any
+    private int borrowCount(BorrowCountView view, Map<Long, Long> slotTotals) {
+        int base = view.getBorrowCount() != null ? view.getBorrowCount() : 0;
+        return base + slotTotals.getOrDefault(view.getId(), 0L).intValue();
+    }
+    
+    // In-memory index, no transaction needed
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<BookSearchHit> search(String query, int limit) {
+        return titleSearchIndex.search(query, limit);
+    }
+    
+    // In-memory sketch, no transaction needed
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<TrendingTitle> getTrendingTitles(int limit) {
+        return trendingTitlesTracker.top(limit);
     }
 }
@@ -0,0 +1,595 @@
+package com.example.library;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compact catalog store that keeps all book data in direct (off-heap) buffers.
+ *
+ * <ul>
+ *   <li>String arena - titles and authors as length-prefixed UTF-8; each author is stored once,
+ *       behind a count of the books referencing it, and shared by all of its books</li>
+ *   <li>Record area - fixed-width {@value #RECORD_SIZE}-byte records holding id, timestamps and
+ *       arena references</li>
+ *   <li>Title index - open-addressing (linear probing) table of record numbers, keyed by the
+ *       hash of the lower-cased title, with backward-shift deletion so no tombstones build up</li>
+ *   <li>Id index - the same kind of table keyed by the hash of the book id, for records with an id</li>
+ * </ul>
+ *
+ * The heap only holds a handful of buffer references and the record free list, so the GC has
+ * nothing to trace per book. Space left behind by removed or renamed titles, and by authors no
+ * book references any more, is reclaimed by compacting the arena once it outweighs the live data.
+ */
+public class OffHeapCatalogStore implements CatalogStore {
+
+    // Record layout, padded to a multiple of 8 so the longs of every record stay aligned
+    private static final int ID = 0;
+    private static final int CREATED_AT = 8;
+    private static final int UPDATED_AT = 16;
+    private static final int TITLE_REF = 24;
+    private static final int AUTHOR_REF = 28;
+    private static final int TITLE_HASH = 32;
+    static final int RECORD_SIZE = 40;
+
+    private static final int MIN_COMPACTION_BYTES = 1 << 20;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ByteBuffer records;
+    private int recordHighWater;
+    private int[] freeRecords = new int[16];
+    private int freeCount;
+    private int size;
+
+    private ByteBuffer arena;
+    private int arenaUsed;
+    private long arenaGarbage;
+
+    // Slots hold record number + 1, 0 marks an empty slot
+    private IntBuffer titleIndex;
+    private IntBuffer idIndex;
+    // Slots hold arena offset + 1 of an interned author
+    private IntBuffer authorIndex;
+    private int authorCount;
+
+    public OffHeapCatalogStore() {
+        this(1024);
+    }
+
+    public OffHeapCatalogStore(int expectedBooks) {
+        int capacity = Math.max(16, expectedBooks);
+        this.records = ByteBuffer.allocateDirect(capacity * RECORD_SIZE);
+        this.arena = ByteBuffer.allocateDirect(capacity * 32);
+        this.titleIndex = allocateIndex(tableSizeFor(capacity));
+        this.idIndex = allocateIndex(titleIndex.capacity());
+        this.authorIndex = allocateIndex(tableSizeFor(capacity / 4));
+    }
+
+    @Override
+    public void put(CatalogEntry entry) {
+        String normalized = normalize(entry.getTitle());
+        int hash = hash(normalized);
+        long id = entry.getId();
+        lock.writeLock().lock();
+        try {
+            if (id != 0) {
+                // A rename leaves the old title behind
+                int idSlot = findIdSlot(id);
+                if (idSlot >= 0) {
+                    int record = idIndex.get(idSlot) - 1;
+                    if (!normalize(readString(records.getInt(offsetOf(record) + TITLE_REF))).equals(normalized)) {
+                        removeRecord(record);
+                    }
+                }
+            }
+
+            int slot = findSlot(normalized, hash);
+            boolean existing = slot >= 0;
+            int record;
+            if (existing) {
+                record = titleIndex.get(slot) - 1;
+                int oldTitleRef = records.getInt(offsetOf(record) + TITLE_REF);
+                if (!readString(oldTitleRef).equals(entry.getTitle())) {
+                    arenaGarbage += 4 + arena.getInt(oldTitleRef);
+                    records.putInt(offsetOf(record) + TITLE_REF, appendString(utf8(entry.getTitle())));
+                }
+                // Another book with this title is replaced
+                long oldId = records.getLong(offsetOf(record) + ID);
+                if (oldId != id) {
+                    if (oldId != 0) {
+                        deleteFromIndex(idIndex, slotOf(idIndex, hashId(oldId), record), false);
+                    }
+                    if (id != 0) {
+                        insertIntoIndex(idIndex, record, hashId(id));
+                    }
+                }
+            } else {
+                ensureIndexCapacity();
+                record = allocateRecord();
+                records.putInt(offsetOf(record) + TITLE_REF, appendString(utf8(entry.getTitle())));
+                records.putInt(offsetOf(record) + TITLE_HASH, hash);
+                insertIntoIndex(titleIndex, record, hash);
+                if (id != 0) {
+                    insertIntoIndex(idIndex, record, hashId(id));
+                }
+                size++;
+            }
+
+            int base = offsetOf(record);
+            records.putLong(base + ID, entry.getId());
+            records.putLong(base + CREATED_AT, entry.getCreatedAt());
+            records.putLong(base + UPDATED_AT, entry.getUpdatedAt());
+            // Intern before releasing, so an unchanged author is never counted as garbage
+            int authorRef = internAuthor(entry.getAuthor());
+            if (existing) {
+                releaseAuthor(records.getInt(base + AUTHOR_REF));
+            }
+            records.putInt(base + AUTHOR_REF, authorRef);
+
+            compactIfWasteful();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = findIdSlot(id);
+            if (slot < 0) {
+                return false;
+            }
+            removeRecord(idIndex.get(slot) - 1);
+            compactIfWasteful();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(String title) {
+        String normalized = normalize(title);
+        int hash = hash(normalized);
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(normalized, hash);
+            if (slot < 0) {
+                return false;
+            }
+            removeRecord(titleIndex.get(slot) - 1);
+            compactIfWasteful();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<CatalogEntry> findById(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = findIdSlot(id);
+            return slot < 0 ? Optional.empty() : Optional.of(readEntry(idIndex.get(slot) - 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Book> findByTitle(String title) {
+        String normalized = normalize(title);
+        int hash = hash(normalized);
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(normalized, hash);
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(readBook(titleIndex.get(slot) - 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Book> listAll() {
+        lock.readLock().lock();
+        try {
+            List<Book> books = new ArrayList<>(size);
+            for (int slot = 0; slot < titleIndex.capacity(); slot++) {
+                int value = titleIndex.get(slot);
+                if (value != 0) {
+                    books.add(readBook(value - 1));
+                }
+            }
+            return books;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<CatalogEntry> entries() {
+        lock.readLock().lock();
+        try {
+            List<CatalogEntry> entries = new ArrayList<>(size);
+            for (int slot = 0; slot < titleIndex.capacity(); slot++) {
+                int value = titleIndex.get(slot);
+                if (value != 0) {
+                    entries.add(readEntry(value - 1));
+                }
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            titleIndex = allocateIndex(titleIndex.capacity());
+            idIndex = allocateIndex(idIndex.capacity());
+            authorIndex = allocateIndex(authorIndex.capacity());
+            authorCount = 0;
+            recordHighWater = 0;
+            freeCount = 0;
+            size = 0;
+            arenaUsed = 0;
+            arenaGarbage = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) records.capacity() + arena.capacity()
+                    + 4L * titleIndex.capacity() + 4L * idIndex.capacity() + 4L * authorIndex.capacity()
+                    + 4L * freeRecords.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- title and id indexes ----
+
+    private int findSlot(String normalizedTitle, int hash) {
+        int mask = titleIndex.capacity() - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int value = titleIndex.get(slot);
+            if (value == 0) {
+                return -1;
+            }
+            int base = offsetOf(value - 1);
+            if (records.getInt(base + TITLE_HASH) == hash
+                    && normalize(readString(records.getInt(base + TITLE_REF))).equals(normalizedTitle)) {
+                return slot;
+            }
+        }
+    }
+
+    private int findIdSlot(long id) {
+        int mask = idIndex.capacity() - 1;
+        for (int slot = hashId(id) & mask; ; slot = (slot + 1) & mask) {
+            int value = idIndex.get(slot);
+            if (value == 0) {
+                return -1;
+            }
+            if (records.getLong(offsetOf(value - 1) + ID) == id) {
+                return slot;
+            }
+        }
+    }
+
+    // Slot of a record known to be in the index
+    private static int slotOf(IntBuffer index, int hash, int record) {
+        int mask = index.capacity() - 1;
+        int slot = hash & mask;
+        while (index.get(slot) != record + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static void insertIntoIndex(IntBuffer index, int record, int hash) {
+        int mask = index.capacity() - 1;
+        int slot = hash & mask;
+        while (index.get(slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index.put(slot, record + 1);
+    }
+
+    /**
+     * Backward-shift deletion: pull later entries of the probe run into the hole so lookups
+     * never need tombstones.
+     */
+    private void deleteFromIndex(IntBuffer index, int slot, boolean byTitle) {
+        int mask = index.capacity() - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (index.get(next) != 0) {
+            int value = index.get(next);
+            int home = homeHash(value - 1, byTitle) & mask;
+            // Move the entry if its home slot is not within (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                index.put(hole, value);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        index.put(hole, 0);
+    }
+
+    private int homeHash(int record, boolean byTitle) {
+        int base = offsetOf(record);
+        return byTitle ? records.getInt(base + TITLE_HASH) : hashId(records.getLong(base + ID));
+    }
+
+    // Both indexes have the same capacity, the id index holds at most as many entries
+    private void ensureIndexCapacity() {
+        if ((size + 1) * 2 <= titleIndex.capacity()) {
+            return;
+        }
+        IntBuffer old = titleIndex;
+        titleIndex = allocateIndex(old.capacity() * 2);
+        idIndex = allocateIndex(old.capacity() * 2);
+        for (int slot = 0; slot < old.capacity(); slot++) {
+            int value = old.get(slot);
+            if (value != 0) {
+                insertIntoIndex(titleIndex, value - 1, homeHash(value - 1, true));
+                long id = records.getLong(offsetOf(value - 1) + ID);
+                if (id != 0) {
+                    insertIntoIndex(idIndex, value - 1, hashId(id));
+                }
+            }
+        }
+    }
+
+    // ---- records ----
+
+    private int allocateRecord() {
+        if (freeCount > 0) {
+            return freeRecords[--freeCount];
+        }
+        if ((recordHighWater + 1) * RECORD_SIZE > records.capacity()) {
+            records = grow(records, records.capacity() * 2, recordHighWater * RECORD_SIZE);
+        }
+        return recordHighWater++;
+    }
+
+    private void removeRecord(int record) {
+        int base = offsetOf(record);
+        arenaGarbage += 4 + arena.getInt(records.getInt(base + TITLE_REF));
+        releaseAuthor(records.getInt(base + AUTHOR_REF));
+        deleteFromIndex(titleIndex, slotOf(titleIndex, records.getInt(base + TITLE_HASH), record), true);
+        long id = records.getLong(base + ID);
+        if (id != 0) {
+            deleteFromIndex(idIndex, slotOf(idIndex, hashId(id), record), false);
+        }
+        releaseRecord(record);
+        size--;
+    }
+
+    private void releaseRecord(int record) {
+        if (freeCount == freeRecords.length) {
+            freeRecords = Arrays.copyOf(freeRecords, freeCount * 2);
+        }
+        freeRecords[freeCount++] = record;
+    }
+
+    private Book readBook(int record) {
+        int base = offsetOf(record);
+        return new Book(readString(records.getInt(base + TITLE_REF)), readString(records.getInt(base + AUTHOR_REF)));
+    }
+
+    private CatalogEntry readEntry(int record) {
+        int base = offsetOf(record);
+        return new CatalogEntry(
+                records.getLong(base + ID),
+                readString(records.getInt(base + TITLE_REF)),
+                readString(records.getInt(base + AUTHOR_REF)),
+                records.getLong(base + CREATED_AT),
+                records.getLong(base + UPDATED_AT));
+    }
+
+    private static int offsetOf(int record) {
+        return record * RECORD_SIZE;
+    }
+
+    // ---- string arena ----
+
+    /**
+     * Arena reference of the author, stored on first use, with its book count incremented. The count
+     * sits in the 4 bytes before the reference, so authors read like any other string.
+     */
+    private int internAuthor(String author) {
+        byte[] bytes = utf8(author);
+        int hash = mix(Arrays.hashCode(bytes));
+        int mask = authorIndex.capacity() - 1;
+        int slot = hash & mask;
+        for (int value; (value = authorIndex.get(slot)) != 0; slot = (slot + 1) & mask) {
+            int ref = value - 1;
+            if (arenaEquals(ref, bytes)) {
+                int books = arena.getInt(ref - 4);
+                if (books == 0) {
+                    // Unreferenced but not compacted away yet, live again
+                    arenaGarbage -= 8 + bytes.length;
+                }
+                arena.putInt(ref - 4, books + 1);
+                return ref;
+            }
+        }
+        ensureArenaCapacity(8 + bytes.length);
+        arena.putInt(arenaUsed, 1);
+        arenaUsed += 4;
+        int ref = appendString(bytes);
+        authorIndex.put(slot, ref + 1);
+        if (++authorCount * 2 > authorIndex.capacity()) {
+            rehashAuthors(authorIndex.capacity() * 2);
+        }
+        return ref;
+    }
+
+    private void releaseAuthor(int ref) {
+        int books = arena.getInt(ref - 4) - 1;
+        arena.putInt(ref - 4, books);
+        if (books == 0) {
+            arenaGarbage += 8 + arena.getInt(ref);
+        }
+    }
+
+    private void rehashAuthors(int capacity) {
+        IntBuffer old = authorIndex;
+        authorIndex = allocateIndex(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < old.capacity(); i++) {
+            int value = old.get(i);
+            if (value != 0) {
+                int slot = mix(arenaHash(value - 1)) & mask;
+                while (authorIndex.get(slot) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                authorIndex.put(slot, value);
+            }
+        }
+    }
+
+    private int appendString(byte[] bytes) {
+        ensureArenaCapacity(4 + bytes.length);
+        int ref = arenaUsed;
+        arena.putInt(ref, bytes.length);
+        arena.put(ref + 4, bytes);
+        arenaUsed += 4 + bytes.length;
+        return ref;
+    }
+
+    private void ensureArenaCapacity(int needed) {
+        if (arenaUsed + needed > arena.capacity()) {
+            arena = grow(arena, Math.max(arena.capacity() * 2, arenaUsed + needed), arenaUsed);
+        }
+    }
+
+    private String readString(int ref) {
+        byte[] bytes = new byte[arena.getInt(ref)];
+        arena.get(ref + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean arenaEquals(int ref, byte[] bytes) {
+        if (arena.getInt(ref) != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (arena.get(ref + 4 + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int arenaHash(int ref) {
+        int length = arena.getInt(ref);
+        int result = 1;
+        for (int i = 0; i < length; i++) {
+            result = 31 * result + arena.get(ref + 4 + i);
+        }
+        return result;
+    }
+
+    /**
+     * Rewrite the arena with only the strings still referenced by live records.
+     * Authors are re-interned with fresh book counts, so authors whose books were all removed are
+     * dropped.
+     */
+    private void compactIfWasteful() {
+        if (arenaGarbage < MIN_COMPACTION_BYTES || arenaGarbage * 2 < arenaUsed) {
+            return;
+        }
+        ByteBuffer oldArena = arena;
+        arena = ByteBuffer.allocateDirect(Math.max(1024, (int) (arenaUsed - arenaGarbage) * 2));
+        arenaUsed = 0;
+        arenaGarbage = 0;
+        authorIndex = allocateIndex(authorIndex.capacity());
+        authorCount = 0;
+
+        for (int slot = 0; slot < titleIndex.capacity(); slot++) {
+            int value = titleIndex.get(slot);
+            if (value != 0) {
+                int base = offsetOf(value - 1);
+                records.putInt(base + TITLE_REF, appendString(copyString(oldArena, records.getInt(base + TITLE_REF))));
+                String author = new String(copyString(oldArena, records.getInt(base + AUTHOR_REF)), StandardCharsets.UTF_8);
+                records.putInt(base + AUTHOR_REF, internAuthor(author));
+            }
+        }
+    }
+
+    private static byte[] copyString(ByteBuffer source, int ref) {
+        byte[] bytes = new byte[source.getInt(ref)];
+        source.get(ref + 4, bytes);
+        return bytes;
+    }
+
+    // ---- helpers ----
+
+    private static ByteBuffer grow(ByteBuffer old, int capacity, int used) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        grown.put(0, old, 0, used);
+        return grown;
+    }
+
+    private static IntBuffer allocateIndex(int slots) {
+        return ByteBuffer.allocateDirect(slots * 4).asIntBuffer();
+    }
+
+    private static int tableSizeFor(int expected) {
+        int size = Integer.highestOneBit(Math.max(8, expected) * 2 - 1);
+        return size * 2;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String normalize(String title) {
+        return title.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int hash(String normalizedTitle) {
+        return mix(normalizedTitle.hashCode());
+    }
+
+    private static int hashId(long id) {
+        return mix(Long.hashCode(id));
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+}
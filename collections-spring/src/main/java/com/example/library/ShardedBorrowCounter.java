@@ -0,0 +1,197 @@
+package com.example.library;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Sharded borrow counters for hot titles (optional, {@code library.borrow-counter.sharding.enabled}).
+ *
+ * Borrows report how many optimistic locking conflicts they needed to get through. A book whose
+ * conflict rate in a window exceeds {@code promote-conflict-rate} gets twice as many counter slots
+ * (up to {@code max-shards}); while it has slots, borrows add 1 to a random slot in
+ * {@code book_borrow_counter_shards} instead of updating its {@code books} row. Sharded borrows no
+ * longer conflict, so a book goes back to fewer slots when its traffic drops below
+ * {@code min-borrows-per-window}; slots of unsharded books are folded back into
+ * {@code books.borrow_count} periodically. Reads add the slot totals to the base count, including
+ * slots other instances wrote; each instance only folds the books it has slots for itself.
+ */
+@Component
+public class ShardedBorrowCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedBorrowCounter.class);
+
+    private final BorrowCounterShardRepository shardRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxShards;
+    private final double promoteConflictRate;
+    private final int minBorrowsPerWindow;
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    private final Map<Long, BookStats> stats = new ConcurrentHashMap<>();
+    // Books this instance may have written slot rows for (sharded now or not folded yet); decides
+    // what to fold, never what to read
+    private final Set<Long> booksWithSlots = ConcurrentHashMap.newKeySet();
+
+    public ShardedBorrowCounter(BorrowCounterShardRepository shardRepository,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${library.borrow-counter.sharding.enabled:false}") boolean enabled,
+                                @Value("${library.borrow-counter.max-shards:16}") int maxShards,
+                                @Value("${library.borrow-counter.promote-conflict-rate:0.1}") double promoteConflictRate,
+                                @Value("${library.borrow-counter.min-borrows-per-window:50}") int minBorrowsPerWindow,
+                                @Value("${library.borrow-counter.window-seconds:30}") long windowSeconds) {
+        this(shardRepository, transactionTemplate, meterRegistry, enabled, maxShards, promoteConflictRate,
+                minBorrowsPerWindow, windowSeconds * 1000, System::currentTimeMillis);
+    }
+
+    ShardedBorrowCounter(BorrowCounterShardRepository shardRepository, TransactionTemplate transactionTemplate,
+                         MeterRegistry meterRegistry, boolean enabled, int maxShards, double promoteConflictRate,
+                         int minBorrowsPerWindow, long windowMillis, LongSupplier clock) {
+        this.shardRepository = shardRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxShards = maxShards;
+        this.promoteConflictRate = promoteConflictRate;
+        this.minBorrowsPerWindow = minBorrowsPerWindow;
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+        meterRegistry.gauge("library.borrow.counter.sharded.books", stats,
+                map -> map.values().stream().filter(s -> s.shards > 1).count());
+    }
+
+    @PostConstruct
+    public void loadBooksWithSlots() {
+        booksWithSlots.addAll(shardRepository.findShardedBookIds());
+    }
+
+    /**
+     * Number of counter slots currently used for the book (1 = borrows update the books row).
+     */
+    public int shards(long bookId) {
+        BookStats bookStats = stats.get(bookId);
+        return bookStats != null ? bookStats.shards : 1;
+    }
+
+    public boolean isSharded(long bookId) {
+        return enabled && shards(bookId) > 1;
+    }
+
+    /**
+     * Count one borrow on a random slot of the book. Must run inside the borrow transaction.
+     */
+    public void increment(long bookId) {
+        booksWithSlots.add(bookId);
+        shardRepository.increment(bookId, ThreadLocalRandom.current().nextInt(shards(bookId)));
+    }
+
+    /**
+     * Sum of the book's slots, to be added to {@code books.borrow_count}. Read from the table, since
+     * other instances may have counted on slots of the book.
+     */
+    public long slotTotal(long bookId) {
+        return shardRepository.sumByBookId(bookId);
+    }
+
+    /**
+     * Slot totals of all books that have slots, on any instance.
+     */
+    public Map<Long, Long> slotTotals() {
+        Map<Long, Long> totals = new HashMap<>();
+        for (Object[] row : shardRepository.sumByBook()) {
+            totals.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return totals;
+    }
+
+    /**
+     * Record a completed borrow and how many optimistic locking conflicts it ran into,
+     * adjusting the book's slot count at the end of each window.
+     */
+    public void recordBorrow(long bookId, int conflicts) {
+        if (!enabled) {
+            return;
+        }
+        BookStats bookStats = stats.computeIfAbsent(bookId, id -> new BookStats(clock.getAsLong()));
+        synchronized (bookStats) {
+            long now = clock.getAsLong();
+            if (now - bookStats.windowStart >= windowMillis) {
+                resize(bookId, bookStats);
+                bookStats.windowStart = now;
+                bookStats.borrows = 0;
+                bookStats.conflicts = 0;
+            }
+            bookStats.borrows++;
+            bookStats.conflicts += conflicts;
+        }
+    }
+
+    private void resize(long bookId, BookStats bookStats) {
+        int before = bookStats.shards;
+        double conflictRate = bookStats.borrows > 0 ? (double) bookStats.conflicts / bookStats.borrows : 0.0;
+        if (bookStats.borrows >= minBorrowsPerWindow && conflictRate >= promoteConflictRate) {
+            bookStats.shards = Math.min(maxShards, bookStats.shards * 2);
+        } else if (bookStats.borrows < minBorrowsPerWindow && bookStats.shards > 1) {
+            bookStats.shards = bookStats.shards / 2;
+        }
+        if (bookStats.shards != before) {
+            logger.info("Book {} borrow counter: {} -> {} slots ({} borrows, conflict rate {})",
+                    bookId, before, bookStats.shards, bookStats.borrows, String.format("%.2f", conflictRate));
+        }
+    }
+
+    /**
+     * Move the slots of books that are no longer sharded back into their books row.
+     */
+    @Scheduled(fixedDelayString = "${library.borrow-counter.fold-interval-ms:60000}")
+    public void foldUnshardedBooks() {
+        for (Long bookId : booksWithSlots) {
+            if (isSharded(bookId)) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(tx -> shardRepository.foldIntoBook(bookId));
+            booksWithSlots.remove(bookId);
+            // A borrow that picked a slot just before the fold may have recreated it
+            if (shardRepository.sumByBookId(bookId) > 0) {
+                booksWithSlots.add(bookId);
+            }
+        }
+        // Forget idle books so the stats map does not grow with the whole catalog
+        long now = clock.getAsLong();
+        stats.entrySet().removeIf(entry -> entry.getValue().shards == 1 && now - entry.getValue().windowStart > 2 * windowMillis);
+    }
+
+    /**
+     * Drop the slots of a removed book, including those other instances wrote.
+     */
+    public void remove(long bookId) {
+        stats.remove(bookId);
+        booksWithSlots.remove(bookId);
+        shardRepository.deleteByBookId(bookId);
+    }
+
+    private static final class BookStats {
+        long windowStart;
+        int borrows;
+        int conflicts;
+        volatile int shards = 1;
+
+        BookStats(long windowStart) {
+            this.windowStart = windowStart;
+        }
+    }
+}
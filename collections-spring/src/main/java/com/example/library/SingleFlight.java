@@ -0,0 +1,75 @@
+package com.example.library;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Request coalescing: while a load for a key is in flight, other callers asking for the same key wait
+ * for its result instead of issuing their own. A load that finishes is forgotten immediately - this
+ * is not a cache, only concurrent callers share a result.
+ *
+ * Counts issued and coalesced calls as {@code library.lookup.singleflight{lookup, result}}.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter issued;
+    private final Counter coalesced;
+
+    public SingleFlight(String lookup, MeterRegistry meterRegistry) {
+        this.issued = Counter.builder("library.lookup.singleflight")
+                .description("Lookups that ran their own query")
+                .tag("lookup", lookup)
+                .tag("result", "issued")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("library.lookup.singleflight")
+                .description("Lookups that shared the result of a concurrent identical query")
+                .tag("lookup", lookup)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run {@code loader} for the key, or wait for the run already in flight. A failure of the shared
+     * run is rethrown to every caller waiting on it.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        issued.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.example.library;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over book titles and authors for {@code GET /api/books/search}.
+ *
+ * Titles and authors are split into lower-cased, accent-folded tokens. The term dictionary is sorted,
+ * so every query token is a prefix: its postings are the union over the range of terms starting with
+ * it, and a book matches when it matches all query tokens. Hits are ranked by borrow count. Postings
+ * are sorted arrays of book ids, which keeps the index to a few machine words per token occurrence.
+ *
+ * Built from the database once the application is ready and kept current by {@link LibraryService}.
+ * A periodic rebuild picks up writes that bypass it (catalog import, reactive API, other instances).
+ */
+@Component
+public class TitleSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TitleSearchIndex.class);
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // Changes made while a rebuild scans the database, replayed onto the new index before the swap
+    private volatile Queue<Consumer<Index>> changesDuringRebuild;
+
+    @Autowired(required = false)
+    private BookScanner bookScanner;
+
+    @Autowired(required = false)
+    private ShardedBorrowCounter shardedBorrowCounter;
+
+    public void put(long id, String title, String author, long borrowCount) {
+        change(index -> index.put(id, title, author, borrowCount));
+    }
+
+    public void remove(long id) {
+        change(index -> index.remove(id));
+    }
+
+    /**
+     * Borrow counts only affect ranking, so this does not restructure the index.
+     */
+    public void updateBorrowCount(long id, long borrowCount) {
+        lock.readLock().lock();
+        try {
+            index.updateBorrowCount(id, borrowCount);
+            Queue<Consumer<Index>> pending = changesDuringRebuild;
+            if (pending != null) {
+                pending.add(rebuilt -> rebuilt.updateBorrowCount(id, borrowCount));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Books matching every token of the query as a prefix of a title or author token, most borrowed first.
+     */
+    public List<BookSearchHit> search(String query, int limit) {
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(tokens, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return index.terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${library.search.rebuild-interval-ms:600000}",
+               initialDelayString = "${library.search.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        if (bookScanner == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<Long, Long> slotTotals = shardedBorrowCounter != null ? shardedBorrowCounter.slotTotals() : Map.of();
+        Index rebuilt = new Index();
+        changesDuringRebuild = new ConcurrentLinkedQueue<>();
+        try {
+            bookScanner.forEachBookRow(row -> {
+                long id = ((Number) row[0]).longValue();
+                long borrowCount = (row[3] != null ? ((Number) row[3]).longValue() : 0) + slotTotals.getOrDefault(id, 0L);
+                rebuilt.put(id, (String) row[1], (String) row[2], borrowCount);
+            });
+        } catch (RuntimeException e) {
+            changesDuringRebuild = null;
+            logger.error("Rebuilding the title search index failed, keeping the current one", e);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changesDuringRebuild = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Title search index rebuilt with {} books and {} terms in {} ms",
+                rebuilt.docs.size(), rebuilt.terms.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void change(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            Queue<Consumer<Index>> pending = changesDuringRebuild;
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Distinct tokens in order of appearance: accents folded, lower-cased, split on anything that is
+     * not a letter or digit.
+     */
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private static final class Index {
+        final TreeMap<String, Postings> terms = new TreeMap<>();
+        final Map<Long, Doc> docs = new HashMap<>();
+
+        void put(long id, String title, String author, long borrowCount) {
+            remove(id);
+            Set<String> tokens = new LinkedHashSet<>(Arrays.asList(tokenize(title)));
+            tokens.addAll(Arrays.asList(tokenize(author)));
+            Doc doc = new Doc(title, author, tokens.toArray(new String[0]), borrowCount);
+            docs.put(id, doc);
+            for (String token : doc.tokens) {
+                terms.computeIfAbsent(token, t -> new Postings()).add(id);
+            }
+        }
+
+        void remove(long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            for (String token : doc.tokens) {
+                Postings postings = terms.get(token);
+                if (postings != null && postings.remove(id) && postings.size == 0) {
+                    terms.remove(token);
+                }
+            }
+        }
+
+        void updateBorrowCount(long id, long borrowCount) {
+            Doc doc = docs.get(id);
+            if (doc != null) {
+                doc.borrowCount = borrowCount;
+            }
+        }
+
+        List<BookSearchHit> search(String[] tokens, int limit) {
+            long[][] matches = new long[tokens.length][];
+            for (int i = 0; i < tokens.length; i++) {
+                matches[i] = prefixMatches(tokens[i]);
+                if (matches[i].length == 0) {
+                    return List.of();
+                }
+            }
+            // Intersect smallest first, so the candidate set only shrinks
+            Arrays.sort(matches, Comparator.comparingInt(ids -> ids.length));
+            long[] ids = matches[0];
+            for (int i = 1; i < matches.length && ids.length > 0; i++) {
+                ids = intersect(ids, matches[i]);
+            }
+
+            // Top hits by borrow count (then title) without sorting every match
+            Comparator<Doc> rank = Comparator.<Doc>comparingLong(doc -> doc.borrowCount)
+                    .thenComparing(doc -> doc.title, Comparator.reverseOrder());
+            PriorityQueue<Doc> top = new PriorityQueue<>(Math.min(limit, ids.length) + 1, rank);
+            for (long id : ids) {
+                top.add(docs.get(id));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<BookSearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Doc doc = top.poll();
+                hits.add(new BookSearchHit(doc.title, doc.author, doc.borrowCount));
+            }
+            Collections.reverse(hits);
+            return hits;
+        }
+
+        // Union of the postings of every term starting with the prefix, sorted and distinct
+        private long[] prefixMatches(String prefix) {
+            NavigableMap<String, Postings> range = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            if (range.size() == 1) {
+                Postings only = range.firstEntry().getValue();
+                return Arrays.copyOf(only.ids, only.size);
+            }
+            int total = 0;
+            for (Postings postings : range.values()) {
+                total += postings.size;
+            }
+            long[] union = new long[total];
+            int offset = 0;
+            for (Postings postings : range.values()) {
+                System.arraycopy(postings.ids, 0, union, offset, postings.size);
+                offset += postings.size;
+            }
+            Arrays.sort(union);
+            int distinct = 0;
+            for (int i = 0; i < union.length; i++) {
+                if (i == 0 || union[i] != union[i - 1]) {
+                    union[distinct++] = union[i];
+                }
+            }
+            return Arrays.copyOf(union, distinct);
+        }
+
+        private static long[] intersect(long[] a, long[] b) {
+            long[] result = new long[Math.min(a.length, b.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+    }
+
+    private static final class Doc {
+        final String title;
+        final String author;
+        final String[] tokens;
+        volatile long borrowCount;
+
+        Doc(String title, String author, String[] tokens, long borrowCount) {
+            this.title = title;
+            this.author = author;
+            this.tokens = tokens;
+            this.borrowCount = borrowCount;
+        }
+    }
+
+    /**
+     * Sorted book ids of one term. Ids are mostly appended (new books get higher ids), so inserts
+     * rarely shift anything.
+     */
+    private static final class Postings {
+        long[] ids = new long[2];
+        int size;
+
+        void add(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            int insert = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+            ids[insert] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -18,6 +18,9 @@ public class TransactionDemoController {
     @Autowired
     private BookRepository bookRepository;
     
+    @Autowired
+    private BorrowContentionBenchmark borrowContentionBenchmark;
+    
     /**
      * Demonstrate transaction propagation
      */
@@ -161,4 +164,21 @@ public class TransactionDemoController {
             return ResponseEntity.badRequest().body(response);
         }
     }
+    
+    /**
+     * Run the borrow contention benchmark: concurrent borrowers against a few hot titles, per locking strategy
+     */
+    @PostMapping("/benchmark/borrow-contention")
+    public ResponseEntity<List<BorrowContentionResult>> benchmarkBorrowContention(
+            @RequestParam(defaultValue = "PLAIN,PESSIMISTIC,OPTIMISTIC,ATOMIC") List<BorrowContentionBenchmark.Strategy> strategies,
+            @RequestParam(defaultValue = "16") int threads,
+            @RequestParam(defaultValue = "1") int titles,
+            @RequestParam(defaultValue = "2000") int operations,
+            @RequestParam(defaultValue = "10") int maxRetries) throws InterruptedException {
+        
+        if (threads < 1 || titles < 1 || operations < threads || maxRetries < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(borrowContentionBenchmark.run(strategies, threads, titles, operations, maxRetries));
+    }
 }
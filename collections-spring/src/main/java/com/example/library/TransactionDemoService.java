@@ -263,6 +263,18 @@ public class TransactionDemoService {
         throw new IllegalArgumentException("Book not found: " + title);
     }
     
+    /**
+     * Atomic update example: no read, no version check, no lock held across statements
+     */
+    @Transactional
+    public int borrowBookAtomically(String title) {
+        int updated = bookRepository.incrementBorrowCount(title);
+        if (updated == 0) {
+            throw new IllegalArgumentException("Book not found: " + title);
+        }
+        return updated;
+    }
+    
     // ========== DEMONSTRATION METHODS ==========
     
     /**
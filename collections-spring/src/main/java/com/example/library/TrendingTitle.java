@@ -0,0 +1,27 @@
+package com.example.library;
+
+public class TrendingTitle {
+    private final String title;
+    private final long estimatedBorrows;
+
+    public TrendingTitle(String title, long estimatedBorrows) {
+        this.title = title;
+        this.estimatedBorrows = estimatedBorrows;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public long getEstimatedBorrows() {
+        return estimatedBorrows;
+    }
+
+    @Override
+    public String toString() {
+        return "TrendingTitle{" +
+                "title='" + title + '\'' +
+                ", estimatedBorrows=" + estimatedBorrows +
+                '}';
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.library;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Streaming heavy-hitters tracker for "most borrowed in the last window" queries.
+ *
+ * The window is split into a ring of time buckets, each with its own {@link CountMinSketch}.
+ * A borrow increments the sketch of the current bucket; buckets older than the window are
+ * cleared as time moves on, so counts decay bucket by bucket instead of growing forever.
+ * A small candidate pool (Space-Saving style, bounded by {@code candidateCapacity}) keeps
+ * the titles with the highest windowed estimates so a top-K query is a sort of a few dozen
+ * entries. Memory is fixed by configuration and independent of the number of titles.
+ */
+@Component
+public class TrendingTitlesTracker {
+
+    private final CountMinSketch[] buckets;
+    private final long[] bucketEpochs;
+    private final long bucketMillis;
+    private final int candidateCapacity;
+    private final LongSupplier clock;
+
+    // normalized title -> windowed estimate, and normalized title -> title as last borrowed
+    private final Map<String, Long> candidates = new HashMap<>();
+    private final Map<String, String> displayTitles = new HashMap<>();
+    private long lastRefreshedEpoch = -1;
+
+    @Autowired
+    public TrendingTitlesTracker(@Value("${library.trending.window-minutes:60}") int windowMinutes,
+                                 @Value("${library.trending.buckets:12}") int bucketCount,
+                                 @Value("${library.trending.sketch-depth:4}") int depth,
+                                 @Value("${library.trending.sketch-width:2048}") int width,
+                                 @Value("${library.trending.candidates:64}") int candidateCapacity) {
+        this(windowMinutes * 60_000L, bucketCount, depth, width, candidateCapacity, System::currentTimeMillis);
+    }
+
+    public TrendingTitlesTracker(long windowMillis, int bucketCount, int depth, int width,
+                                 int candidateCapacity, LongSupplier clock) {
+        if (bucketCount <= 0 || windowMillis < bucketCount) {
+            throw new IllegalArgumentException("window must be split into at least one bucket of 1ms");
+        }
+        if (candidateCapacity <= 0) {
+            throw new IllegalArgumentException("candidateCapacity must be positive: " + candidateCapacity);
+        }
+        this.buckets = new CountMinSketch[bucketCount];
+        this.bucketEpochs = new long[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new CountMinSketch(depth, width);
+            bucketEpochs[i] = -1;
+        }
+        this.bucketMillis = windowMillis / bucketCount;
+        this.candidateCapacity = candidateCapacity;
+        this.clock = clock;
+    }
+
+    /**
+     * Record a single borrow of the given title.
+     */
+    public synchronized void recordBorrow(String title) {
+        long epoch = advance();
+        String key = normalize(title);
+        buckets[(int) (epoch % buckets.length)].add(key, 1);
+        long estimate = windowEstimate(key);
+
+        displayTitles.put(key, title);
+        if (candidates.containsKey(key) || candidates.size() < candidateCapacity) {
+            candidates.put(key, estimate);
+            return;
+        }
+
+        String minKey = null;
+        long minEstimate = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+            if (entry.getValue() < minEstimate) {
+                minEstimate = entry.getValue();
+                minKey = entry.getKey();
+            }
+        }
+        if (estimate > minEstimate) {
+            candidates.remove(minKey);
+            displayTitles.remove(minKey);
+            candidates.put(key, estimate);
+        } else {
+            displayTitles.remove(key);
+        }
+    }
+
+    /**
+     * Top titles by estimated borrows inside the sliding window, highest first.
+     */
+    public synchronized List<TrendingTitle> top(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        advance();
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(candidates.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        List<TrendingTitle> result = new ArrayList<>(Math.min(limit, entries.size()));
+        for (Map.Entry<String, Long> entry : entries) {
+            if (result.size() >= limit) break;
+            result.add(new TrendingTitle(displayTitles.get(entry.getKey()), entry.getValue()));
+        }
+        return result;
+    }
+
+    public long getWindowMillis() {
+        return bucketMillis * buckets.length;
+    }
+
+    /**
+     * Move the ring forward to the current bucket, clearing buckets that fell out of the window.
+     * Candidate estimates only grow while the bucket set is unchanged, so they are re-estimated
+     * (and dropped once decayed to zero) only when a new bucket starts.
+     */
+    private long advance() {
+        long epoch = clock.getAsLong() / bucketMillis;
+        int slot = (int) (epoch % buckets.length);
+        if (bucketEpochs[slot] != epoch) {
+            buckets[slot].clear();
+            bucketEpochs[slot] = epoch;
+        }
+        if (epoch != lastRefreshedEpoch) {
+            lastRefreshedEpoch = epoch;
+            candidates.replaceAll((key, ignored) -> windowEstimate(key));
+            candidates.values().removeIf(estimate -> estimate == 0);
+            displayTitles.keySet().retainAll(candidates.keySet());
+        }
+        return epoch;
+    }
+
+    private long windowEstimate(String key) {
+        long oldestLiveEpoch = lastRefreshedEpoch - buckets.length + 1;
+        long sum = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            if (bucketEpochs[i] >= oldestLiveEpoch) {
+                sum += buckets[i].estimate(key);
+            }
+        }
+        return sum;
+    }
+
+    private static String normalize(String title) {
+        return title.trim().toLowerCase(Locale.ROOT);
+    }
+}
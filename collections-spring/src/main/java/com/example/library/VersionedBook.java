@@ -0,0 +1,13 @@
+package com.example.library;
+
+import java.time.LocalDateTime;
+
+/**
+ * A book with the row identity and version used for HTTP validators ({@code GET /api/books/{title}}).
+ */
+public record VersionedBook(Long id, String title, String author, Long version, LocalDateTime updatedAt) {
+
+    public Book toBook() {
+        return new Book(title, author);
+    }
+}
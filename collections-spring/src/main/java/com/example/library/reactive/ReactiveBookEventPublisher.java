@@ -0,0 +1,53 @@
+package com.example.library.reactive;
+
+import com.example.eventlog.LocalEventLog;
+import com.example.kafka.model.BookEvent;
+import com.example.kafka.model.BorrowEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import static com.example.kafka.producer.KafkaProducerService.BOOK_EVENTS_TOPIC;
+import static com.example.kafka.producer.KafkaProducerService.BORROW_EVENTS_TOPIC;
+
+/**
+ * Publishes book and borrow events without blocking the caller: through the reactive Kafka sender,
+ * or through the local event log when the {@code local-log} profile replaces the broker.
+ * Send failures are logged and do not fail the request, like in {@code KafkaProducerService}.
+ */
+@Component
+public class ReactiveBookEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveBookEventPublisher.class);
+
+    private final ReactiveKafkaProducerTemplate<String, Object> kafkaSender;
+
+    @Autowired(required = false)
+    private LocalEventLog localEventLog;
+
+    public ReactiveBookEventPublisher(ReactiveKafkaProducerTemplate<String, Object> kafkaSender) {
+        this.kafkaSender = kafkaSender;
+    }
+
+    public Mono<Void> publishBookEvent(BookEvent event) {
+        return send(BOOK_EVENTS_TOPIC, event.getBookId(), event);
+    }
+
+    public Mono<Void> publishBorrowEvent(BorrowEvent event) {
+        return send(BORROW_EVENTS_TOPIC, event.getBookTitle(), event);
+    }
+
+    private Mono<Void> send(String topic, String key, Object event) {
+        Mono<?> send = localEventLog != null
+                ? Mono.fromCallable(() -> localEventLog.publish(topic, key, event)).subscribeOn(Schedulers.boundedElastic())
+                : kafkaSender.send(topic, key, event);
+        return send
+                .doOnError(e -> logger.error("Unable to send event=[{}] to {} due to: {}", event, topic, e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.library.reactive;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveBookRepository extends ReactiveCrudRepository<BookRow, Long> {
+
+    Mono<BookRow> findFirstByTitleIgnoreCase(String title);
+}
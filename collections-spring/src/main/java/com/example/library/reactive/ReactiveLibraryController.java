@@ -0,0 +1,61 @@
+package com.example.library.reactive;
+
+import com.example.library.Book;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variant of {@code LibraryController}. Handlers return Mono/Flux, so no request thread
+ * waits on the database or Kafka; {@code application/x-ndjson} listings are streamed with backpressure.
+ */
+@RestController
+@RequestMapping("/api/reactive/books")
+@Tag(name = "Reactive Library", description = "Non-blocking (R2DBC + reactive Kafka) variant of the library API")
+public class ReactiveLibraryController {
+    private final ReactiveLibraryService service;
+
+    public ReactiveLibraryController(ReactiveLibraryService service) {
+        this.service = service;
+    }
+
+    @PostMapping
+    @Operation(summary = "Add a new book", description = "Add a new book without blocking a request thread")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Book added successfully"),
+            @ApiResponse(responseCode = "400", description = "Duplicate book - book already exists")
+    })
+    public Mono<ResponseEntity<String>> add(@RequestBody Book book) {
+        return service.addBook(book)
+                .map(added -> added ? ResponseEntity.ok("Book added") : ResponseEntity.badRequest().body("Duplicate book"));
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Get all books", description = "JSON array, or a stream of one book per line with Accept: application/x-ndjson")
+    @ApiResponse(responseCode = "200", description = "List of books retrieved successfully")
+    public Flux<Book> all() {
+        return service.listAll();
+    }
+
+    @PostMapping("/borrow/{title}")
+    @Operation(summary = "Borrow a book", description = "Atomically increment the borrow count of a book by title")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Book borrowed successfully"),
+            @ApiResponse(responseCode = "404", description = "Book not found")
+    })
+    public Mono<ResponseEntity<String>> borrow(
+            @Parameter(description = "Title of the book to borrow", required = true)
+            @PathVariable String title) {
+        return service.borrow(title)
+                .map(count -> count < 0
+                        ? ResponseEntity.<String>notFound().build()
+                        : ResponseEntity.ok("Borrowed '" + title + "' times: " + count));
+    }
+}
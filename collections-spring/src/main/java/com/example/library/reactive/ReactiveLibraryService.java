@@ -0,0 +1,96 @@
+package com.example.library.reactive;
+
+import com.example.kafka.model.BookEvent;
+import com.example.kafka.model.BorrowEvent;
+import com.example.library.Book;
+import com.example.library.BookCacheEvictor;
+import com.example.library.CatalogVersionRepository;
+import com.example.library.TrendingTitlesTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@code LibraryService} on R2DBC, for the {@code /api/reactive/books} API.
+ * Works on the same {@code books} table and emits the same events. Hibernate does not see these
+ * writes, so each one evicts the book and the cached title lookups from the second-level cache.
+ */
+@Service
+public class ReactiveLibraryService {
+
+    // Single statement, so concurrent borrows never lose an update and no lock is held across round trips
+    private static final String BORROW_SQL =
+            "UPDATE books SET borrow_count = COALESCE(borrow_count, 0) + 1, version = COALESCE(version, 0) + 1, updated_at = now() "
+            + "WHERE id = (SELECT id FROM books WHERE lower(title) = lower(:title) ORDER BY id LIMIT 1) "
+            + "RETURNING id, title, author, borrow_count";
+
+    private final ReactiveBookRepository bookRepository;
+    private final DatabaseClient databaseClient;
+    private final ReactiveBookEventPublisher eventPublisher;
+
+    @Autowired
+    private TrendingTitlesTracker trendingTitlesTracker;
+
+    @Autowired
+    private BookCacheEvictor bookCacheEvictor;
+
+    public ReactiveLibraryService(ReactiveBookRepository bookRepository,
+                                  DatabaseClient databaseClient,
+                                  ReactiveBookEventPublisher eventPublisher) {
+        this.bookRepository = bookRepository;
+        this.databaseClient = databaseClient;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @return false if a book with the same title (case insensitive) already exists
+     */
+    public Mono<Boolean> addBook(Book book) {
+        return bookRepository.findFirstByTitleIgnoreCase(book.getTitle())
+                .hasElement()
+                .flatMap(exists -> exists
+                        ? Mono.just(false)
+                        : bookRepository.save(new BookRow(book.getTitle(), book.getAuthor()))
+                                .flatMap(row -> databaseClient.sql(CatalogVersionRepository.INCREMENT_SQL).then().thenReturn(row))
+                                .doOnNext(row -> bookCacheEvictor.evictBook(row.getId()))
+                                .flatMap(row -> {
+                                    BookEvent event = new BookEvent("BOOK_ADDED",
+                                            String.valueOf(row.getId()), book.getTitle(), book.getAuthor());
+                                    event.setEntityId(row.getId());
+                                    return eventPublisher.publishBookEvent(event);
+                                })
+                                .thenReturn(true));
+    }
+
+    /**
+     * All books, streamed row by row as the subscriber requests them.
+     */
+    public Flux<Book> listAll() {
+        return bookRepository.findAll()
+                .map(row -> new Book(row.getTitle(), row.getAuthor()));
+    }
+
+    /**
+     * @return the new borrow count, or -1 if there is no such book
+     */
+    public Mono<Integer> borrow(String title) {
+        return databaseClient.sql(BORROW_SQL)
+                .bind("title", title)
+                .map((row, metadata) -> new BorrowResult(row.get("id", Long.class), row.get("title", String.class), row.get("borrow_count", Integer.class)))
+                .one()
+                .flatMap(result -> {
+                    bookCacheEvictor.evictBook(result.id());
+                    trendingTitlesTracker.recordBorrow(result.title());
+                    BorrowEvent event = new BorrowEvent("BOOK_BORROWED",
+                            title, result.borrowCount(), "user-" + System.currentTimeMillis());
+                    event.setEntityId(result.id());
+                    return eventPublisher.publishBorrowEvent(event).thenReturn(result.borrowCount());
+                })
+                .defaultIfEmpty(-1);
+    }
+
+    private record BorrowResult(Long id, String title, int borrowCount) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConflictRetryAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ObservabilityMetricsService observabilityMetricsService;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    @InjectMocks
+    private ConflictRetryAspect aspect = new ConflictRetryAspect(meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getDeclaringType()).thenReturn(ConflictRetryAspectTest.class);
+        when(signature.getName()).thenReturn("write");
+    }
+
+    @RetryOnConflict(maxAttempts = 4, initialBackoffMs = 1, maxBackoffMs = 2, pessimisticAfter = 2)
+    void write() {
+    }
+
+    private RetryOnConflict annotation() throws NoSuchMethodException {
+        return getClass().getDeclaredMethod("write").getAnnotation(RetryOnConflict.class);
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("BookEntity", 1L);
+    }
+
+    @Test
+    void retriesConflictsAndSwitchesToPessimisticLocking() throws Throwable {
+        List<Boolean> pessimisticPerAttempt = new ArrayList<>();
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            pessimisticPerAttempt.add(ConflictRetryContext.isPessimistic());
+            if (pessimisticPerAttempt.size() < 3) throw conflict();
+            return 42;
+        });
+
+        assertEquals(42, aspect.retry(joinPoint, annotation()));
+        assertEquals(List.of(false, false, true), pessimisticPerAttempt);
+        verify(observabilityMetricsService, times(2)).recordConcurrentAccessConflict();
+        assertEquals(1.0, meterRegistry.get("library.write.retry.pessimistic.fallbacks").counter().count(), 0.0);
+        assertEquals(2.0, meterRegistry.get("library.write.retry.depth").summary().totalAmount(), 0.0);
+        assertFalse(ConflictRetryContext.isPessimistic());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(conflict());
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> aspect.retry(joinPoint, annotation()));
+        verify(joinPoint, times(4)).proceed();
+        assertEquals(1.0, meterRegistry.get("library.write.retry.exhausted").counter().count(), 0.0);
+    }
+
+    @Test
+    void interruptDuringBackoffRethrowsTheConflict() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(conflict());
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class, () -> aspect.retry(joinPoint, annotation()));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        verify(joinPoint, times(1)).proceed();
+    }
+
+    @Test
+    void doesNotRetryOtherFailures() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new IllegalArgumentException("boom"));
+
+        assertThrows(IllegalArgumentException.class, () -> aspect.retry(joinPoint, annotation()));
+        verify(joinPoint, times(1)).proceed();
+        verifyNoInteractions(observabilityMetricsService);
+    }
+
+    @Test
+    void backoffStaysWithinBounds() throws NoSuchMethodException {
+        RetryOnConflict retry = annotation();
+        for (int i = 1; i < 50; i++) {
+            long backoff = ConflictRetryAspect.backoffMillis(retry, i);
+            assertTrue(backoff >= 0 && backoff <= retry.maxBackoffMs());
+        }
+    }
+}
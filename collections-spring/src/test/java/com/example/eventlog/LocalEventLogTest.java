@@ -0,0 +1,61 @@
+package com.example.eventlog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalEventLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void subscribeFromOffsetSkipsEarlierRecords() throws InterruptedException {
+        LocalEventLog eventLog = new LocalEventLog(new ObjectMapper(), directory.toString(), 4096, 1);
+        try {
+            for (int i = 0; i < 5; i++) {
+                eventLog.publish("topic", "key", "event-" + i);
+            }
+
+            List<Long> offsets = new CopyOnWriteArrayList<>();
+            CountDownLatch caughtUp = new CountDownLatch(1);
+            eventLog.subscribe("group", "topic", 3, String.class, new EventLogListener<String>() {
+                @Override
+                public void onEvent(String event, int partition, long offset, Acknowledgment acknowledgment) {
+                    offsets.add(offset);
+                }
+
+                @Override
+                public void onCaughtUp() {
+                    caughtUp.countDown();
+                }
+            });
+
+            assertTrue(caughtUp.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(3L, 4L), offsets);
+        } finally {
+            eventLog.close();
+        }
+    }
+
+    @Test
+    void committedPositionSurvivesRestart() throws IOException {
+        LocalEventLog eventLog = new LocalEventLog(new ObjectMapper(), directory.toString(), 4096, 1);
+        eventLog.commit("group", "topic", 42);
+        eventLog.close();
+
+        try (ConsumerPosition position = ConsumerPosition.open(directory.resolve("positions").resolve("group@topic.pos"))) {
+            assertEquals(42, position.committed());
+        }
+    }
+}
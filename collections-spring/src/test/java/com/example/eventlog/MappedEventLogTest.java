@@ -0,0 +1,115 @@
+package com.example.eventlog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedEventLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendAndReadInOrder() throws IOException {
+        try (MappedEventLog log = MappedEventLog.open(directory, 4096)) {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, log.append("key-" + i, bytes("event-" + i), 1000 + i));
+            }
+
+            List<EventLogRecord> records = log.read(3, 4);
+            assertEquals(4, records.size());
+            assertEquals(3, records.get(0).getOffset());
+            assertEquals("key-3", records.get(0).getKey());
+            assertEquals("event-6", text(records.get(3)));
+            assertEquals(1006, records.get(3).getTimestamp());
+            assertTrue(log.read(10, 5).isEmpty());
+        }
+    }
+
+    @Test
+    void reopenRecoversRecordsAndDropsTornWrite() throws IOException {
+        try (MappedEventLog log = MappedEventLog.open(directory, 4096)) {
+            log.append("a", bytes("first"), 1);
+            log.append("b", bytes("second"), 2);
+        }
+        // Corrupt the second record's payload, as if the process died mid-append
+        Path segment = directory.resolve(String.format("%020d.log", 0));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 8 + 20 + 1 + 5 + 8 + 20 + 1);
+        }
+
+        try (MappedEventLog log = MappedEventLog.open(directory, 4096)) {
+            assertEquals(1, log.endOffset());
+            assertEquals("first", text(log.read(0, 10).get(0)));
+            assertEquals(1, log.append("c", bytes("third"), 3));
+        }
+    }
+
+    @Test
+    void rollsSegmentsAndReadsAcrossThem() throws IOException {
+        try (MappedEventLog log = MappedEventLog.open(directory, 256)) {
+            for (int i = 0; i < 20; i++) {
+                log.append("k", bytes("payload-" + i), i);
+            }
+            assertTrue(log.segmentCount() > 1);
+
+            List<EventLogRecord> records = log.read(0, 100);
+            assertEquals(20, records.size());
+            for (int i = 0; i < 20; i++) {
+                assertEquals(i, records.get(i).getOffset());
+                assertEquals("payload-" + i, text(records.get(i)));
+            }
+        }
+        try (MappedEventLog log = MappedEventLog.open(directory, 256)) {
+            assertEquals(20, log.endOffset());
+            assertEquals("payload-19", text(log.read(19, 1).get(0)));
+        }
+    }
+
+    @Test
+    void retentionDropsOldClosedSegments() throws IOException {
+        try (MappedEventLog log = MappedEventLog.open(directory, 256)) {
+            for (int i = 0; i < 20; i++) {
+                log.append("k", bytes("payload-" + i), i < 10 ? 100 : 10_000);
+            }
+            int deleted = log.deleteSegmentsOlderThan(5_000);
+
+            assertTrue(deleted > 0);
+            assertTrue(log.startOffset() > 0 && log.startOffset() <= 10);
+            List<EventLogRecord> records = log.read(0, 100);
+            assertEquals(log.startOffset(), records.get(0).getOffset());
+            assertEquals(19, records.get(records.size() - 1).getOffset());
+        }
+    }
+
+    @Test
+    void consumerPositionOnlyMovesForward() throws IOException {
+        Path file = directory.resolve("positions").resolve("group@topic.pos");
+        try (ConsumerPosition position = ConsumerPosition.open(file)) {
+            assertEquals(0, position.committed());
+            position.commit(5);
+            position.commit(3);
+            assertEquals(5, position.committed());
+        }
+        try (ConsumerPosition position = ConsumerPosition.open(file)) {
+            assertEquals(5, position.committed());
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(EventLogRecord record) {
+        return new String(record.getPayload(), StandardCharsets.UTF_8);
+    }
+}
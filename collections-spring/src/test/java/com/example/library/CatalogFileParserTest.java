@@ -0,0 +1,97 @@
+package com.example.library;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogFileParserTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void chunksEndOnLineBoundariesAndCoverTheFile() throws IOException {
+        StringBuilder csv = new StringBuilder("title,author\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append("Book ").append(i).append(",Author ").append(i % 7).append('\n');
+        }
+        Path file = Files.writeString(directory.resolve("catalog.csv"), csv.toString());
+
+        List<Book> books = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<long[]> chunks = CatalogFileParser.chunks(channel, 0, 100);
+            assertTrue(chunks.size() > 10);
+            long expectedStart = 0;
+            for (long[] chunk : chunks) {
+                assertEquals(expectedStart, chunk[0]);
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]);
+                assertEquals('\n', buffer.get(buffer.limit() - 1));
+                CatalogFileParser.ParsedChunk parsed = CatalogFileParser.parse(buffer, chunk[1], CatalogFileParser.Format.CSV, objectMapper);
+                assertEquals(0, parsed.invalid());
+                books.addAll(parsed.books());
+                expectedStart = chunk[1];
+            }
+            assertEquals(channel.size(), expectedStart);
+        }
+        assertEquals(500, books.size());
+        assertEquals(new Book("Book 0", "Author 0"), books.get(0));
+        assertEquals(new Book("Book 499", "Author 2"), books.get(499));
+    }
+
+    @Test
+    void parsesQuotedCsvAndCountsInvalidLines() {
+        String csv = "\"Crime, and Punishment\",Fyodor Dostoevsky\r\n"
+                + "\"The \"\"Best\"\" Book\", Someone \n"
+                + "only-one-column\n"
+                + ",No Title\n"
+                + "\n"
+                + "Last,Line";
+        CatalogFileParser.ParsedChunk parsed = parse(csv, CatalogFileParser.Format.CSV);
+
+        assertEquals(3, parsed.books().size());
+        assertEquals(new Book("Crime, and Punishment", "Fyodor Dostoevsky"), parsed.books().get(0));
+        assertEquals(new Book("The \"Best\" Book", "Someone"), parsed.books().get(1));
+        assertEquals(new Book("Last", "Line"), parsed.books().get(2));
+        assertEquals(2, parsed.invalid());
+    }
+
+    @Test
+    void parsesNdjson() {
+        String ndjson = "{\"title\":\"Dune\",\"author\":\"Frank Herbert\"}\n"
+                + "{\"title\":\"Missing author\"}\n"
+                + "not json\n"
+                + "{\"author\":\"Ursula K. Le Guin\",\"title\":\"The Dispossessed\",\"year\":1974}\n";
+        CatalogFileParser.ParsedChunk parsed = parse(ndjson, CatalogFileParser.Format.NDJSON);
+
+        assertEquals(2, parsed.books().size());
+        assertEquals(new Book("Dune", "Frank Herbert"), parsed.books().get(0));
+        assertEquals(new Book("The Dispossessed", "Ursula K. Le Guin"), parsed.books().get(1));
+        assertEquals(2, parsed.invalid());
+    }
+
+    @Test
+    void infersFormatFromFileName() {
+        assertEquals(CatalogFileParser.Format.CSV, CatalogFileParser.Format.fromFileName("books.CSV"));
+        assertEquals(CatalogFileParser.Format.NDJSON, CatalogFileParser.Format.fromFileName("books.jsonl"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogFileParser.Format.fromFileName("books.xml"));
+    }
+
+    private CatalogFileParser.ParsedChunk parse(String content, CatalogFileParser.Format format) {
+        ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+        return CatalogFileParser.parse(buffer, buffer.limit(), format, objectMapper);
+    }
+}
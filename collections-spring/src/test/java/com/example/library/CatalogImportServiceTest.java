@@ -0,0 +1,60 @@
+package com.example.library;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class CatalogImportServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private Path importDirectory;
+    private CatalogImportService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        importDirectory = Files.createDirectory(directory.resolve("imports"));
+        service = new CatalogImportService(mock(BookRepository.class), mock(JdbcTemplate.class),
+                mock(PlatformTransactionManager.class), new ObjectMapper(), new SimpleMeterRegistry(),
+                1024, 1, 100, directory.resolve("checkpoints").toString(), importDirectory.toString());
+    }
+
+    @Test
+    void rejectsFilesOutsideTheImportDirectory() throws IOException {
+        Path outside = Files.writeString(directory.resolve("secret.csv"), "title,author\n");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.start("../secret.csv", CatalogFileParser.Format.CSV));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.start(outside.toString(), CatalogFileParser.Format.CSV));
+        assertNull(service.getStatus());
+    }
+
+    @Test
+    void rejectsLinksLeadingOutOfTheImportDirectory() throws IOException {
+        Path outside = Files.writeString(directory.resolve("secret.csv"), "title,author\n");
+        Files.createSymbolicLink(importDirectory.resolve("link.csv"), outside);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.start("link.csv", CatalogFileParser.Format.CSV));
+        assertNull(service.getStatus());
+    }
+
+    @Test
+    void rejectsMissingFiles() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.start("missing.csv", CatalogFileParser.Format.CSV));
+    }
+}
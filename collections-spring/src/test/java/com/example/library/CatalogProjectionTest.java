@@ -0,0 +1,126 @@
+package com.example.library;
+
+import com.example.kafka.model.BookEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogProjectionTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "off-heap"})
+    void ignoresDuplicateAndOldOffsets(String storeType) {
+        CatalogProjection projection = projection(storeType);
+        projection.apply(event("BOOK_ADDED", 1, "Dune", "Frank Herbert"), 0, 5);
+        projection.apply(event("BOOK_REMOVED", 1, "Dune", "Frank Herbert"), 0, 5);
+        projection.apply(event("BOOK_REMOVED", 1, "Dune", "Frank Herbert"), 0, 4);
+
+        assertTrue(projection.findByTitle("dune").isPresent());
+        assertEquals(Optional.of(6L), projection.resumeOffset(0));
+        assertEquals(Optional.empty(), projection.resumeOffset(1));
+
+        // Offsets are tracked per partition
+        projection.apply(event("BOOK_ADDED", 2, "Emma", "Jane Austen"), 1, 0);
+        assertTrue(projection.findByTitle("Emma").isPresent());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "off-heap"})
+    void appliesAddUpdateAndRemoveById(String storeType) {
+        CatalogProjection projection = projection(storeType);
+        projection.apply(event("BOOK_ADDED", 1, "Dune", "Frank Herbert"), 0, 0);
+        projection.apply(event("BOOK_ADDED", 2, "Emma", "Jane Austen"), 0, 1);
+
+        BookEvent rename = event("BOOK_UPDATED", 1, "Dune Messiah", "Frank Herbert");
+        rename.setPreviousTitle("Dune");
+        projection.apply(rename, 0, 2);
+        assertFalse(projection.findByTitle("Dune").isPresent());
+        assertEquals(new Book("Dune Messiah", "Frank Herbert"), projection.findByTitle("dune messiah").get());
+
+        // The removal names the title the book had when it was written; the id decides
+        projection.apply(event("BOOK_REMOVED", 1, "Dune", "Frank Herbert"), 0, 3);
+        assertFalse(projection.findByTitle("Dune Messiah").isPresent());
+        assertEquals(List.of(new Book("Emma", "Jane Austen")), projection.listAll());
+        assertEquals(1, projection.size());
+    }
+
+    @Test
+    void updateKeepsTheTimeTheBookWasAdded() throws IOException {
+        CatalogProjection projection = projection("heap");
+        BookEvent added = event("BOOK_ADDED", 1, "Dune", "Frank Herbert");
+        added.setTimestamp(1000);
+        projection.apply(added, 0, 0);
+        BookEvent updated = event("BOOK_UPDATED", 1, "Dune", "F. Herbert");
+        updated.setTimestamp(2000);
+        projection.apply(updated, 0, 1);
+        projection.writeSnapshot();
+
+        CatalogProjection.Snapshot snapshot = objectMapper.readValue(
+                directory.resolve("snapshot.json").toFile(), CatalogProjection.Snapshot.class);
+        CatalogEntry entry = snapshot.getBooks().get(0);
+        assertEquals(1000, entry.getCreatedAt());
+        assertEquals(2000, entry.getUpdatedAt());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"heap", "off-heap"})
+    void snapshotRoundTripsWithItsOffsets(String storeType) {
+        CatalogProjection projection = projection(storeType);
+        projection.apply(event("BOOK_ADDED", 1, "Dune", "Frank Herbert"), 0, 7);
+        projection.apply(event("BOOK_ADDED", 2, "Emma", "Jane Austen"), 2, 3);
+        projection.writeSnapshot();
+
+        CatalogProjection restored = projection(storeType);
+        restored.loadSnapshot();
+
+        assertEquals(2, restored.size());
+        assertEquals(new Book("Emma", "Jane Austen"), restored.findByTitle("emma").get());
+        assertEquals(Optional.of(8L), restored.resumeOffset(0));
+        assertEquals(Optional.of(4L), restored.resumeOffset(2));
+        assertEquals(projection.appliedEvents(), restored.appliedEvents());
+
+        // Replayed events up to the snapshot offsets do not apply twice
+        restored.apply(event("BOOK_REMOVED", 1, "Dune", "Frank Herbert"), 0, 7);
+        assertTrue(restored.findByTitle("Dune").isPresent());
+        // The ids came back with the snapshot
+        restored.apply(event("BOOK_REMOVED", 1, "Dune", "Frank Herbert"), 0, 8);
+        assertFalse(restored.findByTitle("Dune").isPresent());
+    }
+
+    @Test
+    void unreadableSnapshotStartsFromAnEmptyCatalog() throws IOException {
+        Files.writeString(directory.resolve("snapshot.json"),
+                "{\"books\":[{\"id\":1,\"title\":\"Dune\",\"author\":\"Frank Herbert\"}],\"offsets\":");
+
+        CatalogProjection projection = projection("heap");
+        projection.loadSnapshot();
+
+        assertEquals(0, projection.size());
+        assertEquals(Optional.empty(), projection.resumeOffset(0));
+    }
+
+    private CatalogProjection projection(String storeType) {
+        return new CatalogProjection(objectMapper, directory.resolve("snapshot.json").toString(), storeType, 16);
+    }
+
+    private static BookEvent event(String type, long id, String title, String author) {
+        BookEvent event = new BookEvent(type, String.valueOf(id), title, author);
+        event.setEntityId(id);
+        return event;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.library;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Heap footprint and GC comparison of the on-heap and off-heap catalog stores.
+ * Not a unit test - run it manually with a fixed heap so the numbers are comparable:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.library.CatalogStoreBenchmark -Dexec.args="1000000"
+ * </pre>
+ *
+ * For each store it reports retained heap after loading N books, the store's own size estimate,
+ * and the GC count/time and lookup throughput during a mixed lookup/update phase.
+ */
+public class CatalogStoreBenchmark {
+
+    public static void main(String[] args) {
+        int books = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        System.out.printf("%-10s %12s %14s %14s %10s %12s %14s%n",
+                "store", "books", "retained heap", "store bytes", "gc count", "gc time ms", "lookups/sec");
+        run("heap", HeapCatalogStore::new, books, operations);
+        run("off-heap", () -> new OffHeapCatalogStore(books), books, operations);
+    }
+
+    private static void run(String name, Supplier<CatalogStore> factory, int books, int operations) {
+        long heapBefore = usedHeapAfterGc();
+        CatalogStore store = factory.get();
+        for (int i = 0; i < books; i++) {
+            store.put(entry(i));
+        }
+        long retainedHeap = Math.max(0, usedHeapAfterGc() - heapBefore);
+
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTimeMillis();
+        long start = System.nanoTime();
+        long hits = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int op = 0; op < operations; op++) {
+            int i = random.nextInt(books);
+            if (op % 20 == 0) {
+                store.put(entry(i));
+            } else if (store.findByTitle(title(i)).isPresent()) {
+                hits++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.printf("%-10s %12d %14s %14s %10d %12d %14.0f%n",
+                name, store.size(), mb(retainedHeap), mb(store.memoryBytes()),
+                gcCount() - gcCountBefore, gcTimeMillis() - gcTimeBefore,
+                hits / (elapsedNanos / 1e9));
+    }
+
+    private static CatalogEntry entry(int i) {
+        long now = System.currentTimeMillis();
+        return new CatalogEntry(i, title(i), "Author " + (i % 50_000), now, now);
+    }
+
+    private static String title(int i) {
+        return "Catalog Title Number " + i;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long gcCount() {
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        return beans.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcTimeMillis() {
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        return beans.stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private static String mb(long bytes) {
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
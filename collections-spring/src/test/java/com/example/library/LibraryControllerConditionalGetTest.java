@@ -0,0 +1,72 @@
+package com.example.library;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class LibraryControllerConditionalGetTest {
+
+    private final LibraryService service = mock(LibraryService.class);
+    private final LibraryController controller = new LibraryController(service, mock(CatalogImportService.class),
+            mock(BookScanner.class), new ObjectMapper());
+
+    @Test
+    void listIsNotLoadedWhenCatalogVersionMatches() {
+        when(service.getCatalogVersion()).thenReturn(new CatalogVersion("c-7", Instant.parse("2024-05-01T10:00:00Z")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<List<Book>> result = controller.all(request("\"c-7\"", response));
+
+        assertNull(result);
+        assertEquals(304, response.getStatus());
+        assertEquals("\"c-7\"", response.getHeader("ETag"));
+        verify(service, never()).listAll();
+    }
+
+    @Test
+    void listIsReturnedWithNewTagAfterChange() {
+        when(service.getCatalogVersion()).thenReturn(new CatalogVersion("c-8", null));
+        when(service.listAll()).thenReturn(List.of(new Book("Dune", "Frank Herbert")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<List<Book>> result = controller.all(request("\"c-7\"", response));
+
+        assertEquals(1, result.getBody().size());
+        assertEquals(200, response.getStatus());
+        assertEquals("\"c-8\"", response.getHeader("ETag"));
+        assertEquals("no-cache", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void bookETagFollowsRowVersion() {
+        when(service.findVersionedByTitle("dune")).thenReturn(Optional.of(
+                new VersionedBook(42L, "Dune", "Frank Herbert", 3L, LocalDateTime.of(2024, 5, 1, 10, 0))));
+
+        MockHttpServletResponse current = new MockHttpServletResponse();
+        assertNull(controller.byTitle("dune", request("\"42-3\"", current)));
+        assertEquals(304, current.getStatus());
+
+        MockHttpServletResponse stale = new MockHttpServletResponse();
+        ResponseEntity<Book> result = controller.byTitle("dune", request("\"42-2\"", stale));
+        assertEquals(new Book("Dune", "Frank Herbert"), result.getBody());
+        assertEquals("\"42-3\"", stale.getHeader("ETag"));
+        assertNotNull(stale.getHeader("Last-Modified"));
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader("If-None-Match", ifNoneMatch);
+        return new ServletWebRequest(request, response);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.library;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapCatalogStoreTest {
+
+    @Test
+    void putAndFindIgnoringCase() {
+        OffHeapCatalogStore store = new OffHeapCatalogStore(4);
+        store.put(new CatalogEntry(7, "The Great Gatsby", "F. Scott Fitzgerald", 1000, 2000));
+
+        Optional<Book> found = store.findByTitle("the great GATSBY");
+        assertTrue(found.isPresent());
+        assertEquals(new Book("The Great Gatsby", "F. Scott Fitzgerald"), found.get());
+        assertFalse(store.findByTitle("Gatsby").isPresent());
+
+        CatalogEntry entry = store.entries().get(0);
+        assertEquals(7, entry.getId());
+        assertEquals(1000, entry.getCreatedAt());
+        assertEquals(2000, entry.getUpdatedAt());
+    }
+
+    @Test
+    void putReplacesExistingTitle() {
+        OffHeapCatalogStore store = new OffHeapCatalogStore(4);
+        store.put(new CatalogEntry(1, "Dune", "Frank Herbert", 0, 0));
+        store.put(new CatalogEntry(1, "DUNE", "F. Herbert", 0, 0));
+
+        assertEquals(1, store.size());
+        assertEquals(new Book("DUNE", "F. Herbert"), store.findByTitle("dune").get());
+    }
+
+    @Test
+    void putByIdDropsThePreviousTitle() {
+        OffHeapCatalogStore store = new OffHeapCatalogStore(4);
+        store.put(new CatalogEntry(1, "Dune", "Frank Herbert", 0, 0));
+        store.put(new CatalogEntry(1, "Dune Messiah", "Frank Herbert", 0, 0));
+
+        assertEquals(1, store.size());
+        assertFalse(store.findByTitle("dune").isPresent());
+        assertTrue(store.remove(1));
+        assertEquals(0, store.size());
+        assertFalse(store.findByTitle("dune messiah").isPresent());
+    }
+
+    @Test
+    void removeByIdOfReplacedBookKeepsTheNewOne() {
+        OffHeapCatalogStore store = new OffHeapCatalogStore(4);
+        store.put(new CatalogEntry(1, "Dune", "Frank Herbert", 0, 0));
+        // Re-added under a new id before the removal of the old row was applied
+        store.put(new CatalogEntry(2, "Dune", "Frank Herbert", 0, 0));
+
+        assertFalse(store.remove(1));
+        assertTrue(store.findByTitle("Dune").isPresent());
+        assertEquals(2, store.entries().get(0).getId());
+    }
+
+    @Test
+    void idIndexSurvivesGrowthAndRemovals() {
+        OffHeapCatalogStore store = new OffHeapCatalogStore(4);
+        for (int i = 1; i <= 5000; i++) {
+            store.put(new CatalogEntry(i, "Title " + i, "Author " + (i % 17), 0, 0));
+        }
+        for (int i = 1; i <= 5000; i += 3) {
+            assertTrue(store.remove(i));
+        }
+        for (int i = 1; i <= 5000; i++) {
+            assertEquals(i % 3 != 1, store.remove(i), "id " + i);
+        }
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void growsAndRemovesWithoutLosingEntries() {
+        OffHeapCatalogStore store = new OffHeapCatalogStore(4);
+        for (int i = 0; i < 5000; i++) {
+            store.put(new CatalogEntry(i, "Title " + i, "Author " + (i % 17), 0, 0));
+        }
+        for (int i = 0; i < 5000; i += 2) {
+            assertTrue(store.remove("title " + i));
+        }
+        assertFalse(store.remove("title 0"));
+
+        assertEquals(2500, store.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i % 2 == 1, store.findByTitle("Title " + i).isPresent());
+        }
+
+        List<Book> all = store.listAll();
+        Set<String> titles = new HashSet<>();
+        all.forEach(book -> titles.add(book.getTitle()));
+        assertEquals(2500, titles.size());
+        assertEquals("Author " + (4999 % 17), store.findByTitle("Title 4999").get().getAuthor());
+    }
+
+    @Test
+    void removedAuthorsAreCompactedAway() {
+        OffHeapCatalogStore store = new OffHeapCatalogStore(16);
+        String padding = "y".repeat(200);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 1000; i++) {
+                store.put(new CatalogEntry(i + 1, "Book " + i, "Author " + round + " " + i + " " + padding, 0, 0));
+            }
+        }
+        store.put(new CatalogEntry(5000, "Survivor", "Last Author", 0, 0));
+
+        assertEquals(1001, store.size());
+        assertEquals("Author 9 0 " + padding, store.findByTitle("book 0").get().getAuthor());
+        assertTrue(store.memoryBytes() < 3L << 20, "replaced authors should have been compacted away");
+    }
+
+    @Test
+    void compactionKeepsLiveData() {
+        OffHeapCatalogStore store = new OffHeapCatalogStore(16);
+        String padding = "x".repeat(200);
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 500; i++) {
+                store.put(new CatalogEntry(i, "Book " + i + " " + padding, "Author " + i, 0, 0));
+            }
+            for (int i = 0; i < 500; i++) {
+                store.remove("Book " + i + " " + padding);
+            }
+        }
+        store.put(new CatalogEntry(1, "Survivor", "Last Author", 0, 0));
+
+        assertEquals(1, store.size());
+        assertEquals(new Book("Survivor", "Last Author"), store.findByTitle("survivor").get());
+        assertTrue(store.memoryBytes() < 4L << 20, "arena should have been compacted");
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.library;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ShardedBorrowCounterTest {
+
+    private final BorrowCounterShardRepository repository = mock(BorrowCounterShardRepository.class);
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    private ShardedBorrowCounter counter(boolean enabled) {
+        return new ShardedBorrowCounter(repository, mock(TransactionTemplate.class), new SimpleMeterRegistry(),
+                enabled, 8, 0.1, 10, 1_000, now::get);
+    }
+
+    private void borrows(ShardedBorrowCounter counter, long bookId, int count, int conflictsEach) {
+        for (int i = 0; i < count; i++) {
+            counter.recordBorrow(bookId, conflictsEach);
+        }
+    }
+
+    @Test
+    void conflictingBookGetsMoreSlotsEveryWindowUpToTheLimit() {
+        ShardedBorrowCounter counter = counter(true);
+        assertFalse(counter.isSharded(7));
+
+        for (int window = 0; window < 5; window++) {
+            borrows(counter, 7, 20, 1);
+            now.addAndGet(1_000);
+        }
+        counter.recordBorrow(7, 0);
+
+        assertEquals(8, counter.shards(7));
+        assertTrue(counter.isSharded(7));
+        assertEquals(1, counter.shards(8));
+    }
+
+    @Test
+    void shardedBookShrinksOnceTrafficDrops() {
+        ShardedBorrowCounter counter = counter(true);
+        borrows(counter, 7, 20, 1);
+        now.addAndGet(1_000);
+        borrows(counter, 7, 20, 1);
+        now.addAndGet(1_000);
+        counter.recordBorrow(7, 0);
+        assertEquals(4, counter.shards(7));
+
+        // Few borrows and no conflicts in the next windows
+        now.addAndGet(1_000);
+        counter.recordBorrow(7, 0);
+        now.addAndGet(1_000);
+        counter.recordBorrow(7, 0);
+        assertEquals(1, counter.shards(7));
+        assertFalse(counter.isSharded(7));
+    }
+
+    @Test
+    void busyButConflictFreeBookStaysUnsharded() {
+        ShardedBorrowCounter counter = counter(true);
+        borrows(counter, 7, 100, 0);
+        now.addAndGet(1_000);
+        counter.recordBorrow(7, 0);
+
+        assertEquals(1, counter.shards(7));
+    }
+
+    @Test
+    void incrementPicksAnExistingSlotAndReadsIncludeIt() {
+        ShardedBorrowCounter counter = counter(true);
+        borrows(counter, 7, 20, 1);
+        now.addAndGet(1_000);
+        counter.recordBorrow(7, 0);
+        counter.increment(7);
+        when(repository.sumByBookId(7)).thenReturn(3L);
+        assertEquals(3, counter.slotTotal(7));
+
+        ArgumentCaptor<Integer> slot = ArgumentCaptor.forClass(Integer.class);
+        verify(repository).increment(eq(7L), slot.capture());
+        assertTrue(slot.getValue() >= 0 && slot.getValue() < counter.shards(7));
+    }
+
+    @Test
+    void readsAndRemovesSlotsWrittenByOtherInstances() {
+        ShardedBorrowCounter counter = counter(true);
+        when(repository.sumByBookId(9)).thenReturn(4L);
+        when(repository.sumByBook()).thenReturn(List.<Object[]>of(new Object[]{9L, 4L}));
+
+        assertEquals(4, counter.slotTotal(9));
+        assertEquals(Map.of(9L, 4L), counter.slotTotals());
+
+        counter.remove(9);
+        verify(repository).deleteByBookId(9);
+    }
+
+    @Test
+    void disabledCounterNeverShards() {
+        ShardedBorrowCounter counter = counter(false);
+        for (int window = 0; window < 3; window++) {
+            borrows(counter, 7, 20, 5);
+            now.addAndGet(1_000);
+        }
+        counter.recordBorrow(7, 5);
+
+        assertFalse(counter.isSharded(7));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.library;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> flight = new SingleFlight<>("title", meterRegistry);
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> flight.execute("dune", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "Dune";
+                })));
+            }
+            // Wait until everyone else is parked on the leader's load, then let it finish
+            while (coalesced() < callers - 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("Dune", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, count("issued"));
+        assertEquals(callers - 1, coalesced());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void finishedLoadIsNotReused() {
+        AtomicInteger loads = new AtomicInteger();
+        flight.execute("dune", () -> "v" + loads.incrementAndGet());
+
+        assertEquals("v2", flight.execute("dune", () -> "v" + loads.incrementAndGet()));
+        assertEquals(2, count("issued"));
+        assertEquals(0, coalesced());
+    }
+
+    @Test
+    void failureIsRethrownAndForgotten() {
+        IllegalStateException failure = new IllegalStateException("db down");
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> flight.execute("dune", () -> { throw failure; })));
+
+        assertEquals(0, flight.inFlight());
+        assertEquals("Dune", flight.execute("dune", () -> "Dune"));
+    }
+
+    private double coalesced() {
+        return count("coalesced");
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("library.lookup.singleflight").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.library;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Memory footprint and query latency of the title search index.
+ * Not a unit test - run it manually with a fixed heap so the numbers are comparable:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.library.TitleSearchIndexBenchmark -Dexec.args="1000000 200000"
+ * </pre>
+ *
+ * Indexes N synthetic books (titles from a Zipf-like vocabulary, 50,000 authors) and reports retained
+ * heap, build time, terms, and p50/p99 latency for one-word prefixes of growing length and for
+ * two-word queries.
+ */
+public class TitleSearchIndexBenchmark {
+
+    private static final String[] WORDS = buildVocabulary(20_000);
+
+    public static void main(String[] args) {
+        int books = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        Random random = new Random(42);
+
+        long heapBefore = usedHeapAfterGc();
+        long start = System.nanoTime();
+        TitleSearchIndex index = new TitleSearchIndex();
+        for (int i = 0; i < books; i++) {
+            index.put(i, title(random), "Author " + random.nextInt(50_000), random.nextInt(1_000));
+        }
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        long retainedHeap = Math.max(0, usedHeapAfterGc() - heapBefore);
+
+        System.out.printf("books %d, terms %d, retained heap %.1f MB (%.0f bytes/book), build %d ms%n",
+                index.size(), index.termCount(), retainedHeap / (1024.0 * 1024.0),
+                (double) retainedHeap / books, buildMillis);
+
+        System.out.printf("%-16s %10s %10s %10s %12s%n", "query", "p50 us", "p99 us", "max us", "avg hits");
+        for (int prefix : new int[]{2, 3, 5, 0}) {
+            run(index, prefix, 1, queries, random);
+        }
+        run(index, 3, 2, queries, random);
+    }
+
+    /**
+     * @param prefixLength characters kept of each word, 0 for whole words
+     */
+    private static void run(TitleSearchIndex index, int prefixLength, int words, int queries, Random random) {
+        // Warm-up, then measure
+        for (int i = 0; i < queries / 10; i++) {
+            index.search(query(prefixLength, words, random), 20);
+        }
+        long[] latencies = new long[queries];
+        long hits = 0;
+        for (int i = 0; i < queries; i++) {
+            String query = query(prefixLength, words, random);
+            long begin = System.nanoTime();
+            hits += index.search(query, 20).size();
+            latencies[i] = System.nanoTime() - begin;
+        }
+        Arrays.sort(latencies);
+        String name = words + (words == 1 ? " word" : " words") + (prefixLength > 0 ? ", " + prefixLength + " chars" : ", whole");
+        System.out.printf("%-16s %10.1f %10.1f %10.1f %12.1f%n", name,
+                latencies[queries / 2] / 1e3, latencies[(int) (queries * 0.99)] / 1e3,
+                latencies[queries - 1] / 1e3, (double) hits / queries);
+    }
+
+    private static String query(int prefixLength, int words, Random random) {
+        StringBuilder query = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            String word = word(random);
+            query.append(prefixLength > 0 && word.length() > prefixLength ? word.substring(0, prefixLength) : word).append(' ');
+        }
+        return query.toString();
+    }
+
+    private static String title(Random random) {
+        int words = 2 + random.nextInt(4);
+        StringBuilder title = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            title.append(w == 0 ? "" : " ").append(word(random));
+        }
+        return title.toString();
+    }
+
+    // Skewed towards the start of the vocabulary, like words in real titles
+    private static String word(Random random) {
+        double u = random.nextDouble();
+        return WORDS[(int) (WORDS.length * u * u * u)];
+    }
+
+    private static String[] buildVocabulary(int size) {
+        Random random = new Random(7);
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            char[] chars = new char[4 + random.nextInt(6)];
+            for (int c = 0; c < chars.length; c++) {
+                chars[c] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(chars);
+        }
+        return words;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.library;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TitleSearchIndexTest {
+
+    private final TitleSearchIndex index = new TitleSearchIndex();
+
+    @Test
+    void everyQueryWordMatchesAsPrefix() {
+        index.put(1, "The Lord of the Rings", "J.R.R. Tolkien", 0);
+        index.put(2, "The Hobbit", "J.R.R. Tolkien", 0);
+        index.put(3, "Lord of the Flies", "William Golding", 0);
+
+        assertEquals(List.of("The Lord of the Rings"), titles(index.search("lord ring", 10)));
+        assertEquals(List.of("The Hobbit", "The Lord of the Rings"), titles(index.search("TOLK", 10)));
+        assertTrue(index.search("lord hobbit", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void ranksByBorrowCount() {
+        index.put(1, "Dune", "Frank Herbert", 5);
+        index.put(2, "Dune Messiah", "Frank Herbert", 1);
+        index.put(3, "Children of Dune", "Frank Herbert", 9);
+
+        assertEquals(List.of("Children of Dune", "Dune", "Dune Messiah"), titles(index.search("dune", 10)));
+
+        index.updateBorrowCount(2, 20);
+        assertEquals(List.of("Dune Messiah", "Children of Dune"), titles(index.search("dune", 2)));
+    }
+
+    @Test
+    void accentsAndPunctuationAreFolded() {
+        index.put(1, "Les Mis\u00e9rables", "Victor Hugo", 0);
+        index.put(2, "Don't Panic: Hitch-hiking", "N. N.", 0);
+
+        assertEquals(List.of("Les Mis\u00e9rables"), titles(index.search("miser", 10)));
+        assertEquals(List.of("Les Mis\u00e9rables"), titles(index.search("Mis\u00e9", 10)));
+        assertEquals(List.of("Don't Panic: Hitch-hiking"), titles(index.search("hiking don", 10)));
+    }
+
+    @Test
+    void updatesAndRemovalsReplaceOldTerms() {
+        index.put(1, "Emma", "Jane Austen", 0);
+        index.put(1, "Persuasion", "Jane Austen", 0);
+
+        assertTrue(index.search("emma", 10).isEmpty());
+        assertEquals(List.of("Persuasion"), titles(index.search("pers", 10)));
+
+        index.remove(1);
+        assertTrue(index.search("austen", 10).isEmpty());
+        assertEquals(0, index.size());
+        assertEquals(0, index.termCount());
+    }
+
+    private static List<String> titles(List<BookSearchHit> hits) {
+        return hits.stream().map(BookSearchHit::getTitle).toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.library;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrendingTitlesTrackerTest {
+
+    private static final long WINDOW_MILLIS = 60_000;
+
+    @Test
+    void topTitlesOrderedByWindowedBorrows() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        TrendingTitlesTracker tracker = new TrendingTitlesTracker(WINDOW_MILLIS, 6, 4, 1024, 8, now::get);
+
+        for (int i = 0; i < 5; i++) tracker.recordBorrow("Dune");
+        for (int i = 0; i < 3; i++) tracker.recordBorrow("Emma");
+        tracker.recordBorrow("Ulysses");
+
+        List<TrendingTitle> top = tracker.top(2);
+        assertEquals(2, top.size());
+        assertEquals("Dune", top.get(0).getTitle());
+        assertEquals(5, top.get(0).getEstimatedBorrows());
+        assertEquals("Emma", top.get(1).getTitle());
+    }
+
+    @Test
+    void nonPositiveLimitReturnsNothing() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        TrendingTitlesTracker tracker = new TrendingTitlesTracker(WINDOW_MILLIS, 6, 4, 1024, 8, now::get);
+
+        tracker.recordBorrow("Dune");
+
+        assertTrue(tracker.top(0).isEmpty());
+        assertTrue(tracker.top(-1).isEmpty());
+    }
+
+    @Test
+    void titlesAreCaseInsensitive() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        TrendingTitlesTracker tracker = new TrendingTitlesTracker(WINDOW_MILLIS, 6, 4, 1024, 8, now::get);
+
+        tracker.recordBorrow("dune");
+        tracker.recordBorrow("DUNE");
+
+        List<TrendingTitle> top = tracker.top(10);
+        assertEquals(1, top.size());
+        assertEquals(2, top.get(0).getEstimatedBorrows());
+    }
+
+    @Test
+    void borrowsDecayOutOfTheWindow() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        TrendingTitlesTracker tracker = new TrendingTitlesTracker(WINDOW_MILLIS, 6, 4, 1024, 8, now::get);
+
+        for (int i = 0; i < 4; i++) tracker.recordBorrow("Dune");
+        now.addAndGet(WINDOW_MILLIS / 2);
+        tracker.recordBorrow("Emma");
+        assertEquals("Dune", tracker.top(1).get(0).getTitle());
+
+        now.addAndGet(WINDOW_MILLIS / 2 + 1);
+        List<TrendingTitle> top = tracker.top(10);
+        assertEquals(1, top.size());
+        assertEquals("Emma", top.get(0).getTitle());
+    }
+
+    @Test
+    void candidatePoolIsBounded() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        TrendingTitlesTracker tracker = new TrendingTitlesTracker(WINDOW_MILLIS, 6, 4, 4096, 4, now::get);
+
+        for (int i = 0; i < 3; i++) tracker.recordBorrow("Hot Title");
+        for (int i = 0; i < 1000; i++) tracker.recordBorrow("Cold Title " + i);
+
+        List<TrendingTitle> top = tracker.top(10);
+        assertTrue(top.size() <= 4);
+        assertEquals("Hot Title", top.get(0).getTitle());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.library.reactive;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load comparison of the blocking MVC API ({@code /api/books}) and the reactive API
+ * ({@code /api/reactive/books}) of a running instance. Not a unit test - see REACTIVE_API.md
+ * for how to pin the application to a fixed CPU budget first, then run:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.library.reactive.LibraryApiLoadComparison \
+ *     -Dexec.args="http://localhost:8081 256 30"
+ * </pre>
+ *
+ * Arguments: base URL, concurrent requests in flight, seconds per scenario. Each API gets the same
+ * seed catalog and the same request mix (70% borrow, 20% add, 10% list) and reports throughput,
+ * p50/p99 latency and errors.
+ */
+public class LibraryApiLoadComparison {
+
+    private static final int SEED_BOOKS = 200;
+
+    public static void main(String[] args) {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        WebClient client = WebClient.builder().baseUrl(baseUrl)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(64 * 1024 * 1024))
+                .build();
+
+        System.out.printf("%-10s %10s %12s %10s %10s %8s%n", "api", "requests", "req/sec", "p50 ms", "p99 ms", "errors");
+        for (String api : new String[]{"/api/books", "/api/reactive/books"}) {
+            seed(client, api);
+            // Warm-up so both paths are JIT-compiled and have their connection pools filled
+            run(client, api, concurrency, Math.max(5, seconds / 3), false);
+            run(client, api, concurrency, seconds, true);
+        }
+    }
+
+    private static void seed(WebClient client, String api) {
+        Flux.range(0, SEED_BOOKS)
+                .flatMap(i -> client.post().uri(api).contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of("title", title(api, i), "author", "Load Test"))
+                        .retrieve().toBodilessEntity()
+                        .onErrorResume(e -> Mono.empty()), 32)
+                .blockLast();
+    }
+
+    private static void run(WebClient client, String api, int concurrency, int seconds, boolean report) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong added = new AtomicLong();
+
+        long start = System.nanoTime();
+        long[] latencies = Flux.<Integer>generate(sink -> {
+                    if (System.nanoTime() < deadline) sink.next(0); else sink.complete();
+                })
+                .flatMap(ignored -> timed(request(client, api, added)).doOnNext(nanos -> {
+                    if (nanos < 0) errors.incrementAndGet();
+                }), concurrency)
+                .filter(nanos -> nanos >= 0)
+                .collectList()
+                .map(list -> list.stream().mapToLong(Long::longValue).toArray())
+                .block();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        if (report && latencies != null) {
+            Arrays.sort(latencies);
+            System.out.printf("%-10s %10d %12.1f %10.2f %10.2f %8d%n",
+                    api.contains("reactive") ? "reactive" : "mvc",
+                    latencies.length,
+                    latencies.length / elapsedSeconds,
+                    percentile(latencies, 0.50) / 1e6,
+                    percentile(latencies, 0.99) / 1e6,
+                    errors.get());
+        }
+    }
+
+    private static Mono<?> request(WebClient client, String api, AtomicLong added) {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < 70) {
+            String title = title(api, ThreadLocalRandom.current().nextInt(SEED_BOOKS));
+            return client.post().uri(api + "/borrow/{title}", title).retrieve().toBodilessEntity();
+        }
+        if (roll < 90) {
+            String title = title(api, SEED_BOOKS + (int) added.incrementAndGet()) + "-" + System.nanoTime();
+            return client.post().uri(api).contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of("title", title, "author", "Load Test"))
+                    .retrieve().toBodilessEntity();
+        }
+        return client.get().uri(api).accept(MediaType.APPLICATION_JSON).retrieve().bodyToMono(String.class);
+    }
+
+    /**
+     * Latency in nanoseconds, or -1 if the request failed.
+     */
+    private static Mono<Long> timed(Mono<?> request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.then(Mono.fromSupplier(() -> System.nanoTime() - start))
+                    .onErrorResume(e -> Mono.just(-1L));
+        });
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static String title(String api, int i) {
+        return (api.contains("reactive") ? "Reactive Load " : "Mvc Load ") + i;
+    }
+}